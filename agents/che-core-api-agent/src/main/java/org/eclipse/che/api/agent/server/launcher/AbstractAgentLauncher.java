@@ -34,6 +34,8 @@ import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -41,6 +43,13 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * <p>
+ * Agent state is checked with growing delay, it starts with a short delay that is doubled after each check
+ * till it reaches the configured ping delay. Exit of agent process and output line that is recognized as
+ * {@link #isReadinessMarker(String) readiness marker} wake up the waiting, so agent that becomes ready
+ * quickly is not waited for the whole delay. Other output doesn't affect the delay, so checkers that run
+ * a command on each check are not run more often for agents with verbose output.
+ * Time that agent needs to become ready is recorded in {@link AgentLaunchTimes}.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -56,17 +65,22 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                                                             LoggingUncaughtExceptionHandler.getInstance())
                                                                     .setDaemon(true)
                                                                     .build());
+    /** Initial delay between checks of agent state, it is also the minimal delay between checks. */
+    private static final long            INITIAL_PING_DELAY_MS = 100;
 
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
     private final long                  agentMaxStartTimeMs;
+    private final AgentLaunchTimes      agentLaunchTimes;
 
     public AbstractAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
-                                 AgentLaunchingChecker agentLaunchingChecker) {
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 AgentLaunchTimes agentLaunchTimes) {
         this.agentPingDelayMs = agentPingDelayMs;
         this.agentMaxStartTimeMs = agentMaxStartTimeMs;
         this.agentLaunchingChecker = agentLaunchingChecker;
+        this.agentLaunchTimes = agentLaunchTimes;
     }
 
     @Override
@@ -75,11 +89,21 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             return;
         }
         ListLineConsumer agentLogger = new ListLineConsumer();
+        // released on readiness marker in agent output and when agent process finishes
+        Semaphore agentEvents = new Semaphore(0);
         LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
                 agentLogger.writeLine(line);
+                if (isReadinessMarker(line)) {
+                    agentEvents.release();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                agentEvents.release();
             }
         };
         try {
@@ -87,12 +111,21 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
             final long pingStartTimestamp = System.currentTimeMillis();
+            final long minDelay = Math.min(INITIAL_PING_DELAY_MS, agentPingDelayMs);
+            long delay = minDelay;
             while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
                 if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+                    final long launchTime = System.currentTimeMillis() - pingStartTimestamp;
+                    agentLaunchTimes.record(agent.getId(), launchTime);
+                    LOG.debug("Agent {} is launched in {} ms. Workspace ID:{}", agent.getId(), launchTime, machine.getWorkspaceId());
                     return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
                 }
+                Thread.sleep(minDelay);
+                final long remaining = pingStartTimestamp + agentMaxStartTimeMs - System.currentTimeMillis();
+                if (agentEvents.tryAcquire(Math.min(delay - minDelay, remaining), TimeUnit.MILLISECONDS)) {
+                    agentEvents.drainPermits();
+                }
+                delay = Math.min(delay * 2, agentPingDelayMs);
             }
             LOG.error(format("Fail launching agent '%s' in '%s' workspace due to timeout",
                              agent.getName(), machine.getWorkspaceId()));
@@ -117,6 +150,15 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                              agent.getName(), machine.getWorkspaceId()));
     }
 
+    /**
+     * Returns {@code true} if the line of agent output means that the agent may be ready, such line makes
+     * the launcher check agent state right away instead of waiting for the next check. No line is treated
+     * as readiness marker by default.
+     */
+    protected boolean isReadinessMarker(String line) {
+        return false;
+    }
+
     protected InstanceProcess start(Instance machine, Agent agent, LineConsumer lineConsumer) throws ServerException {
         Command command = new CommandImpl(agent.getId(), agent.getScript(), "agent");
         InstanceProcess process = machine.createProcess(command, null);
@@ -131,6 +173,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                     machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
                 } catch (IOException ignored) {
                 }
+            } finally {
+                // process is finished, it won't produce output anymore
+                try {
+                    lineConsumer.close();
+                } catch (IOException ignored) {
+                }
             }
         }));
         try {
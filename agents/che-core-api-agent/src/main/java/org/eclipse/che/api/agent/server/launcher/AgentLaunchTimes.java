@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograms of time that agents need to become ready, recorded per agent by {@link AbstractAgentLauncher}.
+ * Buckets have exponentially growing upper bounds from 250 milliseconds to 64 seconds, the last bucket counts
+ * all slower launches.
+ * <p>
+ * Histograms are exposed through JMX as {@code org.eclipse.che:type=AgentLaunchTimes}.
+ */
+@Singleton
+public class AgentLaunchTimes implements AgentLaunchTimesMXBean {
+    private static final Logger LOG = LoggerFactory.getLogger(AgentLaunchTimes.class);
+
+    private static final long[] BOUNDS = {250, 500, 1_000, 2_000, 4_000, 8_000, 16_000, 32_000, 64_000, Long.MAX_VALUE};
+
+    private final ConcurrentMap<String, AtomicLongArray> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records time of agent launch.
+     *
+     * @param agentId
+     *         id of launched agent
+     * @param launchTimeMs
+     *         time in milliseconds from start of agent process till the agent is ready
+     */
+    public void record(String agentId, long launchTimeMs) {
+        final AtomicLongArray histogram = histograms.computeIfAbsent(agentId, id -> new AtomicLongArray(BOUNDS.length));
+        int bucket = 0;
+        while (launchTimeMs > BOUNDS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns histogram of launch times of agent, keys are upper bounds of buckets in milliseconds
+     * ({@link Long#MAX_VALUE} for the last one) in ascending order, values are numbers of launches.
+     * Empty map is returned if agent was never launched.
+     */
+    public Map<Long, Long> getHistogram(String agentId) {
+        final Map<Long, Long> result = new LinkedHashMap<>();
+        final AtomicLongArray histogram = histograms.get(agentId);
+        if (histogram != null) {
+            for (int i = 0; i < BOUNDS.length; i++) {
+                result.put(BOUNDS[i], histogram.get(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Map<Long, Long>> getHistograms() {
+        final Map<String, Map<Long, Long>> result = new TreeMap<>();
+        for (String agentId : histograms.keySet()) {
+            result.put(agentId, getHistogram(agentId));
+        }
+        return result;
+    }
+
+    @PostConstruct
+    void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, getObjectName());
+        } catch (JMException x) {
+            LOG.warn("Unable to register agent launch times in MBean server. {}", x.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void unregisterMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(getObjectName());
+        } catch (JMException x) {
+            LOG.warn("Unable to unregister agent launch times from MBean server. {}", x.getMessage());
+        }
+    }
+
+    private static ObjectName getObjectName() throws JMException {
+        return new ObjectName("org.eclipse.che:type=AgentLaunchTimes");
+    }
+}
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import java.util.Map;
+
+/**
+ * Histograms of agent launch times exposed through JMX.
+ */
+public interface AgentLaunchTimesMXBean {
+
+    /**
+     * Returns histograms of launch times of all launched agents by agent id, see {@link AgentLaunchTimes#getHistogram(String)}.
+     */
+    Map<String, Map<Long, Long>> getHistograms();
+}
@@ -27,12 +27,16 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.Collections.singleton;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -43,6 +47,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -322,11 +327,113 @@ public class AbstractAgentLauncherTest {
         }
     }
 
+    @Test(expectedExceptions = AgentStartException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*\\. Workspace ID:.*")
+    public void shouldNotCheckAgentStateMoreOftenWhenAgentProducesOutput() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(1000, 1000, agentChecker));
+        LineConsumer[] output = new LineConsumer[1];
+        when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+        doAnswer(invocation -> {
+            output[0] = (LineConsumer)invocation.getArguments()[2];
+            return process;
+        }).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        // agent floods output that doesn't mean it is ready
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> {
+            for (int i = 0; i < 10; i++) {
+                output[0].writeLine("downloading");
+            }
+            return false;
+        });
+
+        // when
+        try {
+            launcher.launch(machine, agent);
+        } finally {
+            // then
+            // checks at 0, 100, 300 and 700 ms, woken up checks would be done each 100 ms
+            verify(agentChecker, atMost(5)).isLaunched(any(Agent.class),
+                                                       any(InstanceProcess.class),
+                                                       any(Instance.class));
+        }
+    }
+
+    @Test
+    public void shouldCheckAgentStateWhenAgentProducesReadinessMarker() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(3000, 10_000, agentChecker, "ready"));
+        LineConsumer[] output = new LineConsumer[1];
+        AtomicInteger checks = new AtomicInteger();
+        when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+        doAnswer(invocation -> {
+            output[0] = (LineConsumer)invocation.getArguments()[2];
+            return process;
+        }).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        // checks are done at 0, 100, 300, 700, 1500 ms, next one would be done at 3100 ms after timeout
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> {
+            int check = checks.incrementAndGet();
+            if (check == 5) {
+                output[0].writeLine("ready");
+            }
+            return check > 5;
+        });
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        verify(agentChecker, times(6)).isLaunched(any(Agent.class),
+                                                  any(InstanceProcess.class),
+                                                  any(Instance.class));
+    }
+
+    @Test
+    public void shouldRecordLaunchTimeOfAgent() throws Exception {
+        // given
+        AgentLaunchTimes launchTimes = new AgentLaunchTimes();
+        launcher = spy(new TestAgentLauncher(500, 100, agentChecker, null, launchTimes));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(agent.getId()).thenReturn("testAgentId");
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        assertEquals(launchTimes.getHistogram("testAgentId").get(250L), Long.valueOf(1));
+        assertEquals(launchTimes.getHistograms().keySet(), singleton("testAgentId"));
+    }
+
     private static class TestAgentLauncher extends AbstractAgentLauncher {
+        private final String readinessMarker;
+
         public TestAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
                                  AgentLaunchingChecker agentLaunchingChecker) {
-            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker);
+            this(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, null);
+        }
+
+        public TestAgentLauncher(long agentMaxStartTimeMs,
+                                 long agentPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 String readinessMarker) {
+            this(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, readinessMarker, new AgentLaunchTimes());
+        }
+
+        public TestAgentLauncher(long agentMaxStartTimeMs,
+                                 long agentPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 String readinessMarker,
+                                 AgentLaunchTimes agentLaunchTimes) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, agentLaunchTimes);
+            this.readinessMarker = readinessMarker;
+        }
+
+        @Override
+        protected boolean isReadinessMarker(String line) {
+            return line.equals(readinessMarker);
         }
 
         @Override
@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchTimes;
 import org.eclipse.che.api.agent.server.launcher.SshAgentLaunchingChecker;
 
 import javax.inject.Named;
@@ -28,10 +29,12 @@ import javax.inject.Named;
 public class SshAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public SshAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
-                            @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs) {
+                            @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
+                            AgentLaunchTimes agentLaunchTimes) {
         super(agentMaxStartTimeMs,
               agentPingDelayMs,
-              new SshAgentLaunchingChecker());
+              new SshAgentLaunchingChecker(),
+              agentLaunchTimes);
     }
 
     @Override
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+/**
+ * Represents a single element of an incoming JSON RPC message. It is
+ * either a request, a notification (request without identifier) or a
+ * response, elements that can not be qualified are marked as invalid.
+ */
+public class JsonRpcMessage {
+    private final Type            type;
+    private final JsonRpcRequest  request;
+    private final JsonRpcResponse response;
+
+    private JsonRpcMessage(Type type, JsonRpcRequest request, JsonRpcResponse response) {
+        this.type = type;
+        this.request = request;
+        this.response = response;
+    }
+
+    public static JsonRpcMessage of(JsonRpcRequest request) {
+        return new JsonRpcMessage(request.hasId() ? Type.REQUEST : Type.NOTIFICATION, request, null);
+    }
+
+    public static JsonRpcMessage of(JsonRpcResponse response) {
+        return new JsonRpcMessage(Type.RESPONSE, null, response);
+    }
+
+    public static JsonRpcMessage invalid() {
+        return new JsonRpcMessage(Type.INVALID, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isRequest() {
+        return type == Type.REQUEST || type == Type.NOTIFICATION;
+    }
+
+    public boolean isResponse() {
+        return type == Type.RESPONSE;
+    }
+
+    public JsonRpcRequest getRequest() {
+        return request;
+    }
+
+    public JsonRpcResponse getResponse() {
+        return response;
+    }
+
+    public enum Type {
+        REQUEST,
+        NOTIFICATION,
+        RESPONSE,
+        INVALID
+    }
+}
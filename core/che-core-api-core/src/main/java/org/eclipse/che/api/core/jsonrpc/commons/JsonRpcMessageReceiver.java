@@ -35,7 +35,6 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     private final RequestDispatcher       requestDispatcher;
     private final ResponseDispatcher      responseDispatcher;
     private final JsonRpcErrorTransmitter errorTransmitter;
-    private final JsonRpcQualifier        jsonRpcQualifier;
     private final JsonRpcUnmarshaller     jsonRpcUnmarshaller;
     private final RequestProcessor        requestProcessor;
 
@@ -43,13 +42,11 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     public JsonRpcMessageReceiver(RequestDispatcher requestDispatcher,
                                   ResponseDispatcher responseDispatcher,
                                   JsonRpcErrorTransmitter errorTransmitter,
-                                  JsonRpcQualifier jsonRpcQualifier,
                                   JsonRpcUnmarshaller jsonRpcUnmarshaller,
                                   RequestProcessor requestProcessor) {
         this.requestDispatcher = requestDispatcher;
         this.responseDispatcher = responseDispatcher;
         this.errorTransmitter = errorTransmitter;
-        this.jsonRpcQualifier = jsonRpcQualifier;
         this.jsonRpcUnmarshaller = jsonRpcUnmarshaller;
         this.requestProcessor = requestProcessor;
     }
@@ -62,17 +59,25 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
         LOGGER.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
-        if (!jsonRpcQualifier.isValidJson(message)) {
-            String error = "An error occurred on the server while parsing the JSON text";
-            errorTransmitter.transmit(endpointId, new JsonRpcException(-32700, error));
+
+        List<JsonRpcMessage> messages;
+        try {
+            messages = jsonRpcUnmarshaller.unmarshalMessages(message);
+        } catch (JsonRpcException e) {
+            errorTransmitter.transmit(endpointId, e);
+            return;
         }
 
-        List<String> messages = jsonRpcUnmarshaller.unmarshalArray(message);
-        for (String innerMessage : messages) {
-            if (jsonRpcQualifier.isJsonRpcRequest(innerMessage)) {
-                requestProcessor.process(() -> processRequest(endpointId, innerMessage));
-            } else if (jsonRpcQualifier.isJsonRpcResponse(innerMessage)) {
-                processResponse(endpointId, innerMessage);
+        for (JsonRpcMessage innerMessage : messages) {
+            if (innerMessage.isRequest()) {
+                JsonRpcRequest request = innerMessage.getRequest();
+                try {
+                    requestProcessor.process(endpointId, request, () -> processRequest(endpointId, request));
+                } catch (JsonRpcException e) {
+                    transmitError(endpointId, request, e);
+                }
+            } else if (innerMessage.isResponse()) {
+                responseDispatcher.dispatch(endpointId, innerMessage.getResponse());
             } else {
                 processError();
             }
@@ -86,22 +91,20 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
         throw exception;
     }
 
-    private void processResponse(String endpointId, String innerMessage) {
-        JsonRpcResponse response = jsonRpcUnmarshaller.unmarshalResponse(innerMessage);
-        responseDispatcher.dispatch(endpointId, response);
-    }
-
-    private void processRequest(String endpointId, String innerMessage) {
-        JsonRpcRequest request = null;
+    private void processRequest(String endpointId, JsonRpcRequest request) {
         try {
-            request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
             requestDispatcher.dispatch(endpointId, request);
         } catch (JsonRpcException e) {
-            if (request == null || request.getId() == null) {
-                errorTransmitter.transmit(endpointId, e);
-            } else {
-                errorTransmitter.transmit(endpointId, new JsonRpcException(e.getCode(), e.getMessage(), request.getId()));
-            }
+            transmitError(endpointId, request, e);
+        }
+    }
+
+    /** JSON RPC forbids any response to a notification, so errors of notifications are only logged. */
+    private void transmitError(String endpointId, JsonRpcRequest request, JsonRpcException e) {
+        if (request.getId() == null) {
+            LOGGER.warn("Notification '{}' from endpoint '{}' is dropped: {}", request.getMethod(), endpointId, e.getMessage());
+        } else {
+            errorTransmitter.transmit(endpointId, new JsonRpcException(e.getCode(), e.getMessage(), request.getId()));
         }
     }
 }
@@ -16,6 +16,20 @@ import java.util.List;
  * Transforms plain text messages into JSON RPC structures.
  */
 public interface JsonRpcUnmarshaller {
+    /**
+     * Parses a plain text message only once and creates JSON RPC structures
+     * of all its elements. A single (not batched) message results in a list
+     * of one element. Parameters and results of created structures are
+     * already parsed and are passed further as is.
+     *
+     * @param message
+     *         incoming message
+     * @return list of JSON RPC messages
+     * @throws JsonRpcException
+     *         with parse error code (-32700) if message is not a valid JSON
+     */
+    List<JsonRpcMessage> unmarshalMessages(String message);
+
     /**
      * Creates an array of stringified JSON RPC structures, which can further
      * be unmarshalled separately.
@@ -21,4 +21,18 @@ public interface RequestProcessor {
      * @param runnable runnable to be called for processing of a request
      */
     void process(Runnable runnable);
+
+    /**
+     * Process a runnable interface that corresponds to a request received
+     * from an endpoint. Implementations may use request and endpoint data
+     * to schedule processing, by default it is the same as {@link #process(Runnable)}.
+     *
+     * @param endpointId identifier of an endpoint the request is received from
+     * @param request request to be processed
+     * @param runnable runnable to be called for processing of a request
+     * @throws JsonRpcException if request can not be accepted for processing
+     */
+    default void process(String endpointId, JsonRpcRequest request, Runnable runnable) {
+        process(runnable);
+    }
 }
@@ -198,7 +198,7 @@ public class SendConfiguratorFromMany<P> {
         JsonRpcParams params = new JsonRpcParams(pListValue);
         JsonRpcRequest request = new JsonRpcRequest(null, method, params);
         String message = marshaller.marshall(request);
-        transmitter.transmit(endpointId, message);
+        transmitter.transmitNotification(endpointId, message);
     }
 
     private String transmitRequest() {
@@ -191,7 +191,7 @@ public class SendConfiguratorFromNone {
     private void transmitNotification() {
         JsonRpcRequest request = new JsonRpcRequest(null, method, null);
         String message = marshaller.marshall(request);
-        transmitter.transmit(endpointId, message);
+        transmitter.transmitNotification(endpointId, message);
     }
 
     private String transmitRequest() {
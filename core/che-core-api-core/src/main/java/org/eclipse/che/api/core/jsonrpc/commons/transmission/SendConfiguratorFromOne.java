@@ -216,7 +216,7 @@ public class SendConfiguratorFromOne<P> {
         JsonRpcParams params = new JsonRpcParams(pValue);
         JsonRpcRequest request = new JsonRpcRequest(null, method, params);
         String message = marshaller.marshall(request);
-        transmitter.transmit(endpointId, message);
+        transmitter.transmitNotification(endpointId, message);
     }
 
     private String transmitRequest() {
@@ -10,32 +10,30 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.inject.Inject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.slf4j.Logger;
 
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Qualifies messages with a streaming {@link JsonReader} without building
+ * JSON trees: validation skips the whole value, request and response
+ * qualification reads only names of top level members.
+ */
 @Singleton
 public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     private final static Logger LOGGER = getLogger(GsonJsonRpcQualifier.class);
 
-    private final JsonParser jsonParser;
-
-    @Inject
-    public GsonJsonRpcQualifier(JsonParser jsonParser) {
-        this.jsonParser = jsonParser;
-    }
-
     @Override
     public boolean isValidJson(String message) {
         checkNotNull(message, "Message must not be null");
@@ -43,12 +41,16 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
 
         LOGGER.debug("Validating message: {}", message);
 
-        try {
-            jsonParser.parse(message);
+        try (JsonReader reader = newReader(message)) {
+            reader.skipValue();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                LOGGER.debug("Validation failed: unexpected content after JSON value");
+                return false;
+            }
 
             LOGGER.debug("Validation successful");
             return true;
-        } catch (JsonParseException e) {
+        } catch (IOException | IllegalStateException e) {
             LOGGER.debug("Validation failed: {}", e.getMessage(), e);
             return false;
         }
@@ -60,10 +62,10 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOGGER.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOGGER.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        Set<String> keys = readKeys(message);
+        LOGGER.debug("Json keys: " + keys);
 
-        if (jsonObject.has("method")) {
+        if (keys.contains("method")) {
             LOGGER.debug("Qualified to request");
             return true;
         } else {
@@ -78,13 +80,34 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOGGER.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOGGER.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        Set<String> keys = readKeys(message);
+        LOGGER.debug("Json keys: " + keys);
 
-        if (jsonObject.has("error") != jsonObject.has("result")) {
+        if (keys.contains("error") != keys.contains("result")) {
             LOGGER.debug("Qualified to response");
             return true;
         }
         return false;
     }
+
+    private Set<String> readKeys(String message) {
+        try (JsonReader reader = newReader(message)) {
+            Set<String> keys = new HashSet<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                keys.add(reader.nextName());
+                reader.skipValue();
+            }
+            reader.endObject();
+            return keys;
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private JsonReader newReader(String message) {
+        JsonReader reader = new JsonReader(new StringReader(message));
+        reader.setLenient(true);
+        return reader;
+    }
 }
@@ -13,18 +13,25 @@ package org.eclipse.che.api.core.jsonrpc.impl;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessage;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +41,9 @@ import static java.util.Collections.singletonList;
 
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
+    private static final int    PARSE_ERROR_CODE    = -32700;
+    private static final String PARSE_ERROR_MESSAGE = "An error occurred on the server while parsing the JSON text";
+
     private final JsonParser jsonParser;
 
     @Inject
@@ -41,9 +51,49 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         this.jsonParser = jsonParser;
     }
 
+    @Override
+    public List<JsonRpcMessage> unmarshalMessages(String message) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.setLenient(true);
+
+            List<JsonRpcMessage> messages;
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                messages = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    messages.add(readMessage(reader));
+                }
+                reader.endArray();
+            } else {
+                messages = singletonList(readMessage(reader));
+            }
+
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonRpcException(PARSE_ERROR_CODE, PARSE_ERROR_MESSAGE);
+            }
+            return messages;
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            throw new JsonRpcException(PARSE_ERROR_CODE, PARSE_ERROR_MESSAGE);
+        }
+    }
+
     @Override
     public List<String> unmarshalArray(String message) {
-        return getArray(message, jsonParser.parse(message).isJsonArray());
+        JsonElement jsonElement = jsonParser.parse(message);
+        if (!jsonElement.isJsonArray()) {
+            return singletonList(message);
+        }
+
+        JsonArray jsonArray = jsonElement.getAsJsonArray();
+        int size = jsonArray.size();
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(jsonArray.get(i).toString());
+        }
+        return result;
     }
 
     @Override
@@ -74,13 +124,77 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         return new JsonRpcResponse(id, result, error);
     }
 
+    /**
+     * Reads a single JSON RPC structure, only values of "params", "result"
+     * and "error" members are parsed into JSON trees, other members are read
+     * as plain tokens or skipped.
+     */
+    private JsonRpcMessage readMessage(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return JsonRpcMessage.invalid();
+        }
+
+        String id = null;
+        String method = null;
+        JsonElement params = null;
+        JsonElement result = null;
+        JsonElement error = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = readId(reader);
+                    break;
+                case "method":
+                    method = reader.nextString();
+                    break;
+                case "params":
+                    params = jsonParser.parse(reader);
+                    break;
+                case "result":
+                    result = jsonParser.parse(reader);
+                    break;
+                case "error":
+                    error = jsonParser.parse(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (method != null) {
+            return JsonRpcMessage.of(new JsonRpcRequest(id, method, params == null ? null : getParams(params)));
+        }
+        if ((result == null) != (error == null)) {
+            JsonRpcResult jsonRpcResult = result == null ? null : getResult(result);
+            JsonRpcError jsonRpcError = error == null ? null : getError(error);
+            return JsonRpcMessage.of(new JsonRpcResponse(id, jsonRpcResult, jsonRpcError));
+        }
+        return JsonRpcMessage.invalid();
+    }
+
+    private String readId(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
     private JsonRpcError getError(JsonObject response) {
         if (!response.has("error")) {
             return null;
         }
 
-        int code = response.get("error").getAsJsonObject().get("code").getAsInt();
-        String errorMessage = response.get("error").getAsJsonObject().get("message").getAsString();
+        return getError(response.get("error"));
+    }
+
+    private JsonRpcError getError(JsonElement jsonElement) {
+        int code = jsonElement.getAsJsonObject().get("code").getAsInt();
+        String errorMessage = jsonElement.getAsJsonObject().get("message").getAsString();
         return new JsonRpcError(code, errorMessage);
     }
 
@@ -89,7 +203,10 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
             return null;
         }
 
-        JsonElement jsonElement = response.get("result");
+        return getResult(response.get("result"));
+    }
+
+    private JsonRpcResult getResult(JsonElement jsonElement) {
         if (!jsonElement.isJsonArray()) {
             return new JsonRpcResult(getInnerItem(jsonElement));
         }
@@ -110,7 +227,10 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
             return null;
         }
 
-        JsonElement jsonElement = jsonObject.get("params");
+        return getParams(jsonObject.get("params"));
+    }
+
+    private JsonRpcParams getParams(JsonElement jsonElement) {
         if (!jsonElement.isJsonArray()) {
             return new JsonRpcParams(getInnerItem(jsonElement));
         }
@@ -134,21 +254,6 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         return jsonObject.get("method").getAsString();
     }
 
-    private List<String> getArray(String message, boolean isArray) {
-        if (!isArray) {
-            return singletonList(message);
-        }
-
-        JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
-        int size = jsonArray.size();
-        List<String> result = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            JsonElement jsonElement = jsonArray.get(i);
-            result.add(jsonElement.toString());
-        }
-        return result;
-    }
-
     private Object getInnerItem(JsonElement jsonElement) {
         if (jsonElement.isJsonNull()) {
             return null;
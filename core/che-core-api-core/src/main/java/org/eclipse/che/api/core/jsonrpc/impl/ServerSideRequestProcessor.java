@@ -10,41 +10,128 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Processes requests on a bounded pool of threads. Requests are queued per
+ * endpoint and endpoints are served in a round robin manner, so a burst of
+ * requests from a single endpoint does not delay requests of other endpoints.
+ * <p>
+ * Requests are divided into two priority classes. Requests that expect a
+ * response are interactive, notifications and requests with a method that
+ * starts with one of configured bulk method prefixes are bulk. Interactive
+ * requests are preferred, however every {@value #BULK_SHARE}-th task is taken
+ * from bulk queues first to prevent their starvation. Bulk requests of an
+ * endpoint are processed one by one in order of their arrival.
+ * <p>
+ * When the total queue or a queue of an endpoint is full the request is
+ * rejected with {@link JsonRpcException} that has {@value #OVERLOADED_ERROR_CODE} code.
+ * The error is sent back only for requests with id, rejected notifications are dropped.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
+    private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
+
+    static final int OVERLOADED_ERROR_CODE = -32001;
+
+    private static final int    BULK_SHARE         = 4;
+    private static final String ANONYMOUS_ENDPOINT = "";
+
+    private final int          poolSize;
+    private final int          queueCapacity;
+    private final int          endpointQueueCapacity;
+    private final List<String> bulkMethods;
+
+    private final ReentrantLock              lock             = new ReentrantLock();
+    private final Condition                  available        = lock.newCondition();
+    private final Map<String, EndpointQueue> endpoints        = new HashMap<>();
+    private final Deque<EndpointQueue>       readyInteractive = new ArrayDeque<>();
+    private final Deque<EndpointQueue>       readyBulk        = new ArrayDeque<>();
+
+    private final AtomicLong rejected  = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong waitTime  = new AtomicLong();
+
+    private int     queued;
+    private long    picks;
+    private boolean running;
+
     private ExecutorService executorService;
 
+    @Inject
+    public ServerSideRequestProcessor(@Named("che.core.jsonrpc.processor_max_pool_size") int poolSize,
+                                      @Named("che.core.jsonrpc.processor_queue_capacity") int queueCapacity,
+                                      @Named("che.core.jsonrpc.processor_endpoint_queue_capacity") int endpointQueueCapacity,
+                                      @Named("che.core.jsonrpc.processor_bulk_methods") @Nullable String bulkMethods) {
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.endpointQueueCapacity = endpointQueueCapacity;
+        this.bulkMethods = bulkMethods == null ? emptyList() : Splitter.on(',').trimResults().omitEmptyStrings().splitToList(bulkMethods);
+    }
+
     @PostConstruct
-    private void postConstruct(){
+    void postConstruct() {
         ThreadFactory factory = new ThreadFactoryBuilder().setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                                          .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
+                                                          .setNameFormat(ServerSideRequestProcessor.class.getSimpleName() + "-%d")
                                                           .setDaemon(true)
                                                           .build();
 
-        executorService = newCachedThreadPool(factory);
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+
+        executorService = newFixedThreadPool(poolSize, factory);
+        for (int i = 0; i < poolSize; i++) {
+            executorService.execute(this::work);
+        }
     }
 
     @PreDestroy
-    private void preDestroy() {
+    void preDestroy() {
+        lock.lock();
+        try {
+            running = false;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
         executorService.shutdown();
         try {
-            if (executorService.awaitTermination(5, SECONDS)) {
+            if (!executorService.awaitTermination(5, SECONDS)) {
                 executorService.shutdownNow();
                 executorService.awaitTermination(5, SECONDS);
             }
@@ -56,6 +143,213 @@ public class ServerSideRequestProcessor implements RequestProcessor {
 
     @Override
     public void process(Runnable runnable) {
-        executorService.execute(runnable);
+        submit(ANONYMOUS_ENDPOINT, false, runnable);
+    }
+
+    @Override
+    public void process(String endpointId, JsonRpcRequest request, Runnable runnable) {
+        submit(endpointId, isBulk(request), runnable);
+    }
+
+    /** Returns number of requests that are waiting for processing. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns number of requests of an endpoint that are waiting for processing. */
+    public int getQueueDepth(String endpointId) {
+        lock.lock();
+        try {
+            EndpointQueue queue = endpoints.get(endpointId);
+            return queue == null ? 0 : queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns average time in milliseconds requests spent in queue before processing. */
+    public long getAverageWaitTime() {
+        long count = processed.get();
+        return count == 0 ? 0 : NANOSECONDS.toMillis(waitTime.get() / count);
+    }
+
+    /** Returns number of requests rejected because of full queues. */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private boolean isBulk(JsonRpcRequest request) {
+        if (!request.hasId()) {
+            return true;
+        }
+        String method = request.getMethod();
+        for (String prefix : bulkMethods) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void submit(String endpointId, boolean bulk, Runnable runnable) {
+        lock.lock();
+        try {
+            EndpointQueue queue = endpoints.computeIfAbsent(endpointId, EndpointQueue::new);
+            if (queued >= queueCapacity || queue.size() >= endpointQueueCapacity) {
+                rejected.incrementAndGet();
+                LOG.warn("Request processing queue is full, rejecting request from endpoint '{}'", endpointId);
+                removeIfIdle(queue);
+                throw new JsonRpcException(OVERLOADED_ERROR_CODE, "Server is overloaded, try again later");
+            }
+
+            Task task = new Task(queue, bulk, runnable);
+            queued++;
+            if (bulk) {
+                queue.bulk.add(task);
+                if (!queue.bulkRunning && !queue.inBulkRing) {
+                    queue.inBulkRing = true;
+                    readyBulk.add(queue);
+                }
+            } else {
+                queue.interactive.add(task);
+                if (!queue.inInteractiveRing) {
+                    queue.inInteractiveRing = true;
+                    readyInteractive.add(queue);
+                }
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Task task = null;
+            lock.lock();
+            try {
+                while (running && (task = poll()) == null) {
+                    available.await();
+                }
+                if (task == null) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            waitTime.addAndGet(System.nanoTime() - task.created);
+            processed.incrementAndGet();
+            try {
+                task.runnable.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error while processing request", e);
+            } finally {
+                if (task.bulk) {
+                    completeBulk(task.queue);
+                }
+            }
+        }
+    }
+
+    private Task poll() {
+        boolean bulkFirst = (picks + 1) % BULK_SHARE == 0;
+        Task task = bulkFirst ? pollBulk() : pollInteractive();
+        if (task == null) {
+            task = bulkFirst ? pollInteractive() : pollBulk();
+        }
+        if (task != null) {
+            picks++;
+            queued--;
+        }
+        return task;
+    }
+
+    private Task pollInteractive() {
+        EndpointQueue queue = readyInteractive.poll();
+        if (queue == null) {
+            return null;
+        }
+
+        Task task = queue.interactive.poll();
+        if (queue.interactive.isEmpty()) {
+            queue.inInteractiveRing = false;
+            removeIfIdle(queue);
+        } else {
+            readyInteractive.add(queue);
+        }
+        return task;
+    }
+
+    private Task pollBulk() {
+        EndpointQueue queue = readyBulk.poll();
+        if (queue == null) {
+            return null;
+        }
+
+        queue.inBulkRing = false;
+        queue.bulkRunning = true;
+        return queue.bulk.poll();
+    }
+
+    private void completeBulk(EndpointQueue queue) {
+        lock.lock();
+        try {
+            queue.bulkRunning = false;
+            if (!queue.bulk.isEmpty()) {
+                queue.inBulkRing = true;
+                readyBulk.add(queue);
+                available.signal();
+            } else {
+                removeIfIdle(queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeIfIdle(EndpointQueue queue) {
+        if (queue.size() == 0 && !queue.bulkRunning && !queue.inBulkRing && !queue.inInteractiveRing) {
+            endpoints.remove(queue.endpointId);
+        }
+    }
+
+    private static class EndpointQueue {
+        final String      endpointId;
+        final Deque<Task> interactive = new ArrayDeque<>();
+        final Deque<Task> bulk        = new ArrayDeque<>();
+
+        boolean bulkRunning;
+        boolean inBulkRing;
+        boolean inInteractiveRing;
+
+        EndpointQueue(String endpointId) {
+            this.endpointId = endpointId;
+        }
+
+        int size() {
+            return interactive.size() + bulk.size();
+        }
+    }
+
+    private static class Task {
+        final EndpointQueue queue;
+        final boolean       bulk;
+        final Runnable      runnable;
+        final long          created = System.nanoTime();
+
+        Task(EndpointQueue queue, boolean bulk, Runnable runnable) {
+            this.queue = queue;
+            this.bulk = bulk;
+            this.runnable = runnable;
+        }
     }
 }
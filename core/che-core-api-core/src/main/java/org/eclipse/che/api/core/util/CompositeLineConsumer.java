@@ -66,10 +66,26 @@ public class CompositeLineConsumer implements LineConsumer {
      */
     @Override
     public void writeLine(String line) {
+        write(lineConsumer -> lineConsumer.writeLine(line));
+    }
+
+    /**
+     * Writes given lines to each subconsumer at once.
+     * Do nothing if this consumer is closed or all subconsumers are closed.
+     *
+     * @param lines
+     *         lines to write
+     */
+    @Override
+    public void writeLines(List<String> lines) {
+        write(lineConsumer -> lineConsumer.writeLines(lines));
+    }
+
+    private void write(LineWriter writer) {
         if (isOpen) {
             for (LineConsumer lineConsumer : lineConsumers) {
                 try {
-                    lineConsumer.writeLine(line);
+                    writer.write(lineConsumer);
                 } catch (ClosedByInterruptException interrupted) {
                     Thread.currentThread().interrupt();
                     isOpen = false;
@@ -86,4 +102,7 @@ public class CompositeLineConsumer implements LineConsumer {
         }
     }
 
+    private interface LineWriter {
+        void write(LineConsumer lineConsumer) throws IOException;
+    }
 }
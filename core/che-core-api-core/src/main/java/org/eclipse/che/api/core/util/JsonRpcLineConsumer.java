@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -43,6 +44,14 @@ public class JsonRpcLineConsumer implements LineConsumer {
         }
     }
 
+    /** Sends all lines in a single message, lines are separated with {@code '\n'}. */
+    @Override
+    public void writeLines(List<String> lines) throws IOException {
+        if (!lines.isEmpty()) {
+            writeLine(String.join("\n", lines));
+        }
+    }
+
     @Override
     public void close() throws IOException {
     }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Consumes text line by line for analysing, writing, storing, etc.
@@ -23,5 +24,15 @@ public interface LineConsumer extends Closeable {
     /** Consumes single line. */
     void writeLine(String line) throws IOException;
 
+    /**
+     * Consumes several lines at once. Implementations may override it to write all lines with a single operation, e.g. flush
+     * file once or send all lines in one message. By default lines are consumed one by one.
+     */
+    default void writeLines(List<String> lines) throws IOException {
+        for (String line : lines) {
+            writeLine(line);
+        }
+    }
+
     LineConsumer DEV_NULL = new AbstractLineConsumer() {};
 }
@@ -15,6 +15,7 @@ import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -31,6 +32,14 @@ public class WebsocketLineConsumer implements LineConsumer {
         this.channel = channel;
     }
 
+    /** Sends all lines in a single message, lines are separated with {@code '\n'}. */
+    @Override
+    public void writeLines(List<String> lines) throws IOException {
+        if (!lines.isEmpty()) {
+            writeLine(String.join("\n", lines));
+        }
+    }
+
     @Override
     public void writeLine(String line) throws IOException {
         final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
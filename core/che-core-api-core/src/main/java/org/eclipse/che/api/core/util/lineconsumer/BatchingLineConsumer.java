@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.RateExceedDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumes lines without blocking of the writing thread and passes them to the delegate consumer in batches using
+ * {@link LineConsumer#writeLines(List)}, so delegate may write a batch with a single operation, e.g. flush file once or send
+ * one message.
+ * <p>
+ * While lines come slowly each line is passed to the delegate as soon as possible. When rate of lines exceeds configured
+ * limit lines are collected during flush interval or until size of batch is reached. Number of lines that wait to be written
+ * is bounded, lines that don't fit into the buffer are skipped and the number of skipped lines is written to the delegate
+ * with the next batch.
+ * <p>
+ * This implementation is thread safe.
+ */
+public class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+    private final LineConsumer             delegate;
+    private final ScheduledExecutorService scheduler;
+    private final long                     flushIntervalMillis;
+    private final int                      maxBatchSize;
+    private final int                      capacity;
+    private final RateExceedDetector       rateDetector;
+    private final Queue<String>            lines;
+    private final AtomicInteger            size;
+    private final AtomicLong               skipped;
+    private final AtomicLong               totalSkipped;
+    private final AtomicBoolean            flushScheduled;
+    private final AtomicBoolean            delayedFlushScheduled;
+
+    private volatile boolean isOpen;
+
+    /**
+     * @param delegate
+     *         consumer that receives batches of lines
+     * @param scheduler
+     *         executor that writes batches to the delegate
+     * @param flushIntervalMillis
+     *         maximal time in milliseconds that line waits before it is passed to the delegate
+     * @param maxBatchSize
+     *         maximal number of lines in batch
+     * @param capacity
+     *         maximal number of lines which wait to be written
+     * @param batchingRate
+     *         number of lines per second after which lines are collected into batches
+     */
+    public BatchingLineConsumer(LineConsumer delegate,
+                                ScheduledExecutorService scheduler,
+                                long flushIntervalMillis,
+                                int maxBatchSize,
+                                int capacity,
+                                double batchingRate) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.capacity = capacity;
+        this.rateDetector = new RateExceedDetector(batchingRate);
+        this.lines = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.skipped = new AtomicLong();
+        this.totalSkipped = new AtomicLong();
+        this.flushScheduled = new AtomicBoolean();
+        this.delayedFlushScheduled = new AtomicBoolean();
+        this.isOpen = true;
+    }
+
+    public boolean isOpen() {
+        return isOpen;
+    }
+
+    /** Returns number of lines which wait to be written. */
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    /** Returns number of lines skipped because buffer was full. */
+    public long getSkippedCount() {
+        return totalSkipped.get();
+    }
+
+    /**
+     * Puts line into buffer, line is written later by the scheduler.
+     * Do nothing if this consumer is closed.
+     *
+     * @param line
+     *         line to write
+     */
+    @Override
+    public void writeLine(String line) {
+        if (!isOpen) {
+            return;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            skipped.incrementAndGet();
+            totalSkipped.incrementAndGet();
+            return;
+        }
+        lines.offer(line == null ? "" : line);
+
+        final boolean exceeded;
+        synchronized (rateDetector) {
+            exceeded = rateDetector.updateAndCheckRate();
+        }
+        if (!exceeded || size.get() >= maxBatchSize) {
+            schedule(flushScheduled, 0);
+        } else {
+            schedule(delayedFlushScheduled, flushIntervalMillis);
+        }
+    }
+
+    /** Writes lines that are left in buffer and closes the delegate. */
+    @Override
+    public void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            flush();
+            delegate.close();
+        }
+    }
+
+    /** Passes all buffered lines to the delegate. */
+    void flush() {
+        synchronized (this) {
+            List<String> batch;
+            while (!(batch = nextBatch()).isEmpty()) {
+                try {
+                    delegate.writeLines(batch);
+                } catch (ConsumerAlreadyClosedException e) {
+                    isOpen = false;
+                    lines.clear();
+                    size.set(0);
+                    return;
+                } catch (IOException e) {
+                    LOG.error(String.format("An error occurred while writing lines to the line consumer %s", delegate), e);
+                }
+            }
+        }
+    }
+
+    private List<String> nextBatch() {
+        final List<String> batch = new ArrayList<>(Math.min(size.get() + 1, maxBatchSize));
+        final long skippedLines = skipped.getAndSet(0);
+        if (skippedLines > 0) {
+            batch.add(String.format("[WARN] Output is produced too fast, %d lines skipped", skippedLines));
+        }
+        String line;
+        while (batch.size() < maxBatchSize && (line = lines.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(line);
+        }
+        return batch;
+    }
+
+    private void schedule(AtomicBoolean scheduled, long delayMillis) {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(() -> {
+                    scheduled.set(false);
+                    flush();
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // scheduler is stopped, lines are written when consumer is closed
+                scheduled.set(false);
+            }
+        }
+    }
+}
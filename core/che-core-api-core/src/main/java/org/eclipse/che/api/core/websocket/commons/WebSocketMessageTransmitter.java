@@ -32,4 +32,19 @@ public interface WebSocketMessageTransmitter {
      *
      */
     void transmit(String endpointId, String message);
+
+    /**
+     * Transmit a message that nobody waits a response to, e.g. JSON-RPC
+     * notification. Implementation may drop such message if the endpoint
+     * does not keep up with transmitted messages. By default the message
+     * is transmitted the same way as any other message.
+     *
+     * @param endpointId
+     *         identifier of an endpoint known to an transmitter implementation
+     * @param message
+     *         plain text message
+     */
+    default void transmitNotification(String endpointId, String message) {
+        transmit(endpointId, message);
+    }
 }
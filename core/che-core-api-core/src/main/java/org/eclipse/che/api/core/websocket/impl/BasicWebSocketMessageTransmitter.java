@@ -11,13 +11,16 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.SessionMessageQueue.OverflowPolicy;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -25,6 +28,9 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
+ * <p>
+ * Each session has its own bounded outbound queue drained by asynchronous sends,
+ * so a slow session does not delay messages of other sessions.
  *
  * @author Dmitry Kuleshov
  */
@@ -34,29 +40,78 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
     private final WebSocketSessionRegistry registry;
     private final MessagesReSender         reSender;
+    private final int                      queueCapacity;
+    private final int                      maxBatchSize;
+    private final OverflowPolicy           overflowPolicy;
+
+    private final Map<String, SessionMessageQueue> queues = new ConcurrentHashMap<>();
 
     @Inject
-    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
+    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            @Named("che.core.websocket.outbound_queue_capacity") int queueCapacity,
+                                            @Named("che.core.websocket.outbound_batch_max_size") int maxBatchSize,
+                                            @Named("che.core.websocket.outbound_overflow_policy") String overflowPolicy) {
         this.registry = registry;
         this.reSender = reSender;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+        registry.addRemoveListener(queues::remove);
+    }
+
+    @Override
+    public void transmit(String endpointId, String message) {
+        transmit(endpointId, message, false);
     }
 
+    /** Notifications may be dropped from a full outbound queue, see {@link SessionMessageQueue}. */
     @Override
-    public synchronized void transmit(String endpointId, String message) {
+    public void transmitNotification(String endpointId, String message) {
+        transmit(endpointId, message, true);
+    }
+
+    private void transmit(String endpointId, String message, boolean notification) {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
         if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
+            queues.remove(endpointId);
             reSender.add(endpointId, message);
         } else {
-            LOG.debug("Session registered and open, sending message");
+            LOG.debug("Session registered and open, queueing message");
+
+            final Session session = sessionOptional.get();
+            final SessionMessageQueue queue = queues.compute(endpointId, (id, current) -> {
+                if (current != null && current.getSession() == session) {
+                    return current;
+                }
+                return new SessionMessageQueue(id, session, reSender, queueCapacity, maxBatchSize, overflowPolicy);
+            });
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+            if (!queue.offer(message, notification)) {
+                queues.remove(endpointId, queue);
+                reSender.add(endpointId, message);
             }
         }
     }
+
+    /** Returns number of messages waiting to be sent to an endpoint. */
+    public int getQueueDepth(String endpointId) {
+        final SessionMessageQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Returns average time in milliseconds that takes sending of a frame to an endpoint. */
+    public long getAverageSendTime(String endpointId) {
+        final SessionMessageQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getAverageSendTime();
+    }
+
+    /** Returns number of messages to an endpoint dropped because of outbound queue overflow. */
+    public long getDroppedCount(String endpointId) {
+        final SessionMessageQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getDroppedCount();
+    }
 }
@@ -10,76 +10,93 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
- * when WEB SOCKET session was closed. If session is closed during re-send process it
- * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * when WEB SOCKET session was closed. Messages are re-sent through the transmitter so they
+ * go through the outbound queue of the session, if session is closed during re-send process
+ * left messages will be re-sent as WEB SOCKET session becomes open again.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
     private static final int MAX_MESSAGES = 100;
 
-    private final WebSocketSessionRegistry registry;
+    private final WebSocketSessionRegistry              registry;
+    private final Provider<WebSocketMessageTransmitter> transmitterProvider;
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private final Map<String, Deque<String>> messagesMap = new ConcurrentHashMap<>();
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
+    public MessagesReSender(WebSocketSessionRegistry registry, Provider<WebSocketMessageTransmitter> transmitterProvider) {
         this.registry = registry;
+        this.transmitterProvider = transmitterProvider;
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+        messagesMap.compute(endpointId, (id, messages) -> {
+            if (messages == null) {
+                messages = new ArrayDeque<>();
+            }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+            if (messages.size() < MAX_MESSAGES) {
+                messages.add(message);
+            } else {
+                LOG.warn("Too many messages are pending for endpoint '{}', message is discarded", endpointId);
+            }
+            return messages;
+        });
+    }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+    /**
+     * Adds messages that must not be lost, e.g. responses to requests of the endpoint
+     * which were waiting in the outbound queue of a closed session. Such messages are
+     * kept whatever number of pending messages is.
+     */
+    public void addAll(String endpointId, Collection<String> messages) {
+        messagesMap.compute(endpointId, (id, pending) -> {
+            if (pending == null) {
+                pending = new ArrayDeque<>();
+            }
+            pending.addAll(messages);
+            return pending;
+        });
     }
 
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final Optional<Session> sessionOptional = registry.get(endpointId);
 
-        if (messages == null || messages.isEmpty()) {
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             return;
         }
 
-        final Optional<Session> sessionOptional = registry.get(endpointId);
+        final Deque<String> messages = messagesMap.remove(endpointId);
 
-        if (!sessionOptional.isPresent()) {
+        if (messages == null || messages.isEmpty()) {
             return;
         }
 
-        final Session session = sessionOptional.get();
-
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
-
-        for (String message : backing) {
-
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
-            }
+        final WebSocketMessageTransmitter transmitter = transmitterProvider.get();
+        for (String message : messages) {
+            transmitter.transmit(endpointId, message);
         }
-
-        messagesMap.put(endpointId, messages);
     }
 }
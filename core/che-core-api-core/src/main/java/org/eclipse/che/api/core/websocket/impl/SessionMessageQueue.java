@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.slf4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded outbound queue of a single WEB SOCKET session. Messages are sent
+ * one by one with asynchronous remote endpoint, the next message is sent when
+ * the previous send is completed, so a slow session does not block any threads.
+ * When several JSON-RPC messages are waiting in the queue they are merged into
+ * a single JSON-RPC batch frame.
+ * <p>
+ * Only notifications may be dropped from a full queue, the transmitter marks
+ * them when it adds them to the queue. Requests and responses are never dropped,
+ * the session is closed if there is no notification to drop and waiting requests
+ * and responses are passed to re-sender.
+ */
+class SessionMessageQueue {
+    private static final Logger LOG = getLogger(SessionMessageQueue.class);
+
+    /** Defines what happens when a message is added to a full queue. */
+    enum OverflowPolicy {
+        /** The oldest waiting notification is dropped */
+        DROP_OLDEST,
+        /** The session is closed, waiting messages are passed to re-sender */
+        DISCONNECT
+    }
+
+    private final String           endpointId;
+    private final Session          session;
+    private final MessagesReSender reSender;
+    private final int              capacity;
+    private final int              maxBatchSize;
+    private final OverflowPolicy   overflowPolicy;
+
+    private final Deque<Message> messages = new ArrayDeque<>();
+
+    private boolean sending;
+    private boolean closed;
+    private long    sendStarted;
+    private long    sentFrames;
+    private long    sendTime;
+    private long    dropped;
+    /** Number of notifications in the frame which is being sent. */
+    private int     sendingNotifications;
+    /** Number of messages in the frame which is being sent. */
+    private int     sendingMessages;
+
+    SessionMessageQueue(String endpointId,
+                        Session session,
+                        MessagesReSender reSender,
+                        int capacity,
+                        int maxBatchSize,
+                        OverflowPolicy overflowPolicy) {
+        this.endpointId = endpointId;
+        this.session = session;
+        this.reSender = reSender;
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+    /**
+     * Adds a message to the queue and starts sending if there is no send in progress.
+     *
+     * @param message
+     *         message to send
+     * @param notification
+     *         {@code true} if nobody waits a response to the message, such message may be dropped
+     * @return {@code false} if the queue is closed and the message is not accepted
+     */
+    boolean offer(String message, boolean notification) {
+        String frame;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+
+            if (messages.size() >= capacity) {
+                final boolean mayDrop = overflowPolicy == OverflowPolicy.DROP_OLDEST;
+                if (mayDrop && dropOldestNotification()) {
+                    dropped++;
+                } else if (mayDrop && notification) {
+                    // all the waiting messages are requests or responses
+                    dropped++;
+                    return true;
+                } else {
+                    LOG.warn("Outbound queue of endpoint '{}' is full, closing session", endpointId);
+                    messages.add(new Message(message, notification));
+                    close();
+                    return true;
+                }
+            }
+            messages.add(new Message(message, notification));
+
+            if (sending) {
+                return true;
+            }
+            frame = nextFrame();
+        }
+
+        send(frame);
+        return true;
+    }
+
+    /** Returns number of messages waiting to be sent. */
+    synchronized int size() {
+        return messages.size();
+    }
+
+    /** Returns number of messages dropped because of queue overflow. */
+    synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /** Returns average time in milliseconds that takes sending of a frame. */
+    synchronized long getAverageSendTime() {
+        return sentFrames == 0 ? 0 : NANOSECONDS.toMillis(sendTime / sentFrames);
+    }
+
+    private void send(String frame) {
+        try {
+            session.getAsyncRemote().sendText(frame, result -> onResult(frame, result));
+        } catch (RuntimeException e) {
+            LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+            synchronized (this) {
+                sending = false;
+                onFailure(frame);
+                if (!session.isOpen()) {
+                    close();
+                }
+            }
+        }
+    }
+
+    private void onResult(String frame, SendResult result) {
+        String next;
+        synchronized (this) {
+            sentFrames++;
+            sendTime += System.nanoTime() - sendStarted;
+
+            if (!result.isOK()) {
+                LOG.warn("Error while trying to send a message to endpoint '{}'", endpointId, result.getException());
+                onFailure(frame);
+            }
+
+            if (closed || messages.isEmpty()) {
+                sending = false;
+                return;
+            }
+            if (!session.isOpen()) {
+                sending = false;
+                close();
+                return;
+            }
+            next = nextFrame();
+        }
+
+        send(next);
+    }
+
+    /**
+     * Must be called with the lock held. Frame which contains requests or responses is passed
+     * to re-sender, frame of notifications is dropped if the overflow policy allows it.
+     */
+    private void onFailure(String frame) {
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST && sendingNotifications == sendingMessages) {
+            dropped += sendingMessages;
+            LOG.warn("{} notifications to endpoint '{}' are discarded since they weren't sent", sendingMessages, endpointId);
+        } else {
+            reSender.addAll(endpointId, singletonList(frame));
+        }
+    }
+
+    /** Must be called with the lock held and non empty queue. */
+    private String nextFrame() {
+        sending = true;
+        sendStarted = System.nanoTime();
+
+        Message first = messages.poll();
+        sendingMessages = 1;
+        sendingNotifications = first.notification ? 1 : 0;
+        if (messages.isEmpty() || !isBatchable(first.text)) {
+            return first.text;
+        }
+
+        StringBuilder batch = new StringBuilder(Math.min(maxBatchSize, first.text.length() * (messages.size() + 1)) + 2);
+        batch.append('[').append(first.text);
+        while (!messages.isEmpty()) {
+            Message next = messages.peek();
+            if (!isBatchable(next.text) || batch.length() + next.text.length() + 2 > maxBatchSize) {
+                break;
+            }
+            batch.append(',').append(messages.poll().text);
+            sendingMessages++;
+            if (next.notification) {
+                sendingNotifications++;
+            }
+        }
+
+        return sendingMessages == 1 ? first.text : batch.append(']').toString();
+    }
+
+    /** Must be called with the lock held. */
+    private boolean dropOldestNotification() {
+        for (Iterator<Message> it = messages.iterator(); it.hasNext(); ) {
+            if (it.next().notification) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBatchable(String message) {
+        return message.length() < maxBatchSize && !message.isEmpty() && message.charAt(0) == '{';
+    }
+
+    /**
+     * Must be called with the lock held. Waiting requests and responses are passed to re-sender
+     * whatever their number is, notifications are dropped if the overflow policy allows it.
+     */
+    private void close() {
+        closed = true;
+        final List<String> pending = new ArrayList<>(messages.size());
+        int discarded = 0;
+        for (Message message : messages) {
+            if (message.notification && overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                discarded++;
+            } else {
+                pending.add(message.text);
+            }
+        }
+        messages.clear();
+        if (discarded > 0) {
+            dropped += discarded;
+            LOG.warn("{} notifications to endpoint '{}' are discarded since its session is closed", discarded, endpointId);
+        }
+        if (!pending.isEmpty()) {
+            reSender.addAll(endpointId, pending);
+        }
+
+        if (session.isOpen()) {
+            try {
+                session.close(new CloseReason(TRY_AGAIN_LATER, "Outbound message queue is full"));
+            } catch (IOException e) {
+                LOG.error("Error while trying to close a websocket session", e);
+            }
+        }
+    }
+
+    private static class Message {
+        final String  text;
+        final boolean notification;
+
+        Message(String text, boolean notification) {
+            this.text = text;
+            this.notification = notification;
+        }
+    }
+}
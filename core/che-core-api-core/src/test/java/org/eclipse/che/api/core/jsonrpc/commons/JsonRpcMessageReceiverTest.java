@@ -16,9 +16,12 @@ import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,8 +42,6 @@ public class JsonRpcMessageReceiverTest {
     @Mock
     JsonRpcErrorTransmitter errorTransmitter;
     @Mock
-    JsonRpcQualifier        jsonRpcQualifier;
-    @Mock
     JsonRpcUnmarshaller     jsonRpcUnmarshaller;
     @Mock
     RequestProcessor        requestProcessor;
@@ -48,24 +49,25 @@ public class JsonRpcMessageReceiverTest {
     JsonRpcMessageReceiver  jsonRpcMessageReceiver;
 
     @Test
-    public void shouldValidateMessage() throws Exception {
+    public void shouldUnmarshalMessages() throws Exception {
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-        verify(jsonRpcQualifier).isValidJson(MESSAGE);
+        verify(jsonRpcUnmarshaller).unmarshalMessages(MESSAGE);
     }
 
     @Test
-    public void shouldTransmitErrorWhenValidationFailed() throws Exception {
-        when(jsonRpcQualifier.isValidJson(MESSAGE)).thenReturn(false);
+    public void shouldTransmitErrorWhenParsingFailed() throws Exception {
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenThrow(new JsonRpcException(-32700, "error"));
 
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
         verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+        verify(requestProcessor, never()).process(any(), any(), any());
     }
 
     @Test
-    public void shouldNotTransmitErrorWhenValidationSucceeded() throws Exception {
-        when(jsonRpcQualifier.isValidJson(MESSAGE)).thenReturn(true);
+    public void shouldNotTransmitErrorWhenParsingSucceeded() throws Exception {
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(emptyList());
 
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
@@ -73,31 +75,57 @@ public class JsonRpcMessageReceiverTest {
     }
 
     @Test
-    public void shouldUnmarshalArray() throws Exception {
+    public void shouldDispatchResponseIfResponseReceived() throws Exception {
+        JsonRpcResponse response = new JsonRpcResponse("0", new JsonRpcResult(true), null);
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(singletonList(JsonRpcMessage.of(response)));
+
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-        verify(jsonRpcUnmarshaller).unmarshalArray(MESSAGE);
+        verify(responseDispatcher).dispatch(ENDPOINT_ID, response);
     }
 
     @Test
-    public void shouldDispatchResponseIfResponseReceived() throws Exception {
-        when(jsonRpcQualifier.isJsonRpcResponse(MESSAGE)).thenReturn(true);
-        when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(false);
-        when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    public void shouldDispatchRequestIfRequestReceived() throws Exception {
+        JsonRpcRequest request = new JsonRpcRequest("0", "method", null);
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(singletonList(JsonRpcMessage.of(request)));
 
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-        verify(responseDispatcher).dispatch(eq(ENDPOINT_ID), any(JsonRpcResponse.class));
+        verify(requestProcessor).process(eq(ENDPOINT_ID), eq(request), any());
     }
 
     @Test
-    public void shouldDispatchRequestIfRequestReceived() throws Exception {
-        when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
-        when(jsonRpcQualifier.isJsonRpcResponse(MESSAGE)).thenReturn(false);
-        when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    public void shouldTransmitErrorIfRequestIsRejected() throws Exception {
+        JsonRpcRequest request = new JsonRpcRequest("0", "method", null);
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(singletonList(JsonRpcMessage.of(request)));
+        doThrow(new JsonRpcException(-32001, "error")).when(requestProcessor).process(eq(ENDPOINT_ID), eq(request), any());
+
+        jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+        verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    }
+
+    @Test
+    public void shouldNotTransmitErrorIfNotificationIsRejected() throws Exception {
+        JsonRpcRequest notification = new JsonRpcRequest(null, "method", null);
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(singletonList(JsonRpcMessage.of(notification)));
+        doThrow(new JsonRpcException(-32001, "error")).when(requestProcessor).process(eq(ENDPOINT_ID), eq(notification), any());
+
+        jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+        verify(errorTransmitter, never()).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    }
+
+    @Test
+    public void shouldProcessEachMessageOfBatch() throws Exception {
+        JsonRpcRequest request = new JsonRpcRequest(null, "method", null);
+        JsonRpcResponse response = new JsonRpcResponse("0", new JsonRpcResult(true), null);
+        when(jsonRpcUnmarshaller.unmarshalMessages(MESSAGE)).thenReturn(asList(JsonRpcMessage.of(request),
+                                                                             JsonRpcMessage.of(response)));
 
         jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-        verify(requestProcessor).process(any());
+        verify(requestProcessor).process(eq(ENDPOINT_ID), eq(request), any());
+        verify(responseDispatcher).dispatch(ENDPOINT_ID, response);
     }
 }
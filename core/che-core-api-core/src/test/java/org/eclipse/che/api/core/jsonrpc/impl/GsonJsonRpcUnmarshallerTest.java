@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessage;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessage.Type;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link GsonJsonRpcUnmarshaller}
+ */
+public class GsonJsonRpcUnmarshallerTest {
+    GsonJsonRpcUnmarshaller unmarshaller;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        unmarshaller = new GsonJsonRpcUnmarshaller(new JsonParser());
+    }
+
+    @Test
+    public void shouldUnmarshalRequest() throws Exception {
+        List<JsonRpcMessage> messages =
+                unmarshaller.unmarshalMessages("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"method\",\"params\":{\"key\":\"value\"}}");
+
+        assertEquals(messages.size(), 1);
+        assertEquals(messages.get(0).getType(), Type.REQUEST);
+        JsonRpcRequest request = messages.get(0).getRequest();
+        assertEquals(request.getId(), "1");
+        assertEquals(request.getMethod(), "method");
+        assertEquals(((JsonObject)request.getParams().getOne()).get("key").getAsString(), "value");
+    }
+
+    @Test
+    public void shouldUnmarshalNotificationWithNumericParams() throws Exception {
+        List<JsonRpcMessage> messages = unmarshaller.unmarshalMessages("{\"jsonrpc\":\"2.0\",\"method\":\"method\",\"params\":[1,2]}");
+
+        assertEquals(messages.get(0).getType(), Type.NOTIFICATION);
+        JsonRpcRequest request = messages.get(0).getRequest();
+        assertNull(request.getId());
+        assertEquals(request.getParams().getMany().size(), 2);
+        assertEquals(request.getParams().getMany().get(1), 2.0);
+    }
+
+    @Test
+    public void shouldUnmarshalBatch() throws Exception {
+        List<JsonRpcMessage> messages = unmarshaller.unmarshalMessages("[" +
+                                                                       "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"ok\"}," +
+                                                                       "{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"error\":{\"code\":-1,\"message\":\"fail\"}}," +
+                                                                       "{\"jsonrpc\":\"2.0\"}" +
+                                                                       "]");
+
+        assertEquals(messages.size(), 3);
+        JsonRpcResponse result = messages.get(0).getResponse();
+        assertEquals(result.getId(), "2");
+        assertEquals(result.getResult().getOne(), "ok");
+        JsonRpcResponse error = messages.get(1).getResponse();
+        assertEquals(error.getError().getCode(), -1);
+        assertEquals(error.getError().getMessage(), "fail");
+        assertEquals(messages.get(2).getType(), Type.INVALID);
+    }
+
+    @Test
+    public void shouldThrowParseErrorWhenMessageIsNotJson() throws Exception {
+        try {
+            unmarshaller.unmarshalMessages("{\"jsonrpc\":");
+            fail("Parse error expected");
+        } catch (JsonRpcException e) {
+            assertEquals(e.getCode(), -32700);
+        }
+    }
+}
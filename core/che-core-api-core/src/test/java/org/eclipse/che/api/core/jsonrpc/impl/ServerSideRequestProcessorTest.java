@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ServerSideRequestProcessor}
+ */
+public class ServerSideRequestProcessorTest {
+    static final String ENDPOINT_ID = "endpoint-id";
+
+    ServerSideRequestProcessor processor;
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        processor.preDestroy();
+    }
+
+    @Test
+    public void shouldProcessNotificationsOfEndpointInOrder() throws Exception {
+        start(4, 100, 100);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(50);
+
+        for (int i = 0; i < 50; i++) {
+            int number = i;
+            processor.process(ENDPOINT_ID, notification(), () -> {
+                processed.add(number);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(processed.get(i).intValue(), i);
+        }
+    }
+
+    @Test
+    public void shouldRejectRequestIfEndpointQueueIsFull() throws Exception {
+        start(1, 100, 2);
+        CountDownLatch release = blockWorker();
+
+        processor.process(ENDPOINT_ID, request(), () -> {});
+        processor.process(ENDPOINT_ID, request(), () -> {});
+        try {
+            processor.process(ENDPOINT_ID, request(), () -> {});
+            fail("Request must be rejected");
+        } catch (JsonRpcException e) {
+            assertEquals(e.getCode(), ServerSideRequestProcessor.OVERLOADED_ERROR_CODE);
+        }
+        processor.process("another-endpoint-id", request(), () -> {});
+
+        assertEquals(processor.getRejectedCount(), 1);
+        assertEquals(processor.getQueueDepth(ENDPOINT_ID), 2);
+        assertEquals(processor.getQueueDepth(), 3);
+        release.countDown();
+    }
+
+    @Test
+    public void shouldRejectRequestIfQueueIsFull() throws Exception {
+        start(1, 2, 100);
+        CountDownLatch release = blockWorker();
+
+        processor.process("first", request(), () -> {});
+        processor.process("second", request(), () -> {});
+        try {
+            processor.process("third", request(), () -> {});
+            fail("Request must be rejected");
+        } catch (JsonRpcException e) {
+            assertEquals(e.getCode(), ServerSideRequestProcessor.OVERLOADED_ERROR_CODE);
+        }
+
+        assertEquals(processor.getRejectedCount(), 1);
+        release.countDown();
+    }
+
+    @Test
+    public void shouldProcessRequestsBeforeNotifications() throws Exception {
+        start(1, 100, 100);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        CountDownLatch release = blockWorker();
+
+        processor.process(ENDPOINT_ID, notification(), () -> {
+            processed.add("notification-1");
+            done.countDown();
+        });
+        processor.process(ENDPOINT_ID, notification(), () -> {
+            processed.add("notification-2");
+            done.countDown();
+        });
+        processor.process(ENDPOINT_ID, request(), () -> {
+            processed.add("request-1");
+            done.countDown();
+        });
+        processor.process(ENDPOINT_ID, request(), () -> {
+            processed.add("request-2");
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, SECONDS));
+        assertEquals(processed, asList("request-1", "request-2", "notification-1", "notification-2"));
+    }
+
+    private void start(int poolSize, int queueCapacity, int endpointQueueCapacity) {
+        processor = new ServerSideRequestProcessor(poolSize, queueCapacity, endpointQueueCapacity, null);
+        processor.postConstruct();
+    }
+
+    private CountDownLatch blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.process(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, SECONDS));
+        return release;
+    }
+
+    private static JsonRpcRequest request() {
+        return new JsonRpcRequest("id", "method", null);
+    }
+
+    private static JsonRpcRequest notification() {
+        return new JsonRpcRequest(null, "method", null);
+    }
+}
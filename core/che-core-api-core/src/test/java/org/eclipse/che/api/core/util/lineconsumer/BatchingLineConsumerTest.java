@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BatchingLineConsumer}
+ */
+public class BatchingLineConsumerTest {
+    private ScheduledExecutorService scheduler;
+    private RecordingLineConsumer    delegate;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        delegate = new RecordingLineConsumer();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldWriteSlowOutputWithoutDelay() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, scheduler, 60_000, 100, 1000, 1);
+
+        consumer.writeLine("first");
+
+        for (int i = 0; i < 50 && delegate.getLines().isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(delegate.getLines(), Arrays.asList("first"));
+    }
+
+    @Test
+    public void shouldWriteFastOutputInBatches() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, scheduler, 60_000, 100, 1000, 1);
+        scheduler.shutdown();
+
+        for (int i = 0; i < 250; i++) {
+            consumer.writeLine("line " + i);
+        }
+        consumer.close();
+
+        assertEquals(delegate.getLines().size(), 250);
+        assertEquals(delegate.getBatches(), 3);
+        assertTrue(delegate.isClosed());
+    }
+
+    @Test
+    public void shouldSkipLinesWhichDoNotFitIntoBuffer() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, scheduler, 60_000, 100, 10, 1);
+        scheduler.shutdown();
+
+        for (int i = 0; i < 15; i++) {
+            consumer.writeLine("line " + i);
+        }
+        consumer.close();
+
+        assertEquals(consumer.getSkippedCount(), 5);
+        assertEquals(delegate.getLines().size(), 11);
+        assertTrue(delegate.getLines().get(0).contains("5 lines skipped"));
+    }
+
+    @Test
+    public void shouldNotWriteAfterClose() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, scheduler, 60_000, 100, 1000, 1);
+
+        consumer.close();
+        consumer.writeLine("line");
+
+        assertFalse(consumer.isOpen());
+        assertEquals(consumer.getPendingCount(), 0);
+        assertTrue(delegate.getLines().isEmpty());
+    }
+
+    private static class RecordingLineConsumer implements LineConsumer {
+        private final List<String> lines = new ArrayList<>();
+
+        private int     batches;
+        private boolean closed;
+
+        @Override
+        public synchronized void writeLine(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public synchronized void writeLines(List<String> lines) {
+            batches++;
+            this.lines.addAll(lines);
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+        }
+
+        synchronized List<String> getLines() {
+            return new ArrayList<>(lines);
+        }
+
+        synchronized int getBatches() {
+            return batches;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
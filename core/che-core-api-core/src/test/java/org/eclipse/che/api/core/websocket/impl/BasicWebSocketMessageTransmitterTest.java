@@ -10,24 +10,35 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -43,29 +54,32 @@ public class BasicWebSocketMessageTransmitterTest {
     private WebSocketSessionRegistry         registry;
     @Mock
     private MessagesReSender                 reSender;
-    @InjectMocks
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private RemoteEndpoint.Async remote;
+    @Captor
+    private ArgumentCaptor<Consumer<String>> removeListener;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        when(session.getAsyncRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
         when(registry.getSessions()).thenReturn(emptySet());
+
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, 1024, "drop_oldest");
     }
 
     @Test
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(MESSAGE);
+        verify(session).getAsyncRemote();
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
         verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
     }
 
@@ -75,8 +89,163 @@ public class BasicWebSocketMessageTransmitterTest {
 
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
         verify(reSender).add(ENDPOINT_ID, MESSAGE);
     }
+
+    @Test
+    public void shouldNotSendNextMessageUntilPreviousIsSent() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, "next");
+
+        verify(remote).sendText(anyString(), any(SendHandler.class));
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 1);
+
+        completeSend(1);
+
+        verify(remote).sendText(eq("next"), any(SendHandler.class));
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 0);
+    }
+
+    @Test
+    public void shouldMergeWaitingJsonRpcMessagesIntoBatch() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, "{\"id\":\"1\"}");
+        transmitter.transmit(ENDPOINT_ID, "{\"id\":\"2\"}");
+        transmitter.transmit(ENDPOINT_ID, "{\"id\":\"3\"}");
+
+        completeSend(1);
+
+        verify(remote).sendText(eq("[{\"id\":\"2\"},{\"id\":\"3\"}]"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldDropOldestNotificationIfQueueIsFull() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmitNotification(ENDPOINT_ID, notification("first"));
+        transmitter.transmit(ENDPOINT_ID, response("1"));
+        transmitter.transmitNotification(ENDPOINT_ID, notification("third"));
+
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 2);
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 1);
+
+        completeSend(1);
+        verify(remote).sendText(eq('[' + response("1") + ',' + notification("third") + ']'), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldDropNotificationIfQueueIsFullOfResponses() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, response("1"));
+        transmitter.transmit(ENDPOINT_ID, request("2"));
+        transmitter.transmitNotification(ENDPOINT_ID, notification("third"));
+
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 2);
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 1);
+        verify(session, never()).close(any(CloseReason.class));
+    }
+
+    @Test
+    public void shouldCloseSessionIfQueueIsFullOfResponsesAndPolicyIsDropOldest() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, response("1"));
+        transmitter.transmit(ENDPOINT_ID, request("2"));
+        transmitter.transmit(ENDPOINT_ID, response("3"));
+
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 0);
+        verify(session).close(any(CloseReason.class));
+        verify(reSender).addAll(ENDPOINT_ID, asList(response("1"), request("2"), response("3")));
+    }
+
+    @Test
+    public void shouldDiscardWaitingNotificationsWhenSessionIsClosed() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, response("1"));
+        transmitter.transmitNotification(ENDPOINT_ID, notification("first"));
+        when(session.isOpen()).thenReturn(false);
+
+        completeSend(1);
+
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 1);
+        verify(reSender).addAll(ENDPOINT_ID, singletonList(response("1")));
+        verify(reSender, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldPassFailedFrameToReSender() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, response("1"));
+
+        failSend(1);
+
+        verify(reSender).addAll(ENDPOINT_ID, singletonList(response("1")));
+    }
+
+    @Test
+    public void shouldDropFailedFrameOfNotifications() throws IOException {
+        transmitter.transmitNotification(ENDPOINT_ID, notification("first"));
+
+        failSend(1);
+
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 1);
+        verify(reSender, never()).addAll(anyString(), anyCollectionOf(String.class));
+    }
+
+    @Test
+    public void shouldNotDropMessagesWhichLookLikeNotificationsButAreNotMarkedSo() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, notification("first"));
+        transmitter.transmit(ENDPOINT_ID, notification("second"));
+        transmitter.transmit(ENDPOINT_ID, notification("third"));
+
+        assertEquals(transmitter.getDroppedCount(ENDPOINT_ID), 0);
+        verify(session).close(any(CloseReason.class));
+    }
+
+    @Test
+    public void shouldRemoveQueueWhenSessionIsUnregistered() throws IOException {
+        verify(registry).addRemoveListener(removeListener.capture());
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, "next");
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 1);
+
+        removeListener.getValue().accept(ENDPOINT_ID);
+
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 0);
+    }
+
+    @Test
+    public void shouldCloseSessionIfQueueIsFullAndPolicyIsDisconnect() throws IOException {
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 1, 1024, "disconnect");
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        verify(session).close(any(CloseReason.class));
+        verify(reSender).addAll(ENDPOINT_ID, asList("first", "second"));
+    }
+
+    private static String notification(String params) {
+        return "{\"jsonrpc\":\"2.0\",\"method\":\"event\",\"params\":\"" + params + "\"}";
+    }
+
+    private static String request(String id) {
+        return "{\"jsonrpc\":\"2.0\",\"method\":\"event\",\"id\":\"" + id + "\"}";
+    }
+
+    private static String response(String id) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":\"" + id + "\",\"result\":\"ok\"}";
+    }
+
+    private void completeSend(int times) {
+        ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote, times(times)).sendText(anyString(), captor.capture());
+        captor.getValue().onResult(new SendResult());
+    }
+
+    private void failSend(int times) {
+        ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote, times(times)).sendText(anyString(), captor.capture());
+        captor.getValue().onResult(new SendResult(new IOException("broken pipe")));
+    }
 }
@@ -10,21 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
+import javax.inject.Provider;
 import javax.websocket.Session;
-
 import java.util.Optional;
 
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,25 +40,23 @@ public class MessagesReSenderTest {
     private static final String ENDPOINT_ID = "id";
 
     @Mock
-    private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
-    private MessagesReSender         reSender;
-
+    private WebSocketSessionRegistry              sessionRegistry;
     @Mock
-    private Session               session;
+    private Provider<WebSocketMessageTransmitter> transmitterProvider;
     @Mock
-    private RemoteEndpoint.Async  endpoint;
+    private WebSocketMessageTransmitter           transmitter;
+    private MessagesReSender                      reSender;
+
+    @Mock
+    private Session session;
 
     @BeforeMethod
     public void beforeMethod() {
         when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
+        when(transmitterProvider.get()).thenReturn(transmitter);
         when(session.isOpen()).thenReturn(true);
-    }
 
-    @BeforeMethod
-    public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        reSender = new MessagesReSender(sessionRegistry, transmitterProvider);
     }
 
     @Test
@@ -71,8 +68,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -82,14 +78,24 @@ public class MessagesReSenderTest {
         when(session.isOpen()).thenReturn(false);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
 
         when(session.isOpen()).thenReturn(true);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldResendMessagesInOrder() {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+
+        reSender.resend(ENDPOINT_ID);
+
+        InOrder inOrder = inOrder(transmitter);
+        inOrder.verify(transmitter).transmit(ENDPOINT_ID, "first");
+        inOrder.verify(transmitter).transmit(ENDPOINT_ID, "second");
     }
 
     @Test
@@ -99,8 +105,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -113,8 +118,8 @@ public class MessagesReSenderTest {
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).transmit("1", MESSAGE);
     }
 
     @Test
@@ -122,14 +127,10 @@ public class MessagesReSenderTest {
         reSender.add(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -140,17 +141,11 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter, times(2)).transmit(anyString(), anyString());
 
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter, times(2)).transmit(anyString(), anyString());
     }
 }
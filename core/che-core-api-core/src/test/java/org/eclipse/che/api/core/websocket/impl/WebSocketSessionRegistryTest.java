@@ -18,8 +18,11 @@ import org.testng.annotations.Test;
 
 import javax.websocket.Session;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.*;
 
@@ -87,4 +90,14 @@ public class WebSocketSessionRegistryTest {
         assertEquals(2, registry.getSessions().size());
     }
 
+    @Test
+    public void shouldNotifyListenersWhenSessionIsRemoved() {
+        final List<String> removed = new ArrayList<>();
+        registry.addRemoveListener(removed::add);
+        registry.add("0", session);
+
+        registry.remove("0");
+
+        assertEquals(removed, singletonList("0"));
+    }
 }
@@ -11,6 +11,8 @@
 
 package org.eclipse.che.dto.generator;
 
+import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -37,9 +39,11 @@ import java.util.Set;
 
 /** Generates the source code for a generated Server DTO impl. */
 public class DtoImplServerTemplate extends DtoImpl {
-    private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
-    private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
-    private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String JSON_ARRAY_IMPL         = JsonArrayImpl.class.getCanonicalName();
+    private static final String JSON_MAP_IMPL           = JsonStringMapImpl.class.getCanonicalName();
+    private static final String SERVER_DTO_MARKER       = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String STREAM_ADAPTER          = DtoTypeAdapter.class.getCanonicalName();
+    private static final String PARAMETERIZED_TYPE_IMPL = ParameterizedTypeImpl.class.getCanonicalName();
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
@@ -74,6 +78,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamSerializer(getters, superGetterNames, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -322,6 +327,145 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      return gson.fromJson(jsonString, ").append(getImplClassName()).append(".class);\n");
         builder.append("    }\n\n");
     }
+    /**
+     * Generates methods which write and read fields declared in this implementation with Gson streaming API, fields of super
+     * implementation are written and read by its methods. Strings, booleans, integers and longs are written and read directly,
+     * values of other types are written and read by type adapters of Gson, type of such fields is kept in static field.
+     */
+    private void emitStreamSerializer(List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+        final boolean hasSuperImpl = getSuperDtoInterface(getDtoInterface()) != null;
+        final List<Method> fieldGetters = new ArrayList<>();
+        for (Method getter : getters) {
+            if (!superGetterNames.contains(getter.getName()) && getJavaFieldName(getter.getName()) != null) {
+                fieldGetters.add(getter);
+            }
+        }
+
+        for (Method getter : fieldGetters) {
+            Type type = getter.getGenericReturnType();
+            if (!isDirectlySerializable(type)) {
+                builder.append("    private static final com.google.gson.reflect.TypeToken<?> ")
+                       .append(getJsonTypeName(getJavaFieldName(getter.getName())))
+                       .append(" = com.google.gson.reflect.TypeToken.get(").append(getTypeExpression(type)).append(");\n");
+            }
+        }
+        builder.append("\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public void writeJsonFields(com.google.gson.stream.JsonWriter out, Gson gson) throws java.io.IOException {\n");
+        for (Method getter : fieldGetters) {
+            String fieldName = getJavaFieldName(getter.getName());
+            Type type = getter.getGenericReturnType();
+            builder.append("      out.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+            if (type == Boolean.class) {
+                builder.append("      ").append(STREAM_ADAPTER).append(".writeBoolean(out, this.").append(fieldName).append(");\n");
+            } else if (isDirectlySerializable(type)) {
+                builder.append("      out.value(this.").append(fieldName).append(");\n");
+            } else {
+                builder.append("      ").append(STREAM_ADAPTER).append(".writeValue(gson, out, ").append(getJsonTypeName(fieldName))
+                       .append(", this.").append(fieldName).append(");\n");
+            }
+        }
+        if (hasSuperImpl) {
+            builder.append("      super.writeJsonFields(out, gson);\n");
+        }
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public boolean readJsonField(String jsonName, com.google.gson.stream.JsonReader in, Gson gson)");
+        builder.append(" throws java.io.IOException {\n");
+        if (!fieldGetters.isEmpty()) {
+            builder.append("      switch (jsonName) {\n");
+            for (Method getter : fieldGetters) {
+                String fieldName = getJavaFieldName(getter.getName());
+                Type type = getter.getGenericReturnType();
+                builder.append("        case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+                String readExpression;
+                if (isDirectlySerializable(type)) {
+                    readExpression = STREAM_ADAPTER + "." + getDirectReaderName((Class<?>)type) + "(in)";
+                } else {
+                    readExpression = "gson.getAdapter(" + getJsonTypeName(fieldName) + ").read(in)";
+                }
+                if (type instanceof Class && ((Class<?>)type).isPrimitive()) {
+                    // null is not assigned to primitive field, the same as Gson does
+                    String wrapperName = Primitives.wrap((Class<?>)type).getCanonicalName();
+                    builder.append("          ").append(wrapperName).append(" v = (").append(wrapperName).append(")")
+                           .append(readExpression).append(";\n");
+                    builder.append("          if (v != null) {\n");
+                    builder.append("            this.").append(fieldName).append(" = v;\n");
+                    builder.append("          }\n");
+                } else {
+                    builder.append("          this.").append(fieldName).append(" = (").append(getImplName(type, false)).append(")")
+                           .append(readExpression).append(";\n");
+                }
+                builder.append("          return true;\n");
+                builder.append("        }\n");
+            }
+            builder.append("      }\n");
+        }
+        if (hasSuperImpl) {
+            builder.append("      return super.readJsonField(jsonName, in, gson);\n");
+        } else {
+            builder.append("      return false;\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /** Tests whether value of the given type is written by {@code JsonWriter} and read by {@code DtoTypeAdapter} directly. */
+    private static boolean isDirectlySerializable(Type type) {
+        return type == String.class
+               || type == boolean.class || type == Boolean.class
+               || type == int.class || type == Integer.class
+               || type == long.class || type == Long.class;
+    }
+
+    private static String getDirectReaderName(Class<?> type) {
+        Class<?> wrapped = Primitives.wrap(type);
+        if (wrapped == Boolean.class) {
+            return "readBoolean";
+        } else if (wrapped == Integer.class) {
+            return "readInteger";
+        } else if (wrapped == Long.class) {
+            return "readLong";
+        }
+        return "readString";
+    }
+
+    private static String getJsonTypeName(String fieldName) {
+        return fieldName + "$jsonType";
+    }
+
+    /**
+     * Returns java expression which creates {@link Type} of field that corresponds to the given type of getter.
+     * Like in {@link #getImplName(Type, boolean)} JSON collections are replaced with corresponding Java types.
+     */
+    private String getTypeExpression(Type type) {
+        if (type instanceof Class<?>) {
+            return ((Class<?>)type).getCanonicalName() + ".class";
+        }
+        if (!(type instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("Can't build implementation of " + getDtoInterface().getSimpleName() +
+                                               ". DtoGenerator does not handle this type " + type.toString());
+        }
+        Class<?> rawClass = getRawClass(type);
+        List<String> arguments = new ArrayList<>();
+        if (rawClass == JsonArray.class) {
+            rawClass = ArrayList.class;
+        } else if (rawClass == JsonStringMap.class) {
+            rawClass = HashMap.class;
+            arguments.add(String.class.getCanonicalName() + ".class");
+        }
+        for (Type argument : ((ParameterizedType)type).getActualTypeArguments()) {
+            arguments.add(getTypeExpression(argument));
+        }
+        StringBuilder expression = new StringBuilder("new ").append(PARAMETERIZED_TYPE_IMPL).append("(")
+                                                            .append(rawClass.getCanonicalName()).append(".class");
+        for (String argument : arguments) {
+            expression.append(", ").append(argument);
+        }
+        return expression.append(")").toString();
+    }
+
     private static StringBuilder appendNaiveCopyJsonExpression(String inValue, StringBuilder builder) {
         builder.append("((");
         builder.append(inValue);
@@ -350,7 +494,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
         builder.append(" implements ");
         builder.append(dtoInterface.getCanonicalName());
-        builder.append(", JsonSerializable ");
+        builder.append(", JsonSerializable, JsonStreamSerializable ");
         builder.append(" {\n\n");
         emitFactoryMethod(builder);
         emitDefaultConstructor(builder);
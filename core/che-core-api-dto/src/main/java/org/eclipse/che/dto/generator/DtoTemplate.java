@@ -192,6 +192,7 @@ public class DtoTemplate {
         builder.append(";\n\n");
         if ("server".equals(implType)) {
             builder.append("import org.eclipse.che.dto.server.JsonSerializable;\n");
+            builder.append("import org.eclipse.che.dto.server.JsonStreamSerializable;\n");
             builder.append("\n");
             builder.append("import com.google.gson.Gson;\n");
             builder.append("import com.google.gson.GsonBuilder;\n");
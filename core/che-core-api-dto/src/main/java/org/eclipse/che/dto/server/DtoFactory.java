@@ -99,7 +99,8 @@ public final class DtoFactory {
     private final Gson dtoGson = new GsonBuilder()
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+            .registerTypeAdapterFactory(new DtoInterfaceTAF())
+            .registerTypeAdapterFactory(new DtoImplTAF()).create();
 
     /**
      * Created deep copy of DTO object.
@@ -441,6 +442,24 @@ public final class DtoFactory {
         }
     }
 
+    /**
+     * Provides {@link DtoTypeAdapter} for the implementation classes which are able to write and read their fields
+     * with streaming API, so such DTOs are serialized without reflection.
+     */
+    private class DtoImplTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> rawType = type.getRawType();
+            DtoProvider<?> prov = dtoImpl2Providers.get(rawType);
+            if (prov != null && JsonStreamSerializable.class.isAssignableFrom(rawType)) {
+                TypeAdapter<?> adapter = new DtoTypeAdapter<JsonStreamSerializable>(gson, prov);
+                return (TypeAdapter<T>)adapter;
+            }
+            return null;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
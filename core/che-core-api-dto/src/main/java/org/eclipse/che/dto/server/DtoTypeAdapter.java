@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes and deserializes DTO implementations which implement {@link JsonStreamSerializable} without reflection.
+ * <p>
+ * Static methods of this class are used by generated DTO implementations, they read and write values the same way
+ * as the default Gson type adapters do, so JSON produced by this adapter is the same as JSON produced by reflective one.
+ */
+public final class DtoTypeAdapter<T extends JsonStreamSerializable> extends TypeAdapter<T> {
+
+    private final Gson           gson;
+    private final DtoProvider<?> provider;
+
+    DtoTypeAdapter(Gson gson, DtoProvider<?> provider) {
+        this.gson = gson;
+        this.provider = provider;
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        value.writeJsonFields(out, gson);
+        out.endObject();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final T dto = (T)provider.newInstance();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!dto.readJsonField(in.nextName(), in, gson)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return dto;
+    }
+
+    /**
+     * Writes value using adapter of its runtime type when it is more specific than declared one,
+     * e.g. implementation of DTO interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static void writeValue(Gson gson, JsonWriter out, TypeToken<?> declaredType, Object value) throws IOException {
+        final Type type = declaredType.getType();
+        final TypeAdapter<Object> adapter;
+        if (value != null && type instanceof Class && value.getClass() != type) {
+            adapter = (TypeAdapter<Object>)gson.getAdapter(value.getClass());
+        } else {
+            adapter = (TypeAdapter<Object>)gson.getAdapter(declaredType);
+        }
+        adapter.write(out, value);
+    }
+
+    /** Reads string, JSON boolean is read as its string representation. */
+    public static String readString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /** Reads boolean, JSON string is parsed with {@link Boolean#parseBoolean(String)}. */
+    public static Boolean readBoolean(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    /** Reads integer number. */
+    public static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /** Reads long number. */
+    public static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /** Writes boolean or null. */
+    public static void writeBoolean(JsonWriter out, Boolean value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.booleanValue());
+        }
+    }
+}
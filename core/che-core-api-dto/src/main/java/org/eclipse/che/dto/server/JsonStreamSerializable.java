@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * An entity that writes and reads its fields with Gson streaming API. Generated server DTO implementations implement this
+ * interface, so {@link DtoFactory} serializes them with {@link DtoTypeAdapter} instead of reflection.
+ */
+public interface JsonStreamSerializable {
+
+    /**
+     * Writes names and values of all the fields to the JSON object which is already started.
+     *
+     * @param out
+     *         writer positioned inside JSON object
+     * @param gson
+     *         gson used for values which are not written directly, e.g. nested DTOs, collections and enums
+     */
+    void writeJsonFields(JsonWriter out, Gson gson) throws IOException;
+
+    /**
+     * Reads value of the field with the given JSON name.
+     *
+     * @param name
+     *         JSON name of the field
+     * @param in
+     *         reader positioned at the field value
+     * @param gson
+     *         gson used for values which are not read directly, e.g. nested DTOs, collections and enums
+     * @return {@code true} if value is read, {@code false} if field is unknown and value is not consumed
+     */
+    boolean readJsonField(String name, JsonReader in, Gson gson) throws IOException;
+}
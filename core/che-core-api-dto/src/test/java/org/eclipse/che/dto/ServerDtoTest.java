@@ -28,6 +28,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -38,6 +39,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -380,4 +382,39 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void shouldUseGeneratedAdapterForDtoImplementation() {
+        SimpleDto dto = dtoFactory.createDto(SimpleDto.class);
+
+        assertTrue(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof DtoTypeAdapter);
+    }
+
+    @Test
+    public void shouldSkipUnknownFieldsAndKeepDefaultOfNullPrimitive() {
+        SimpleDto dto = dtoFactory.createDtoFromJson("{\"id\":null,\"unknown\":{\"a\":[1,2]},\"name\":\"test\"}", SimpleDto.class);
+
+        checkSimpleDto(dto, "test", 0, null);
+    }
+
+    @Test
+    public void shouldNotWriteNullFields() {
+        JsonObject json = new JsonParser().parse(dtoFactory.toJson(dtoFactory.createDto(SimpleDto.class).withId(1)))
+                                          .getAsJsonObject();
+
+        assertEquals(json.entrySet().size(), 1);
+        assertFalse(json.has("name"));
+    }
+
+    @Test
+    public void shouldWriteAndReadFieldsOfDtoHierarchy() {
+        GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+        dto.withDtoField("dto-field").withChildField("child-field").withParentField("parent-field");
+
+        String json = dtoFactory.toJson(dto);
+        GrandchildDto copy = dtoFactory.createDtoFromJson(json, GrandchildDto.class);
+
+        assertEquals(copy, dto);
+        assertEquals(dtoFactory.toJson(copy), json);
+    }
 }
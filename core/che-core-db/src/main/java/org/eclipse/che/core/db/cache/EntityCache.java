@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of entities for read-through DAO decorators.
+ *
+ * <p>Entities are copied when they are put into the cache and when they are returned from it,
+ * so callers may modify returned instances. Entries expire after configured time since they
+ * were loaded, which bounds staleness of data changed without the decorator.
+ *
+ * <p>Value loaded from the database may be put into the cache only if no invalidation happened
+ * since the load was started, see {@link #getStamp()}, otherwise concurrent update may be
+ * overwritten in cache by the value loaded before the update.
+ *
+ * <p>Statistics of the cache may be exposed through JMX, see {@link #registerMBean(String)}.
+ *
+ * <p>This implementation is thread safe.
+ *
+ * @param <V>
+ *         the type of cached entities
+ */
+public class EntityCache<V> implements EntityCacheMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+
+    private final Cache<String, V> cache;
+    private final UnaryOperator<V> copier;
+    private final Object           lock;
+
+    private long       stamp;
+    private ObjectName objectName;
+
+    /**
+     * @param maxSize
+     *         maximal number of cached entities, 0 disables caching
+     * @param expireAfterWriteSec
+     *         time in seconds after which cached entity is evicted
+     * @param copier
+     *         function that creates copy of entity
+     */
+    public EntityCache(long maxSize, long expireAfterWriteSec, UnaryOperator<V> copier) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maxSize)
+                                 .expireAfterWrite(expireAfterWriteSec, TimeUnit.SECONDS)
+                                 .recordStats()
+                                 .build();
+        this.copier = copier;
+        this.lock = new Object();
+    }
+
+    /** Returns copy of cached entity or null if there is no entity with given key in cache. */
+    public V get(String key) {
+        final V value = cache.getIfPresent(key);
+        return value == null ? null : copier.apply(value);
+    }
+
+    /**
+     * Returns the stamp which must be obtained before the entity is loaded from the database
+     * and passed to {@link #put(String, Object, long)} after that.
+     */
+    public long getStamp() {
+        synchronized (lock) {
+            return stamp;
+        }
+    }
+
+    /**
+     * Puts copy of the entity into cache if there were no invalidations since the stamp was obtained.
+     *
+     * @param key
+     *         entity key
+     * @param value
+     *         entity loaded from the database
+     * @param stamp
+     *         stamp obtained with {@link #getStamp()} before entity was loaded
+     */
+    public void put(String key, V value, long stamp) {
+        synchronized (lock) {
+            if (this.stamp == stamp) {
+                cache.put(key, copier.apply(value));
+            }
+        }
+    }
+
+    /** Removes entity with given key from cache. */
+    public void invalidate(String key) {
+        synchronized (lock) {
+            stamp++;
+            cache.invalidate(key);
+        }
+    }
+
+    /** Removes all the entities which match given predicate from cache. */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        synchronized (lock) {
+            stamp++;
+            cache.asMap().values().removeIf(predicate);
+        }
+    }
+
+    /** Removes all the entities from cache. */
+    public void invalidateAll() {
+        synchronized (lock) {
+            stamp++;
+            cache.invalidateAll();
+        }
+    }
+
+    /** Returns number of cached entities. */
+    public long size() {
+        return cache.size();
+    }
+
+    /** Returns statistics of cache hits, misses and evictions. */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Registers statistics of this cache in the platform MBean server as
+     * {@code org.eclipse.che:type=EntityCache,name=<name>}.
+     * Failure of registration is logged and doesn't affect caching.
+     *
+     * @param name
+     *         name of the cache, e.g. 'workspaces'
+     */
+    public void registerMBean(String name) {
+        synchronized (lock) {
+            try {
+                final ObjectName objectName = new ObjectName("org.eclipse.che:type=EntityCache,name=" + ObjectName.quote(name));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+                this.objectName = objectName;
+            } catch (JMException x) {
+                LOG.warn("Unable to register statistics of cache '{}' in MBean server. {}", name, x.getMessage());
+            }
+        }
+    }
+
+    /** Unregisters statistics of this cache registered with {@link #registerMBean(String)}. */
+    public void unregisterMBean() {
+        synchronized (lock) {
+            if (objectName == null) {
+                return;
+            }
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException x) {
+                LOG.warn("Unable to unregister MBean '{}'. {}", objectName, x.getMessage());
+            }
+            objectName = null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+/**
+ * Statistics of {@link EntityCache} exposed through JMX.
+ */
+public interface EntityCacheMXBean {
+
+    /** Returns number of cached entities. */
+    long getSize();
+
+    /** Returns number of lookups which returned cached entity. */
+    long getHitCount();
+
+    /** Returns number of lookups which didn't find entity in cache. */
+    long getMissCount();
+
+    /** Returns ratio of lookups which returned cached entity, 1.0 when there were no lookups. */
+    double getHitRate();
+
+    /** Returns number of entities evicted because of size or time limit. */
+    long getEvictionCount();
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.cache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests {@link EntityCache}.
+ */
+public class EntityCacheTest {
+
+    private EntityCache<List<String>> cache;
+
+    @BeforeMethod
+    public void setUp() {
+        cache = new EntityCache<>(10, 60, ArrayList::new);
+    }
+
+    @Test
+    public void returnsCopyOfCachedEntity() {
+        final List<String> entity = new ArrayList<>(asList("a", "b"));
+
+        cache.put("id", entity, cache.getStamp());
+        entity.add("c");
+        final List<String> cached = cache.get("id");
+        cached.add("d");
+
+        assertEquals(cache.get("id"), asList("a", "b"));
+        assertNotSame(cache.get("id"), cache.get("id"));
+    }
+
+    @Test
+    public void doesNotPutEntityLoadedBeforeInvalidation() {
+        final long stamp = cache.getStamp();
+
+        cache.invalidate("id");
+        cache.put("id", asList("stale"), stamp);
+
+        assertNull(cache.get("id"));
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void invalidatesEntitiesMatchingPredicate() {
+        cache.put("id1", asList("ns1"), cache.getStamp());
+        cache.put("id2", asList("ns2"), cache.getStamp());
+
+        cache.invalidateIf(entity -> entity.contains("ns1"));
+
+        assertNull(cache.get("id1"));
+        assertEquals(cache.get("id2"), asList("ns2"));
+    }
+
+    @Test
+    public void invalidatesAllEntities() {
+        cache.put("id1", asList("a"), cache.getStamp());
+        cache.put("id2", asList("b"), cache.getStamp());
+
+        cache.invalidateAll();
+
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void recordsHitsAndMisses() {
+        cache.get("id");
+        cache.put("id", asList("a"), cache.getStamp());
+        cache.get("id");
+        cache.get("id");
+
+        assertEquals(cache.getStats().hitCount(), 2);
+        assertEquals(cache.getStats().missCount(), 1);
+    }
+
+    @Test
+    public void exposesStatisticsThroughMBean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("org.eclipse.che:type=EntityCache,name=\"test\"");
+        cache.put("id", asList("a"), cache.getStamp());
+        cache.get("id");
+        cache.get("id2");
+
+        cache.registerMBean("test");
+        try {
+            assertEquals(server.getAttribute(name, "HitCount"), 1L);
+            assertEquals(server.getAttribute(name, "MissCount"), 1L);
+            assertEquals(server.getAttribute(name, "Size"), 1L);
+        } finally {
+            cache.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void doesNotCacheEntitiesWhenMaxSizeIsZero() {
+        cache = new EntityCache<>(0, 60, ArrayList::new);
+
+        cache.put("id", asList("a"), cache.getStamp());
+
+        assertNull(cache.get("id"));
+    }
+}
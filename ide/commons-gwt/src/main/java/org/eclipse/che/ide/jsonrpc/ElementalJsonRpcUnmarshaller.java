@@ -11,12 +11,15 @@
 package org.eclipse.che.ide.jsonrpc;
 
 import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import elemental.json.JsonFactory;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessage;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
@@ -33,6 +36,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static elemental.json.JsonType.ARRAY;
 import static elemental.json.JsonType.BOOLEAN;
 import static elemental.json.JsonType.NUMBER;
+import static elemental.json.JsonType.OBJECT;
 import static elemental.json.JsonType.STRING;
 import static java.util.Collections.singletonList;
 
@@ -45,6 +49,31 @@ public class ElementalJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         this.jsonFactory = jsonFactory;
     }
 
+    @Override
+    public List<JsonRpcMessage> unmarshalMessages(String message) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        JsonValue jsonValue;
+        try {
+            jsonValue = jsonFactory.parse(message);
+        } catch (JsonException e) {
+            throw new JsonRpcException(-32700, "An error occurred while parsing the JSON text");
+        }
+
+        if (!ARRAY.equals(jsonValue.getType())) {
+            return singletonList(getMessage(jsonValue));
+        }
+
+        JsonArray jsonArray = (JsonArray)jsonValue;
+        int size = jsonArray.length();
+        List<JsonRpcMessage> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(getMessage(jsonArray.get(i)));
+        }
+        return result;
+    }
+
     @Override
     public List<String> unmarshalArray(String message) {
         return getArray(message, jsonFactory.parse(message));
@@ -78,6 +107,21 @@ public class ElementalJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         return new JsonRpcResponse(id, result, error);
     }
 
+    private JsonRpcMessage getMessage(JsonValue jsonValue) {
+        if (!OBJECT.equals(jsonValue.getType())) {
+            return JsonRpcMessage.invalid();
+        }
+
+        JsonObject jsonObject = (JsonObject)jsonValue;
+        if (jsonObject.hasKey("method")) {
+            return JsonRpcMessage.of(new JsonRpcRequest(getId(jsonObject), getMethod(jsonObject), getParams(jsonObject)));
+        }
+        if (jsonObject.hasKey("error") != jsonObject.hasKey("result")) {
+            return JsonRpcMessage.of(new JsonRpcResponse(getId(jsonObject), getResult(jsonObject), getError(jsonObject)));
+        }
+        return JsonRpcMessage.invalid();
+    }
+
     private JsonRpcError getError(JsonObject response) {
         if (response.hasKey("error")) {
             JsonObject errorJsonValue = response.get("error");
@@ -160,7 +204,7 @@ public class ElementalJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
             return singletonList(message);
         }
 
-        JsonArray jsonArray = jsonFactory.parse(message);
+        JsonArray jsonArray = (JsonArray)jsonValue;
         int size = jsonArray.length();
         List<String> result = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
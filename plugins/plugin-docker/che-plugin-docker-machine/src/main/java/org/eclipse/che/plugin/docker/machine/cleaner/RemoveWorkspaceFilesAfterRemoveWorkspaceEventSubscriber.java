@@ -21,6 +21,10 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.workspace.server.WorkspaceFilesCleaner;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +49,8 @@ public class RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber implements
     private final ExecutorService       executor;
     private final EventService          eventService;
 
+    private final EventSubscriber<WorkspacesRemovedEvent> workspacesRemovedSubscriber;
+
     @Inject
     public RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber(EventService eventService, WorkspaceFilesCleaner workspaceFilesCleaner) {
         this.workspaceFilesCleaner = workspaceFilesCleaner;
@@ -54,12 +60,26 @@ public class RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber implements
                                                                                    LoggingUncaughtExceptionHandler.getInstance())
                                                                            .setDaemon(true)
                                                                            .build());
+        workspacesRemovedSubscriber = event -> {
+            for (WorkspaceSummaryImpl summary : event.getWorkspaces()) {
+                clearAsync(asWorkspace(summary));
+            }
+        };
     }
 
     @Override
     public void onEvent(WorkspaceRemovedEvent event) {
+        clearAsync(event.getWorkspace());
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(this);
+        eventService.subscribe(workspacesRemovedSubscriber, WorkspacesRemovedEvent.class);
+    }
+
+    private void clearAsync(Workspace workspace) {
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
-            Workspace workspace = event.getWorkspace();
             try {
                 workspaceFilesCleaner.clear(workspace);
             } catch (IOException | ServerException e) {
@@ -68,8 +88,8 @@ public class RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber implements
         }));
     }
 
-    @PostConstruct
-    public void subscribe() {
-        eventService.subscribe(this);
+    /** Workspace files are located by workspace name, so summary is enough to clean them. */
+    private static Workspace asWorkspace(WorkspaceSummaryImpl summary) {
+        return new WorkspaceImpl(summary.getId(), null, new WorkspaceConfigImpl(summary.getName(), null, null, null, null, null));
     }
 }
@@ -13,16 +13,24 @@ package org.eclipse.che.plugin.docker.machine.cleaner;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceFilesCleaner;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber}.
@@ -42,6 +50,11 @@ public class RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriberTest {
     @Mock
     private Workspace             workspace;
 
+    @Captor
+    private ArgumentCaptor<EventSubscriber<WorkspacesRemovedEvent>> subscriberCaptor;
+    @Captor
+    private ArgumentCaptor<Workspace>                               workspaceCaptor;
+
     private RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber removeWorkspaceFilesAfterRemoveWorkspaceEventSubscriber;
 
     @BeforeMethod
@@ -66,4 +79,17 @@ public class RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriberTest {
         verify(event, timeout(2000)).getWorkspace();
         verify(workspaceFilesCleaner, timeout(2000)).clear(workspace);
     }
+
+    @Test
+    public void workspacesShouldBeCleanedWhenRemovedAtOnce() throws Exception {
+        removeWorkspaceFilesAfterRemoveWorkspaceEventSubscriber.subscribe();
+        verify(eventService).subscribe(subscriberCaptor.capture(), eq(WorkspacesRemovedEvent.class));
+
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("id", "name", "namespace", true);
+        subscriberCaptor.getValue().onEvent(new WorkspacesRemovedEvent(singletonList(summary)));
+
+        verify(workspaceFilesCleaner, timeout(2000)).clear(workspaceCaptor.capture());
+        assertEquals(workspaceCaptor.getValue().getId(), "id");
+        assertEquals(workspaceCaptor.getValue().getConfig().getName(), "name");
+    }
 }
@@ -270,7 +270,7 @@ public class JavaDebuggerTest {
 
         Set<PathMatcher> filters = new HashSet<>();
         filters.add(path -> true);
-        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters);
+        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters, false, 1, false, 0, 0);
 
         EventService eventService = new EventService();
         LocalVirtualFileSystemProvider vfsProvider = new LocalVirtualFileSystemProvider(root, sProvider);
@@ -90,7 +90,7 @@ public abstract class BaseTest {
         Set<PathMatcher> filters = new HashSet<>();
         filters.add(path -> true);
 
-        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters);
+        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters, false, 1, false, 0, 0);
         vfsProvider = new LocalVirtualFileSystemProvider(root, sProvider);
         ProjectTypeRegistry projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
 
@@ -20,6 +20,8 @@ import org.eclipse.che.api.ssh.server.SshManager;
 import org.eclipse.che.api.user.server.UserManager;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,30 +108,46 @@ public class WorkspaceSshKeys {
         eventService.subscribe(new EventSubscriber<WorkspaceRemovedEvent>() {
             @Override
             public void onEvent(WorkspaceRemovedEvent workspaceRemovedEvent) {
+                removeDefaultKeyPair(workspaceRemovedEvent.getWorkspace().getId(),
+                                     workspaceRemovedEvent.getWorkspace().getConfig().getName(),
+                                     workspaceRemovedEvent.getWorkspace().getNamespace());
+            }
+        });
 
-                final String userId;
-                try {
-                    final User user = userManager.getByName(workspaceRemovedEvent.getWorkspace().getNamespace());
-                    userId = user.getId();
-                } catch (NotFoundException | ServerException e) {
-                    LOG.error("Unable to get owner of the workspace {} with namespace {}", workspaceRemovedEvent.getWorkspace().getId(), workspaceRemovedEvent.getWorkspace().getNamespace());
-                    return;
-                }
-
-                // Unregister default SSH keypair for this workspace (if any)
-                try {
-                    sshManager.removePair(userId, "workspace",
-                                          workspaceRemovedEvent.getWorkspace().getId());
-                } catch (NotFoundException e) {
-                    LOG.debug("Do not remove default keypair from workspace {} as it is not existing (workspace ID {})",
-                                            workspaceRemovedEvent.getWorkspace().getConfig().getName(),
-                                            workspaceRemovedEvent.getWorkspace().getId());
-                } catch (ServerException e) {
-                    LOG.error("Error when trying to remove default ssh pair for the workspace {} (workspace ID {})",
-                            workspaceRemovedEvent.getWorkspace().getConfig().getName(), workspaceRemovedEvent.getWorkspace().getId());
+        eventService.subscribe(new EventSubscriber<WorkspacesRemovedEvent>() {
+            @Override
+            public void onEvent(WorkspacesRemovedEvent workspacesRemovedEvent) {
+                for (WorkspaceSummaryImpl workspace : workspacesRemovedEvent.getWorkspaces()) {
+                    removeDefaultKeyPair(workspace.getId(), workspace.getName(), workspace.getNamespace());
                 }
             }
         });
 
     }
+
+    /**
+     * Unregister default SSH keypair of the removed workspace (if any).
+     */
+    private void removeDefaultKeyPair(String workspaceId, String workspaceName, String namespace) {
+        final String userId;
+        try {
+            final User user = userManager.getByName(namespace);
+            userId = user.getId();
+        } catch (NotFoundException | ServerException e) {
+            LOG.error("Unable to get owner of the workspace {} with namespace {}", workspaceId, namespace);
+            return;
+        }
+
+        try {
+            sshManager.removePair(userId, "workspace", workspaceId);
+        } catch (NotFoundException e) {
+            LOG.debug("Do not remove default keypair from workspace {} as it is not existing (workspace ID {})",
+                      workspaceName,
+                      workspaceId);
+        } catch (ServerException e) {
+            LOG.error("Error when trying to remove default ssh pair for the workspace {} (workspace ID {})",
+                      workspaceName,
+                      workspaceId);
+        }
+    }
 }
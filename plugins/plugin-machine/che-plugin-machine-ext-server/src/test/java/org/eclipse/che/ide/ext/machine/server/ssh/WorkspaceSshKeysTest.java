@@ -19,6 +19,8 @@ import org.eclipse.che.api.ssh.server.SshManager;
 import org.eclipse.che.api.user.server.UserManager;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
@@ -28,6 +30,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static java.util.Arrays.asList;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -120,6 +123,11 @@ public class WorkspaceSshKeysTest {
      */
     private EventSubscriber<WorkspaceRemovedEvent> workspaceRemovedEventEventSubscriber;
 
+    /**
+     * Subscriber for calls on eventService with {@link WorkspacesRemovedEvent} events.
+     */
+    private EventSubscriber<WorkspacesRemovedEvent> workspacesRemovedEventEventSubscriber;
+
     /**
      * The instance that is tested
      */
@@ -136,9 +144,10 @@ public class WorkspaceSshKeysTest {
     public void setUp() throws Exception {
 
         workspaceSshKeys.start();
-        verify(eventService, times(2)).subscribe(subscriberCaptor.capture());
+        verify(eventService, times(3)).subscribe(subscriberCaptor.capture());
         workspaceCreatedEventEventSubscriber = (EventSubscriber<WorkspaceCreatedEvent>)subscriberCaptor.getAllValues().get(0);
         workspaceRemovedEventEventSubscriber = (EventSubscriber<WorkspaceRemovedEvent>)subscriberCaptor.getAllValues().get(1);
+        workspacesRemovedEventEventSubscriber = (EventSubscriber<WorkspacesRemovedEvent>)subscriberCaptor.getAllValues().get(2);
 
         when(workspace.getId()).thenReturn(WORKSPACE_ID);
         when(workspace.getConfig()).thenReturn(workspaceConfig);
@@ -177,4 +186,21 @@ public class WorkspaceSshKeysTest {
         verify(sshManager).removePair(eq(USER_ID), eq("workspace"), eq(WORKSPACE_ID));
 
     }
+
+    /**
+     * Ensure that when workspaces are removed at once, ssh keypairs of all of them are removed on sshManager
+     */
+    @Test
+    public void shouldRemoveSshKeyPairsWhenWorkspacesAreRemoved() throws Exception {
+
+        // given
+        workspacesRemovedEventEventSubscriber.onEvent(new WorkspacesRemovedEvent(
+                asList(new WorkspaceSummaryImpl(WORKSPACE_ID, WORKSPACE_NAME, OWNER_NAME, true),
+                       new WorkspaceSummaryImpl("workspace456", "other", OWNER_NAME, true))));
+
+        // then
+        verify(sshManager).removePair(eq(USER_ID), eq("workspace"), eq(WORKSPACE_ID));
+        verify(sshManager).removePair(eq(USER_ID), eq("workspace"), eq("workspace456"));
+
+    }
 }
@@ -110,7 +110,7 @@ public abstract class BaseTest {
         indexDir.mkdir();
         Set<PathMatcher> filters = new HashSet<>();
         filters.add(path -> true);
-        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters);
+        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters, false, 1, false, 0, 0);
 
         vfsProvider = new LocalVirtualFileSystemProvider(root, sProvider);
 
@@ -48,6 +48,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Connection to Git repository.
@@ -253,6 +254,22 @@ public interface GitConnection extends Closeable {
      */
     LogPage log(LogParams params) throws GitException;
 
+    /**
+     * Walks commit logs and passes each commit to consumer as soon as it is read, so caller doesn't need to wait for the whole
+     * page. Default implementation reads the whole page with {@link #log(LogParams)}.
+     *
+     * @param params
+     *         log params
+     * @param consumer
+     *         consumer of commits
+     * @throws GitException
+     *         if any error occurs
+     * @see LogParams
+     */
+    default void log(LogParams params, Consumer<Revision> consumer) throws GitException {
+        log(params).getCommits().forEach(consumer);
+    }
+
     /**
      * List references in a remote repository.
      *
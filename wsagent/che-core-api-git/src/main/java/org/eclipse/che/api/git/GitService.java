@@ -62,6 +62,7 @@ import org.eclipse.che.api.git.shared.TagCreateRequest;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.ProjectRegistry;
 import org.eclipse.che.api.project.server.RegisteredProject;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,11 +79,19 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
@@ -279,17 +288,62 @@ public class GitService {
                        @QueryParam("since") String revisionRangeSince,
                        @QueryParam("until") String revisionRangeUntil,
                        @QueryParam("skip") @DefaultValue("0") int skip,
-                       @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount) throws ApiException {
+                       @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+                       @QueryParam("diffFiles") @DefaultValue("false") boolean diffFiles) throws ApiException {
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.log(LogParams.create()
                                               .withFileFilter(fileFilter)
                                               .withRevisionRangeSince(revisionRangeSince)
                                               .withRevisionRangeUntil(revisionRangeUntil)
                                               .withMaxCount(maxCount)
-                                              .withSkip(skip));
+                                              .withSkip(skip)
+                                              .withDiffFiles(diffFiles));
         }
     }
 
+    /** The same as {@link #log} but writes JSON array of revisions to response as soon as each revision is read. */
+    @GET
+    @Path("log/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamLog(@QueryParam("fileFilter") List<String> fileFilter,
+                                     @QueryParam("since") String revisionRangeSince,
+                                     @QueryParam("until") String revisionRangeUntil,
+                                     @QueryParam("skip") @DefaultValue("0") int skip,
+                                     @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+                                     @QueryParam("diffFiles") @DefaultValue("false") boolean diffFiles) throws ApiException {
+        final LogParams params = LogParams.create()
+                                          .withFileFilter(fileFilter)
+                                          .withRevisionRangeSince(revisionRangeSince)
+                                          .withRevisionRangeUntil(revisionRangeUntil)
+                                          .withMaxCount(maxCount)
+                                          .withSkip(skip)
+                                          .withDiffFiles(diffFiles);
+        final GitConnection gitConnection = getGitConnection();
+        return output -> {
+            try (GitConnection connection = gitConnection;
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                writer.write('[');
+                final AtomicBoolean first = new AtomicBoolean(true);
+                connection.log(params, revision -> {
+                    try {
+                        if (!first.compareAndSet(true, false)) {
+                            writer.write(',');
+                        }
+                        writer.write(DtoFactory.getInstance().toJson(revision));
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.write(']');
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (GitException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+    }
+
     @POST
     @Path("merge")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -19,10 +19,18 @@ import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
@@ -30,14 +38,38 @@ import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
 
 /**
+ * Provides git attributes of projects. Values are cached per project and cache of project is dropped when {@code HEAD} or
+ * {@code config} file of its {@code .git} directory is changed or {@code .git} directory is created or removed.
+ *
  * @author Roman Nikitenko
  */
 @Singleton
 public class GitValueProviderFactory implements ValueProviderFactory {
+    private static final String GIT_DIR     = ".git";
+    private static final String HEAD_FILE   = "HEAD";
+    private static final String CONFIG_FILE = "config";
 
     @Inject
     private GitConnectionFactory gitConnectionFactory;
 
+    @Inject
+    private FileWatcherManager fileWatcherManager;
+
+    private final Map<String, Map<String, List<String>>> cache = new ConcurrentHashMap<>();
+
+    private int watcherId;
+
+    @PostConstruct
+    public void startWatcher() {
+        final Consumer<String> invalidator = this::invalidate;
+        watcherId = fileWatcherManager.registerByMatcher(matcher(), invalidator, invalidator, invalidator);
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        fileWatcherManager.unRegisterByMatcher(watcherId);
+    }
+
     @Override
     public ValueProvider newInstance(final FolderEntry folder) {
         return new ReadonlyValueProvider() {
@@ -46,32 +78,71 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                 if (folder == null) {
                     return Collections.emptyList();
                 }
-                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
-                    //check whether the folder belongs to git repository
-                    if (!gitConnection.isInsideWorkTree()) {
-                        return Collections.emptyList();
-                    }
-
-                    switch (attributeName) {
-                        case VCS_PROVIDER_NAME:
-                            return Collections.singletonList("git");
-                        case GIT_CURRENT_BRANCH_NAME:
-                            return Collections.singletonList(gitConnection.getCurrentBranch());
-                        case GIT_REPOSITORY_REMOTES:
-                            return gitConnection.remoteList(null, false)
-                                                .stream()
-                                                .map(Remote::getUrl)
-                                                .collect(Collectors.toList());
-                        default:
-                            return Collections.emptyList();
-                    }
-                } catch (ApiException e) {
-                    throw new ValueStorageException(e.getMessage());
+                // values are put in the map which is dropped from cache if repository is changed while values are read
+                final Map<String, List<String>> values = cache.computeIfAbsent(folder.getPath().toString(),
+                                                                               path -> new ConcurrentHashMap<>());
+                List<String> cached = values.get(attributeName);
+                if (cached == null) {
+                    cached = readValues(folder, attributeName);
+                    values.put(attributeName, cached);
                 }
+                return cached;
+            }
+        };
+    }
+
+    private List<String> readValues(FolderEntry folder, String attributeName) throws ValueStorageException {
+        try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+            //check whether the folder belongs to git repository
+            if (!gitConnection.isInsideWorkTree()) {
+                return Collections.emptyList();
+            }
+
+            switch (attributeName) {
+                case VCS_PROVIDER_NAME:
+                    return Collections.singletonList("git");
+                case GIT_CURRENT_BRANCH_NAME:
+                    return Collections.singletonList(gitConnection.getCurrentBranch());
+                case GIT_REPOSITORY_REMOTES:
+                    return Collections.unmodifiableList(gitConnection.remoteList(null, false)
+                                                                     .stream()
+                                                                     .map(Remote::getUrl)
+                                                                     .collect(Collectors.toList()));
+                default:
+                    return Collections.emptyList();
             }
+        } catch (ApiException e) {
+            throw new ValueStorageException(e.getMessage());
+        }
+    }
+
+    private PathMatcher matcher() {
+        return it -> {
+            final Path name = it.getFileName();
+            if (name == null) {
+                return false;
+            }
+            if (GIT_DIR.equals(name.toString())) {
+                return true;
+            }
+            final Path parent = it.getParent();
+            return parent != null
+                   && parent.getFileName() != null
+                   && GIT_DIR.equals(parent.getFileName().toString())
+                   && (HEAD_FILE.equals(name.toString()) || CONFIG_FILE.equals(name.toString()));
         };
     }
 
+    /** Drops cached values of project which contains changed file of {@code .git} directory. */
+    private void invalidate(String path) {
+        final int gitDirIndex = path.lastIndexOf('/' + GIT_DIR);
+        if (gitDirIndex < 0) {
+            return;
+        }
+        final String projectPath = path.substring(0, gitDirIndex);
+        cache.keySet().removeIf(it -> it.equals(projectPath) || it.startsWith(projectPath + '/'));
+    }
+
     private String resolveLocalPath(FolderEntry folder) throws ApiException {
         return folder.getVirtualFile().toIoFile().getAbsolutePath();
     }
@@ -26,6 +26,7 @@ public class LogParams {
     private String       filePath;
     private int          skip;
     private int          maxCount;
+    private boolean      diffFiles;
 
     private LogParams() {
         skip = -1;
@@ -146,6 +147,30 @@ public class LogParams {
         return this;
     }
 
+    /**
+     * Returns {@code true} if lists of files changed by commits should be included in log. Changed files are computed for each
+     * commit of the page, so it is preferable to request them for a single revision when they are needed.
+     */
+    public boolean isDiffFiles() {
+        return diffFiles;
+    }
+
+    /** Set whether lists of files changed by commits should be included in log. */
+    public void setDiffFiles(boolean diffFiles) {
+        this.diffFiles = diffFiles;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag of inclusion of files changed by commits
+     *
+     * @param diffFiles
+     *         {@code true} if lists of files changed by commits should be included in log
+     */
+    public LogParams withDiffFiles(boolean diffFiles) {
+        this.diffFiles = diffFiles;
+        return this;
+    }
+
     /** Returns the Filter revisions list by range of files. */
     public List<String> getFileFilter() {
         return fileFilter == null ? new ArrayList<>() : fileFilter;
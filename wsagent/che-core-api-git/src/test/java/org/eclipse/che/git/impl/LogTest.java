@@ -17,6 +17,7 @@ import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
+import org.eclipse.che.api.git.params.CheckoutParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
 import org.eclipse.che.api.git.shared.Revision;
@@ -35,6 +36,7 @@ import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -139,9 +141,9 @@ public class LogTest {
         List<Revision> allCommits =
             connection.log(LogParams.create()).getCommits();
         List<Revision> firstBucketOfCommits =
-            connection.log(LogParams.create().withSkip(1)).getCommits();
+            connection.log(LogParams.create().withSkip(1).withDiffFiles(true)).getCommits();
         List<Revision> secondBucketOfCommits =
-            connection.log(LogParams.create().withSkip(3)).getCommits();
+            connection.log(LogParams.create().withSkip(3).withDiffFiles(true)).getCommits();
 
         //then
         assertEquals(4, allCommits.size());
@@ -240,9 +242,9 @@ public class LogTest {
         List<Revision> allCommits =
             connection.log(LogParams.create()).getCommits();
         List<Revision> firstBacketOfCommits =
-            connection.log(LogParams.create().withSkip(1).withMaxCount(2)).getCommits();
+            connection.log(LogParams.create().withSkip(1).withMaxCount(2).withDiffFiles(true)).getCommits();
         List<Revision> secondBacketOfCommits =
-            connection.log(LogParams.create().withSkip(2).withMaxCount(2)).getCommits();
+            connection.log(LogParams.create().withSkip(2).withMaxCount(2).withDiffFiles(true)).getCommits();
 
         //then
         assertEquals(4, allCommits.size());
@@ -316,4 +318,33 @@ public class LogTest {
         assertEquals(thirdAndFourthCommits.get(0).getMessage(), "add 4.txt file");
         assertEquals(thirdAndFourthCommits.get(1).getMessage(), "add 3.txt file");
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogReturnsBranchesContainingCommit(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create(ImmutableList.of("1.txt")));
+        connection.commit(CommitParams.create("add 1.txt file"));
+        connection.checkout(CheckoutParams.create("feature").withCreateNew(true));
+        addFile(connection, "2.txt", "someChanges");
+        connection.add(AddParams.create(ImmutableList.of("2.txt")));
+        connection.commit(CommitParams.create("add 2.txt file"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()).getCommits();
+
+        //then
+        assertEquals(commits.size(), 2);
+        assertEquals(branchNames(commits.get(0)), ImmutableList.of("refs/heads/feature"));
+        assertEquals(branchNames(commits.get(1)), ImmutableList.of("refs/heads/feature", "refs/heads/master"));
+        assertTrue(commits.get(0).getDiffCommitFile().isEmpty());
+    }
+
+    private static List<String> branchNames(Revision revision) {
+        List<String> names = new ArrayList<>();
+        revision.getBranches().forEach(branch -> names.add(branch.getName()));
+        Collections.sort(names);
+        return names;
+    }
 }
@@ -33,4 +33,13 @@ public interface ProjectSearchRequestDto {
     int getSkipCount();
 
     ProjectSearchRequestDto withSkipCount(int skipCount);
+
+    boolean isIncludePositions();
+
+    ProjectSearchRequestDto withIncludePositions(boolean includePositions);
+
+    /** One of WORDS, CODE, SUBSTRING or REGEXP, WORDS is used if not set. */
+    String getTextSearchMode();
+
+    ProjectSearchRequestDto withTextSearchMode(String textSearchMode);
 }
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Occurrence of searched text in file.
+ *
+ * @see ItemReference#getSearchOccurrences()
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Matched text. */
+    String getPhrase();
+
+    void setPhrase(String phrase);
+
+    SearchOccurrenceDto withPhrase(String phrase);
+
+    /** Offset of matched text from the beginning of the file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    /** Offset of the end of matched text from the beginning of the file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    /** Number of line (starting from 1) which contains matched text. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Offset of matched text from the beginning of the line. */
+    int getStartColumn();
+
+    void setStartColumn(int startColumn);
+
+    SearchOccurrenceDto withStartColumn(int startColumn);
+
+    /** Offset of the end of matched text from the beginning of the line. */
+    int getEndColumn();
+
+    void setEndColumn(int endColumn);
+
+    SearchOccurrenceDto withEndColumn(int endColumn);
+
+    /** Fragment of the line which contains matched text. */
+    String getPreview();
+
+    void setPreview(String preview);
+
+    SearchOccurrenceDto withPreview(String preview);
+
+    /** Offset of matched text in preview. */
+    int getPreviewMatchStart();
+
+    void setPreviewMatchStart(int previewMatchStart);
+
+    SearchOccurrenceDto withPreviewMatchStart(int previewMatchStart);
+
+    /** Offset of the end of matched text in preview. */
+    int getPreviewMatchEnd();
+
+    void setPreviewMatchEnd(int previewMatchEnd);
+
+    SearchOccurrenceDto withPreviewMatchEnd(int previewMatchEnd);
+}
@@ -303,6 +303,8 @@ public class ProjectManager {
             throws BadRequestException, ConflictException, ForbiddenException, NotFoundException, ServerException, UnauthorizedException,
                    IOException {
         fileWatcherManager.suspend();
+        // each created, imported or updated project requests synchronization, all of them are sent at once
+        workspaceProjectsHolder.suspend();
         try {
             final List<RegisteredProject> projects = new ArrayList<>(projectConfigList.size());
             validateProjectConfigurations(projectConfigList, rewrite);
@@ -354,6 +356,7 @@ public class ProjectManager {
 
         } finally {
             fileWatcherManager.resume();
+            workspaceProjectsHolder.resume(projectRegistry);
         }
     }
 
@@ -48,6 +48,7 @@ import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.QueryExpression.TextSearchMode;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -78,9 +79,12 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -91,6 +95,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
@@ -514,7 +519,7 @@ public class ProjectService extends Service {
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        return Response.ok().entity(contentOf(file.getVirtualFile())).type(TIKA.detect(file.getName())).build();
     }
 
     @PUT
@@ -744,8 +749,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -753,7 +758,33 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        final StreamingOutput archive = output -> {
+            final ExportOutputStream exportOutput = new ExportOutputStream(output);
+            try {
+                virtualFile.zip(exportOutput);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getLocalizedMessage(), e);
+            }
+            exportOutput.flush();
+            LOG.debug("Exported '{}': {} bytes, first byte in {} ms, {} KB/s",
+                      path, exportOutput.getCount(), exportOutput.getTimeToFirstByte(), exportOutput.getThroughput());
+        };
+
+        return Response.ok(archive, ExtMediaType.APPLICATION_ZIP)
+                       .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + ".zip\"")
+                       .build();
+    }
+
+    /** Streams content of the file straight to the response without buffering it in between. */
+    private static StreamingOutput contentOf(VirtualFile virtualFile) {
+        return output -> {
+            try {
+                virtualFile.copyContent(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getLocalizedMessage(), e);
+            }
+        };
     }
 
     @GET
@@ -770,7 +801,7 @@ public class ProjectService extends Service {
 
         final VirtualFile virtualFile = file.getVirtualFile();
 
-        return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
+        return Response.ok(contentOf(virtualFile), TIKA.detect(virtualFile.getName()))
                        .lastModified(new Date(virtualFile.getLastModificationDate()))
                        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + '"')
@@ -887,10 +918,15 @@ public class ProjectService extends Service {
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+                                      @QueryParam("skipCount") int skipCount,
+                                      @ApiParam(value = "Include line numbers and previews of matched text in result")
+                                      @QueryParam("includePositions") boolean includePositions,
+                                      @ApiParam(value = "Mode of matching of search keywords with content of files",
+                                                allowableValues = "WORDS,CODE,SUBSTRING,REGEXP")
+                                      @QueryParam("textSearchMode") TextSearchMode textSearchMode) throws NotFoundException,
+                                                                                                          ForbiddenException,
+                                                                                                          ConflictException,
+                                                                                                          ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
@@ -908,7 +944,9 @@ public class ProjectService extends Service {
                 .setName(name)
                 .setText(text)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setIncludePositions(includePositions)
+                .setTextSearchMode(textSearchMode);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
@@ -919,7 +957,14 @@ public class ProjectService extends Service {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                final ItemReference item = injectFileLinks(asDto((FileEntry)child));
+                if (includePositions) {
+                    item.setSearchOccurrences(searchResultEntry.getOccurrences()
+                                                               .stream()
+                                                               .map(DtoConverter::asDto)
+                                                               .collect(Collectors.toList()));
+                }
+                items.add(item);
             }
         }
 
@@ -941,10 +986,14 @@ public class ProjectService extends Service {
         String text = request.getText();
         int maxItems = request.getMaxItems();
         int skipCount = request.getSkipCount();
+        boolean includePositions = request.isIncludePositions();
 
         try {
-            return newDto(ProjectSearchResponseDto.class).withItemReferences(search(path, name, text, maxItems, skipCount));
-        } catch (ServerException | ConflictException | NotFoundException | ForbiddenException e) {
+            TextSearchMode textSearchMode = request.getTextSearchMode() == null ? null
+                                                                                : TextSearchMode.valueOf(request.getTextSearchMode());
+            return newDto(ProjectSearchResponseDto.class).withItemReferences(search(path, name, text, maxItems, skipCount,
+                                                                                    includePositions, textSearchMode));
+        } catch (ServerException | ConflictException | NotFoundException | ForbiddenException | IllegalArgumentException e) {
             throw new JsonRpcException(-27000, e.getMessage());
         }
     }
@@ -1116,4 +1165,48 @@ public class ProjectService extends Service {
     private ProjectConfigDto injectProjectLinks(ProjectConfigDto projectConfig) {
         return projectServiceLinksInjector.injectProjectLinks(projectConfig, getServiceContext());
     }
+
+    /** Counts bytes written to export output and remembers time of the first byte to report export performance. */
+    private static class ExportOutputStream extends FilterOutputStream {
+        private final long started = System.nanoTime();
+
+        private long firstByte;
+        private long count;
+
+        ExportOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            onWrite(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            onWrite(len);
+            out.write(b, off, len);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getTimeToFirstByte() {
+            return firstByte == 0 ? 0 : NANOSECONDS.toMillis(firstByte - started);
+        }
+
+        long getThroughput() {
+            final long elapsed = NANOSECONDS.toMillis(System.nanoTime() - started);
+            return elapsed == 0 ? count / 1024 : count * 1000 / 1024 / elapsed;
+        }
+
+        private void onWrite(int len) {
+            if (count == 0 && len > 0) {
+                firstByte = System.nanoTime();
+            }
+            count += len;
+        }
+    }
 }
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +27,9 @@ import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * For caching and proxy-ing Workspace Configuration.
@@ -48,7 +51,9 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
 
     @Inject
     public WorkspaceHolder(@Named("che.api") String apiEndpoint,
-                           HttpJsonRequestFactory httpJsonRequestFactory) throws ServerException {
+                           HttpJsonRequestFactory httpJsonRequestFactory,
+                           @Named("che.workspace.projects.sync_window_ms") long syncWindowMs) throws ServerException {
+        super(syncWindowMs);
 
         this.apiEndpoint = apiEndpoint;
         this.httpJsonRequestFactory = httpJsonRequestFactory;
@@ -82,6 +87,38 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
     }
 
 
+    /**
+     * Adds, updates and removes projects on WS-master side with a single request.
+     *
+     * @param added
+     *         projects to add
+     * @param updated
+     *         projects to update
+     * @param removed
+     *         projects to remove
+     * @throws ServerException
+     */
+    @Override
+    protected void updateProjects(List<ProjectConfig> added,
+                                  List<ProjectConfig> updated,
+                                  List<ProjectConfig> removed) throws ServerException {
+
+        final UriBuilder builder = UriBuilder.fromUri(apiEndpoint).path(WorkspaceService.class)
+                                             .path(WorkspaceService.class, "updateProjects");
+        if(userToken != null)
+            builder.queryParam("token", userToken);
+        final String href = builder.build(workspaceId).toString();
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class)
+                .withAdded(added.stream().map(DtoConverter::asDto).collect(toList()))
+                .withUpdated(updated.stream().map(DtoConverter::asDto).collect(toList()))
+                .withRemoved(removed.stream().map(ProjectConfig::getPath).collect(toList()));
+        try {
+            httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(update).request();
+        } catch (IOException | ApiException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
     /**
      * Add project on WS-master side.
      *
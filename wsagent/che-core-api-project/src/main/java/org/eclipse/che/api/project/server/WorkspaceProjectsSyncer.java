@@ -12,23 +12,166 @@ package org.eclipse.che.api.project.server;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Synchronizer for Project Configurations stored in Workspace Configuration with Agent's state
  *
+ * <p>All the changes found by a single synchronization are sent with one {@link #updateProjects} call.
+ * When synchronization window is set, synchronizations requested within the window
+ * are coalesced into a single one, each of the callers waits until it is finished.
+ * A thread which changes many projects at once may {@link #suspend()} synchronization,
+ * its synchronizations are then performed once by {@link #resume(ProjectRegistry)}.
+ *
  * @author gazarenkov
  */
 public abstract class WorkspaceProjectsSyncer {
 
+    private static final Logger LOG = getLogger(WorkspaceProjectsSyncer.class);
+
+    private final long       syncWindowMs;
+    private final Object     syncLock     = new Object();
+    private final AtomicLong syncCount    = new AtomicLong();
+    private final AtomicLong updateCount  = new AtomicLong();
+    private final AtomicLong updateTimeMs = new AtomicLong();
+
+    private final ThreadLocal<Suspension> suspension = new ThreadLocal<>();
+
+    private CompletableFuture<Void> pendingSync;
+    private ProjectRegistry         pendingRegistry;
+
+    protected WorkspaceProjectsSyncer() {
+        this(0);
+    }
+
+    /**
+     * @param syncWindowMs
+     *         time in milliseconds during which synchronizations are coalesced, 0 to synchronize immediately
+     */
+    protected WorkspaceProjectsSyncer(long syncWindowMs) {
+        this.syncWindowMs = syncWindowMs;
+    }
+
     /**
      * Synchronizes Project Config state on Agent and Master
      * @param projectRegistry project registry
      * @throws ServerException
      */
     public final void sync(ProjectRegistry projectRegistry) throws ServerException {
+        final Suspension suspended = suspension.get();
+        if (suspended != null) {
+            suspended.requested = true;
+            return;
+        }
+
+        final CompletableFuture<Void> joined;
+        final CompletableFuture<Void> leading;
+        synchronized (this) {
+            if (pendingSync != null && pendingRegistry == projectRegistry) {
+                joined = pendingSync;
+                leading = null;
+            } else if (pendingSync == null && syncWindowMs > 0) {
+                joined = null;
+                leading = pendingSync = new CompletableFuture<>();
+                pendingRegistry = projectRegistry;
+            } else {
+                joined = null;
+                leading = null;
+            }
+        }
+        if (joined != null) {
+            // changes are made before joining, so the pending synchronization covers them
+            awaitSync(joined);
+            return;
+        }
+
+        if (leading != null) {
+            try {
+                Thread.sleep(syncWindowMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                pendingSync = null;
+                pendingRegistry = null;
+            }
+        }
+        try {
+            synchronized (syncLock) {
+                doSync(projectRegistry);
+            }
+        } catch (Throwable x) {
+            if (leading != null) {
+                leading.completeExceptionally(x);
+            }
+            throw x;
+        }
+        if (leading != null) {
+            leading.complete(null);
+        }
+    }
+
+    /**
+     * Suspends synchronization for the current thread, the synchronizations it requests
+     * are deferred until the matching {@link #resume(ProjectRegistry)} call.
+     * Suspensions may be nested, synchronization is performed by the outermost resume.
+     */
+    public void suspend() {
+        Suspension suspended = suspension.get();
+        if (suspended == null) {
+            suspension.set(suspended = new Suspension());
+        }
+        suspended.depth++;
+    }
+
+    /**
+     * Resumes synchronization suspended by {@link #suspend()} for the current thread
+     * and synchronizes projects once if any synchronization was requested while suspended.
+     *
+     * @param projectRegistry project registry
+     * @throws IllegalStateException
+     *         if synchronization is not suspended by the current thread
+     * @throws ServerException
+     */
+    public void resume(ProjectRegistry projectRegistry) throws ServerException {
+        final Suspension suspended = suspension.get();
+        if (suspended == null) {
+            throw new IllegalStateException("Projects synchronization is not suspended");
+        }
+        if (--suspended.depth == 0) {
+            suspension.remove();
+            if (suspended.requested) {
+                sync(projectRegistry);
+            }
+        }
+    }
+
+    /** Returns the number of performed synchronizations. */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    /** Returns the number of {@link #updateProjects} calls, each of them is a round trip to the Workspace Config storage. */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    /** Returns the total time in milliseconds spent in {@link #updateProjects} calls. */
+    public long getUpdateTimeMs() {
+        return updateTimeMs.get();
+    }
+
+    private void doSync(ProjectRegistry projectRegistry) throws ServerException {
+        final long start = System.nanoTime();
 
         List<? extends ProjectConfig> remote = getProjects();
 
@@ -39,11 +182,10 @@ public abstract class WorkspaceProjectsSyncer {
                 removed.add(r);
         }
 
-        for(ProjectConfig r : removed)
-            removeProject(r);
-
-
         // update or add
+        List<ProjectConfig> added = new ArrayList<>();
+        List<ProjectConfig> updated = new ArrayList<>();
+        List<RegisteredProject> synced = new ArrayList<>();
         for(RegisteredProject project : projectRegistry.getProjects()) {
 
             if(!project.isSynced() && !project.isDetected()) {
@@ -60,21 +202,59 @@ public abstract class WorkspaceProjectsSyncer {
                 boolean found = false;
                 for(ProjectConfig r  : remote) {
                     if(r.getPath().equals(project.getPath())) {
-                        updateProject(config);
                         found = true;
                     }
                 }
 
-                if(!found)
-                    addProject(config);
-
-                project.setSync();
+                if(found)
+                    updated.add(config);
+                else
+                    added.add(config);
 
+                synced.add(project);
             }
+        }
+
+        if (!added.isEmpty() || !updated.isEmpty() || !removed.isEmpty()) {
+            final long updateStart = System.nanoTime();
+            updateProjects(added, updated, removed);
+            updateCount.incrementAndGet();
+            updateTimeMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - updateStart));
+        }
+
+        for(RegisteredProject project : synced)
+            project.setSync();
 
+        syncCount.incrementAndGet();
+        LOG.debug("Synchronized projects of workspace '{}' in {}ms, added: {}, updated: {}, removed: {}",
+                  getWorkspaceId(),
+                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                  added.size(),
+                  updated.size(),
+                  removed.size());
+    }
 
+    private static void awaitSync(CompletableFuture<Void> sync) throws ServerException {
+        try {
+            sync.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for projects synchronization");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw new ServerException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
         }
+    }
 
+    private static class Suspension {
+        int     depth;
+        boolean requested;
     }
 
     /**
@@ -88,6 +268,27 @@ public abstract class WorkspaceProjectsSyncer {
      */
     public abstract String getWorkspaceId();
 
+    /**
+     * Applies all the changes found by synchronization to Workspace Config,
+     * by default projects are removed, updated and added one by one.
+     * Implementations should override it to apply the changes at once.
+     *
+     * @param added the projects to add
+     * @param updated the projects to update
+     * @param removed the projects to remove
+     * @throws ServerException
+     */
+    protected void updateProjects(List<ProjectConfig> added,
+                                  List<ProjectConfig> updated,
+                                  List<ProjectConfig> removed) throws ServerException {
+        for(ProjectConfig project : removed)
+            removeProject(project);
+        for(ProjectConfig project : updated)
+            updateProject(project);
+        for(ProjectConfig project : added)
+            addProject(project);
+    }
+
     /**
      * Adds project to Workspace Config
      * @param project the project config
@@ -10,13 +10,34 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.Set;
+import java.util.zip.Deflater;
+
 public class ArchiverFactory {
+    private final int         compressionLevel;
+    private final Set<String> storedExtensions;
+
+    public ArchiverFactory() {
+        this(Deflater.DEFAULT_COMPRESSION, ZipArchiver.DEFAULT_STORED_EXTENSIONS);
+    }
+
+    /**
+     * @param compressionLevel
+     *         compression level of zip archives from 0 to 9 or -1 for default level
+     * @param storedExtensions
+     *         extensions of files that are already compressed and are stored in zip archives without compression
+     */
+    public ArchiverFactory(int compressionLevel, Set<String> storedExtensions) {
+        this.compressionLevel = compressionLevel;
+        this.storedExtensions = storedExtensions;
+    }
+
     public Archiver createArchiver(VirtualFile folder, String archiveType) {
         if (archiveType == null) {
             throw new IllegalArgumentException("Archive type might not be null");
         }
         if ("zip".equals(archiveType.toLowerCase())) {
-            return new ZipArchiver(folder);
+            return new ZipArchiver(folder, compressionLevel, storedExtensions);
         } else if ("tar".equals(archiveType.toLowerCase())) {
             return new TarArchiver(folder);
         }
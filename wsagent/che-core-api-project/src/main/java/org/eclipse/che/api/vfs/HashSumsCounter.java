@@ -12,24 +12,25 @@ package org.eclipse.che.api.vfs;
 
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
-import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.hash.Funnels.asOutputStream;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
+    private static final int CHUNK_SIZE = 8192;
+
     private final VirtualFile                folder;
     private final HashFunction               hashFunction;
     private final List<Pair<String, String>> hashSums;
@@ -57,9 +58,14 @@ public class HashSumsCounter implements VirtualFileVisitor {
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
+            try (ReadableByteChannel content = virtualFile.getContentChannel()) {
                 final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
+                final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                int length;
+                while ((length = content.read(chunk)) != -1) {
+                    hasher.putBytes(chunk.array(), 0, length);
+                    chunk.clear();
+                }
                 final String hexHash = hasher.hash().toString();
                 hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
             } catch (IOException e) {
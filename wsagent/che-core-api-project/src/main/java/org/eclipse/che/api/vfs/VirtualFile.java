@@ -11,13 +11,18 @@
 package org.eclipse.che.api.vfs;
 
 import com.google.common.annotations.Beta;
+import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 import java.util.Map;
 
@@ -540,6 +545,65 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream tar() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as zip archive to the specified output. Unlike {@link #zip()}
+     * archive is not buffered, each entry is written to the output as soon as it is compressed.
+     *
+     * @param output
+     *         output for zip archive, it is not closed by this method
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void zip(OutputStream output) throws ForbiddenException, ServerException;
+
+    /**
+     * Writes content of folder denoted by this VirtualFile as TAR archive to the specified output. Unlike {@link #tar()}
+     * archive is not buffered, each entry is written to the output as soon as it is read.
+     *
+     * @param output
+     *         output for TAR archive, it is not closed by this method
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void tar(OutputStream output) throws ForbiddenException, ServerException;
+
+    /**
+     * Opens channel for reading content of the file denoted by this VirtualFile. Caller is responsible for closing
+     * the channel. Implementation may fail reading with {@link java.io.IOException} if the file is modified while
+     * its content is read.
+     *
+     * @return channel to content of the file
+     * @throws ForbiddenException
+     *         if this item does not denote a file
+     * @throws ServerException
+     *         if other error occurs
+     */
+    default ReadableByteChannel getContentChannel() throws ForbiddenException, ServerException {
+        return Channels.newChannel(getContent());
+    }
+
+    /**
+     * Copies content of the file denoted by this VirtualFile to the specified output.
+     *
+     * @param output
+     *         output for content of the file, it is not closed by this method
+     * @throws ForbiddenException
+     *         if this item does not denote a file
+     * @throws ServerException
+     *         if other error occurs
+     */
+    default void copyContent(OutputStream output) throws ForbiddenException, ServerException {
+        try (InputStream content = getContent()) {
+            ByteStreams.copy(content, output);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Extracts tar archive to the folder denoted by this VirtualFile.
      *
@@ -10,7 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
-import com.google.common.io.ByteStreams;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -21,13 +22,34 @@ import org.eclipse.che.api.vfs.util.ZipContent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 public class ZipArchiver extends Archiver {
+    /** Extensions of commonly used formats that are compressed already and are not worth compressing again. */
+    public static final Set<String> DEFAULT_STORED_EXTENSIONS = ImmutableSet.of("zip", "jar", "war", "ear", "gz", "tgz", "bz2", "xz",
+                                                                                "7z", "png", "jpg", "jpeg", "gif", "mp3", "mp4");
+
+    private final int         compressionLevel;
+    private final Set<String> storedExtensions;
+
     public ZipArchiver(VirtualFile folder) {
+        this(folder, Deflater.DEFAULT_COMPRESSION, DEFAULT_STORED_EXTENSIONS);
+    }
+
+    /**
+     * @param compressionLevel
+     *         compression level from 0 to 9 or -1 for default level
+     * @param storedExtensions
+     *         extensions of files that are written to archive without compression
+     */
+    public ZipArchiver(VirtualFile folder, int compressionLevel, Set<String> storedExtensions) {
         super(folder);
+        this.compressionLevel = compressionLevel;
+        this.storedExtensions = storedExtensions;
     }
 
     @Override
@@ -67,13 +89,12 @@ public class ZipArchiver extends Archiver {
     private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream) throws ServerException {
         try {
             ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
+            zipOutputStream.setLevel(isStored(virtualFile) ? Deflater.NO_COMPRESSION : compressionLevel);
             zipOutputStream.putNextEntry(zipEntry);
             if (virtualFile.isFolder()) {
                 zipEntry.setTime(0);
             } else {
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, zipOutputStream);
-                }
+                virtualFile.copyContent(zipOutputStream);
                 zipEntry.setTime(virtualFile.getLastModificationDate());
             }
             zipOutputStream.closeEntry();
@@ -84,6 +105,10 @@ public class ZipArchiver extends Archiver {
         }
     }
 
+    private boolean isStored(VirtualFile virtualFile) {
+        return virtualFile.isFile() && storedExtensions.contains(Files.getFileExtension(virtualFile.getName()).toLowerCase());
+    }
+
     @Override
     public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
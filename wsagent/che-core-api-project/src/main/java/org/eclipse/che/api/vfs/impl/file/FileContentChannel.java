@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read only channel to content of a local file. Size, modification time and key of the file are captured when the
+ * channel is opened and are checked again after the whole content is consumed, so a reader gets an error instead of
+ * a mix of old and new content if the file is modified while it is being read. That lets streaming readers release
+ * path lock right after the channel is opened instead of copying content of the file to a temporary file.
+ * <p>
+ * Modification time is compared with the full precision provided by the file system, still a rewrite that keeps
+ * size of the file and happens within granularity of file system timestamps is not detected. Readers that need
+ * content which is guaranteed to be consistent must read it under path lock.
+ */
+class FileContentChannel implements ReadableByteChannel {
+    private final Path        ioPath;
+    private final FileChannel channel;
+    private final long        size;
+    private final FileTime    lastModified;
+    private final Object      fileKey;
+
+    private long position;
+
+    static FileContentChannel open(Path ioPath) throws IOException {
+        final FileChannel channel = FileChannel.open(ioPath, READ);
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(ioPath, BasicFileAttributes.class);
+            return new FileContentChannel(ioPath, channel, attributes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private FileContentChannel(Path ioPath, FileChannel channel, BasicFileAttributes attributes) {
+        this.ioPath = ioPath;
+        this.channel = channel;
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime();
+        this.fileKey = attributes.fileKey();
+    }
+
+    /** Returns size of the file at the moment the channel was opened. */
+    long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        final int read = channel.read(dst);
+        if (read < 0) {
+            checkNotModified();
+        } else {
+            position += read;
+        }
+        return read;
+    }
+
+    /**
+     * Transfers the rest of content to the target channel. Uses {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * so content is not copied through java heap when target allows that.
+     *
+     * @return number of transferred bytes
+     */
+    long transferTo(WritableByteChannel target) throws IOException {
+        final long start = position;
+        while (position < size) {
+            final long transferred = channel.transferTo(position, size - position, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        checkNotModified();
+        return position - start;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkNotModified() throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(ioPath, BasicFileAttributes.class);
+        if (attributes.size() != size
+            || !attributes.lastModifiedTime().equals(lastModified)
+            || !Objects.equals(attributes.fileKey(), fileKey)
+            || position > size) {
+            throw new IOException(String.format("File '%s' was modified while its content was read", ioPath));
+        }
+    }
+}
@@ -25,9 +25,13 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem.MAX_BUFFER_SIZE;
 
@@ -37,13 +41,35 @@ import static org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem.MAX_BUFFE
  * @author andrew00x
  */
 public class LocalVirtualFile implements VirtualFile {
+    /**
+     * Time during which attributes read with directory listing are trusted. It is long enough to inspect
+     * files of one listing or tree walk and short enough to see changes made bypassing this instance, e.g.
+     * by other clients, git or terminal.
+     */
+    static final long ATTRIBUTES_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final java.io.File           ioFile;
     private final Path                   path;
     private final LocalVirtualFileSystem fileSystem;
 
+    /**
+     * Attributes read together with the directory listing this file is obtained from, they save
+     * stat calls when the file is inspected right after listing. Reset on any modification made
+     * through this instance and ignored after {@link #ATTRIBUTES_TTL_NANOS}, {@code null} means
+     * that attributes are read from file system.
+     */
+    private volatile BasicFileAttributes attributes;
+    private final    long                attributesReadNanos;
+
     LocalVirtualFile(java.io.File ioFile, Path path, LocalVirtualFileSystem fileSystem) {
+        this(ioFile, path, null, fileSystem);
+    }
+
+    LocalVirtualFile(java.io.File ioFile, Path path, BasicFileAttributes attributes, LocalVirtualFileSystem fileSystem) {
         this.ioFile = ioFile;
         this.path = path;
+        this.attributes = attributes;
+        this.attributesReadNanos = System.nanoTime();
         this.fileSystem = fileSystem;
     }
 
@@ -59,7 +85,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public boolean exists() {
-        return toIoFile().exists();
+        return cachedAttributes() != null || toIoFile().exists();
     }
 
     @Override
@@ -69,12 +95,14 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public boolean isFile() {
-        return toIoFile().isFile();
+        final BasicFileAttributes attributes = cachedAttributes();
+        return attributes == null ? toIoFile().isFile() : attributes.isRegularFile();
     }
 
     @Override
     public boolean isFolder() {
-        return toIoFile().isDirectory();
+        final BasicFileAttributes attributes = cachedAttributes();
+        return attributes == null ? toIoFile().isDirectory() : attributes.isDirectory();
     }
 
     @Override
@@ -107,6 +135,16 @@ public class LocalVirtualFile implements VirtualFile {
         return fileSystem.getContent(this);
     }
 
+    @Override
+    public ReadableByteChannel getContentChannel() throws ForbiddenException, ServerException {
+        return fileSystem.getContentChannel(this);
+    }
+
+    @Override
+    public void copyContent(OutputStream output) throws ForbiddenException, ServerException {
+        fileSystem.copyContent(this, output);
+    }
+
     @Override
     public byte[] getContentAsBytes() throws ForbiddenException, ServerException {
         if (getLength() > MAX_BUFFER_SIZE) {
@@ -126,6 +164,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public VirtualFile updateContent(InputStream content, String lockToken) throws ForbiddenException, ServerException {
+        attributes = null;
         fileSystem.updateContent(this, content, lockToken);
         return this;
     }
@@ -157,11 +196,16 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public long getLastModificationDate() {
-        return toIoFile().lastModified();
+        final BasicFileAttributes attributes = cachedAttributes();
+        return attributes == null ? toIoFile().lastModified() : attributes.lastModifiedTime().toMillis();
     }
 
     @Override
     public long getLength() throws ServerException {
+        final BasicFileAttributes attributes = cachedAttributes();
+        if (attributes != null) {
+            return attributes.isDirectory() ? 0 : attributes.size();
+        }
         if (isFolder()) {
             return 0;
         }
@@ -180,6 +224,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public VirtualFile updateProperties(Map<String, String> properties, String lockToken) throws ForbiddenException, ServerException {
+        attributes = null;
         fileSystem.updateProperties(this, properties, lockToken);
         return this;
     }
@@ -191,6 +236,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public VirtualFile setProperty(String name, String value, String lockToken) throws ForbiddenException, ServerException {
+        attributes = null;
         fileSystem.setProperty(this, name, value, lockToken);
         return this;
     }
@@ -217,12 +263,14 @@ public class LocalVirtualFile implements VirtualFile {
 
     public LocalVirtualFile moveTo(VirtualFile parent, String name, boolean overwrite, String lockToken)
             throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         return fileSystem.move(this, (LocalVirtualFile)parent, name, overwrite, lockToken);
     }
 
     @Override
     public VirtualFile rename(String newName, String lockToken)
             throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         return fileSystem.rename(this, newName, lockToken);
     }
 
@@ -233,6 +281,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public void delete(String lockToken) throws ForbiddenException, ServerException {
+        attributes = null;
         fileSystem.delete(this, lockToken);
     }
 
@@ -246,9 +295,15 @@ public class LocalVirtualFile implements VirtualFile {
         return fileSystem.zip(this);
     }
 
+    @Override
+    public void zip(OutputStream output) throws ForbiddenException, ServerException {
+        fileSystem.zip(this, output);
+    }
+
     @Override
     public void unzip(InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         fileSystem.unzip(this, zipped, overwrite, stripNumber);
     }
 
@@ -257,9 +312,15 @@ public class LocalVirtualFile implements VirtualFile {
         return fileSystem.tar(this);
     }
 
+    @Override
+    public void tar(OutputStream output) throws ForbiddenException, ServerException {
+        fileSystem.tar(this, output);
+    }
+
     @Override
     public void untar(InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         fileSystem.untar(this, tarArchive, overwrite, stripNumber);
     }
 
@@ -281,6 +342,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public VirtualFile createFile(String name, InputStream content) throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         return fileSystem.createFile(this, name, content);
     }
 
@@ -296,6 +358,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public VirtualFile createFolder(String name) throws ForbiddenException, ConflictException, ServerException {
+        attributes = null;
         return fileSystem.createFolder(this, name);
     }
 
@@ -319,6 +382,15 @@ public class LocalVirtualFile implements VirtualFile {
         return ioFile;
     }
 
+    private BasicFileAttributes cachedAttributes() {
+        final BasicFileAttributes attributes = this.attributes;
+        if (attributes != null && System.nanoTime() - attributesReadNanos > ATTRIBUTES_TTL_NANOS) {
+            this.attributes = null;
+            return null;
+        }
+        return attributes;
+    }
+
     @Override
     public int compareTo(VirtualFile other) {
         // To get nice order of items:
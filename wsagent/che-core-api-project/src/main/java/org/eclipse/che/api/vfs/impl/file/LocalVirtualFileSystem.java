@@ -35,6 +35,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.util.DeleteOnCloseFileInputStream;
+import org.eclipse.che.api.vfs.util.NotClosableOutputStream;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Pair;
@@ -52,6 +53,12 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -60,7 +67,6 @@ import java.util.concurrent.ExecutionException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -243,9 +249,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+            final PathLockFactory.PathLock lock = pathLockFactory.getLock(parent.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+            final List<VirtualFile> children;
+            try {
+                children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+            } finally {
+                lock.release();
+            }
             Collections.sort(children);
             return children;
         }
@@ -253,34 +265,53 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /**
+     * Lists children of a folder in a single pass over directory stream, basic attributes of each child are read
+     * during the listing and are kept in created virtual file to avoid further stat calls.
+     */
     private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
             throws ServerException {
         if (ioFileFilter == null) {
             ioFileFilter = IoUtil.ANY_FILTER;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
-        }
-
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-            if (vfsFilter.accept(child)) {
-                children.add(child);
+        final File parentIoFile = parent.toIoFile();
+        final List<VirtualFile> children = newArrayList();
+        try (DirectoryStream<java.nio.file.Path> entries = java.nio.file.Files.newDirectoryStream(parentIoFile.toPath())) {
+            for (java.nio.file.Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                if (!ioFileFilter.accept(parentIoFile, name)) {
+                    continue;
+                }
+
+                final Path childPath = parent.getPath().newPath(name);
+                final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, readAttributes(entry), this);
+                if (vfsFilter.accept(child)) {
+                    children.add(child);
+                }
             }
+        } catch (IOException | DirectoryIteratorException e) {
+            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
         }
 
         return children;
     }
 
 
+    private static BasicFileAttributes readAttributes(java.nio.file.Path ioPath) {
+        try {
+            return java.nio.file.Files.readAttributes(ioPath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // removed concurrently or broken link, let virtual file check state itself
+            return null;
+        }
+    }
+
+
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
         checkName(name);
@@ -490,27 +521,42 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     InputStream getContent(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
-            final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
-            File spoolFile = null;
+            if (isSmall(virtualFile)) {
+                return new ByteArrayInputStream(readContent(virtualFile));
+            }
+            return Channels.newInputStream(openContentChannel(virtualFile));
+        } else {
+            throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+        }
+    }
+
+
+    /** Small files are read at once under shared lock, content of bigger files is read in chunks from file channel. */
+    ReadableByteChannel getContentChannel(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
+        if (virtualFile.isFile()) {
+            if (isSmall(virtualFile)) {
+                return Channels.newChannel(new ByteArrayInputStream(readContent(virtualFile)));
+            }
+            return openContentChannel(virtualFile);
+        } else {
+            throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+        }
+    }
+
+
+    /** Small files are read under shared lock, content of bigger files is transferred with file channel. */
+    void copyContent(LocalVirtualFile virtualFile, OutputStream output) throws ForbiddenException, ServerException {
+        if (virtualFile.isFile()) {
             try {
-                final File ioFile = virtualFile.toIoFile();
-                final long fileLength = ioFile.length();
-                if (fileLength <= MAX_BUFFER_SIZE) {
-                    return new ByteArrayInputStream(Files.toByteArray(ioFile));
+                if (isSmall(virtualFile)) {
+                    output.write(readContent(virtualFile));
+                } else {
+                    try (FileContentChannel channel = openContentChannel(virtualFile)) {
+                        channel.transferTo(Channels.newChannel(output));
+                    }
                 }
-                // Copy this file to be able release the file lock before leave this method.
-                spoolFile = File.createTempFile("spool_file", null);
-                Files.copy(ioFile, spoolFile);
-                return new DeleteOnCloseFileInputStream(spoolFile);
             } catch (IOException e) {
-                if (spoolFile != null) {
-                    FileCleaner.addFile(spoolFile);
-                }
-                String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
-                LOG.error(errorMessage + "\n" + e.getMessage(), e);
-                throw new ServerException(errorMessage);
-            } finally {
-                lock.release();
+                throw new ServerException(e.getMessage(), e);
             }
         } else {
             throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
@@ -518,6 +564,46 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    private boolean isSmall(LocalVirtualFile virtualFile) {
+        return virtualFile.toIoFile().length() <= MAX_BUFFER_SIZE;
+    }
+
+
+    /**
+     * Opens channel to content of a file under shared lock. The lock is released as soon as the channel is opened,
+     * consistency of content is checked by the channel itself.
+     */
+    private FileContentChannel openContentChannel(LocalVirtualFile virtualFile) throws ServerException {
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+        try {
+            return FileContentChannel.open(virtualFile.toIoFile().toPath());
+        } catch (IOException e) {
+            throw contentReadError(virtualFile, e);
+        } finally {
+            lock.release();
+        }
+    }
+
+
+    private byte[] readContent(LocalVirtualFile virtualFile) throws ServerException {
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+        try {
+            return Files.toByteArray(virtualFile.toIoFile());
+        } catch (IOException e) {
+            throw contentReadError(virtualFile, e);
+        } finally {
+            lock.release();
+        }
+    }
+
+
+    private ServerException contentReadError(LocalVirtualFile virtualFile, IOException e) {
+        String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+        LOG.error(errorMessage + "\n" + e.getMessage(), e);
+        return new ServerException(errorMessage);
+    }
+
+
     void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
             throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
@@ -608,6 +694,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void zip(LocalVirtualFile folder, OutputStream output) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "zip"), output);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
+
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -633,6 +731,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void tar(LocalVirtualFile folder, OutputStream output) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "tar"), output);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
     void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -662,6 +771,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    private void compress(Archiver archiver, OutputStream output) throws ServerException {
+        try {
+            archiver.compress(new NotClosableOutputStream(output), dotGitFilter());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
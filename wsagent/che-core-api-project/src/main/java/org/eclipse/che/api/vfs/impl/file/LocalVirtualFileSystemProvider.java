@@ -10,11 +10,16 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.ZipArchiver;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -22,22 +27,40 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Set;
+import java.util.zip.Deflater;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
+    private final ArchiverFactory  archiverFactory;
+
+    public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider) throws IOException {
+        this(rootDirectory, searcherProvider, Deflater.DEFAULT_COMPRESSION, null);
+    }
 
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
-                                          SearcherProvider searcherProvider) throws IOException {
+                                          SearcherProvider searcherProvider,
+                                          @Named("che.vfs.export.compression_level") int compressionLevel,
+                                          @Nullable @Named("che.vfs.export.stored_extensions") String storedExtensions)
+            throws IOException {
         this.rootDirectory = rootDirectory;
         this.searcherProvider = searcherProvider;
+        this.archiverFactory = new ArchiverFactory(compressionLevel, parseExtensions(storedExtensions));
         Files.createDirectories(rootDirectory.toPath());
     }
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, archiverFactory, searcherProvider, closeCallback);
+    }
+
+    private static Set<String> parseExtensions(String extensions) {
+        if (extensions == null) {
+            return ZipArchiver.DEFAULT_STORED_EXTENSIONS;
+        }
+        return ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings().split(extensions.toLowerCase()));
     }
 }
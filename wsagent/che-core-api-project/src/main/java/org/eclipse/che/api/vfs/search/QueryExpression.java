@@ -12,11 +12,32 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    /** Defines how {@link #getText() text} of query is matched with content of files. */
+    public enum TextSearchMode {
+        /**
+         * Text is query of words separated with whitespaces, each word might contain wildcards. This is default mode which is
+         * suitable for searching in plain text.
+         */
+        WORDS,
+        /**
+         * Text is query of words. Content of files is split into words on punctuation and on changes of case, e.g. {@code foo} matches
+         * {@code this.foo(bar)} and {@code getFooBar()}.
+         */
+        CODE,
+        /** Text is substring of content of files, it may contain whitespaces and punctuation. Matching is case insensitive. */
+        SUBSTRING,
+        /** Text is regular expression that is matched with separate words of content of files. */
+        REGEXP
+    }
+
+    private String         name;
+    private String         path;
+    private String         text;
+    private int            skipCount;
+    private int            maxItems;
+    private String         pageToken;
+    private boolean        includePositions;
+    private TextSearchMode textSearchMode = TextSearchMode.WORDS;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -58,6 +79,20 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque token of position in search results. Token is provided with query for retrieving next page of results, see
+     * {@link SearchResult#getNextPageQueryExpression()}. Next page is retrieved directly after position of token if index was not
+     * changed since previous page was retrieved, otherwise {@link #getSkipCount() skip count} is used.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public QueryExpression setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+        return this;
+    }
+
     /** Max number of results that might be returned after executing this query. */
     public int getMaxItems() {
         return maxItems;
@@ -68,6 +103,29 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * If {@code true} then search result contains positions of searched text in found files with line numbers and short preview of
+     * matched lines. Calculating positions is more expensive than searching of files, so it is disabled by default.
+     */
+    public boolean isIncludePositions() {
+        return includePositions;
+    }
+
+    public QueryExpression setIncludePositions(boolean includePositions) {
+        this.includePositions = includePositions;
+        return this;
+    }
+
+    /** Mode of matching of {@link #getText() text} with content of files, {@link TextSearchMode#WORDS} by default. */
+    public TextSearchMode getTextSearchMode() {
+        return textSearchMode;
+    }
+
+    public QueryExpression setTextSearchMode(TextSearchMode textSearchMode) {
+        this.textSearchMode = textSearchMode == null ? TextSearchMode.WORDS : textSearchMode;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +134,9 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", pageToken='" + pageToken + '\'' +
+               ", includePositions=" + includePositions +
+               ", textSearchMode=" + textSearchMode +
                '}';
     }
 }
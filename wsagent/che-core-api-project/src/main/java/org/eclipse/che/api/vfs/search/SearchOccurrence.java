@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Single occurrence of searched text in file. Returned only if {@link QueryExpression#isIncludePositions()} is {@code true}.
+ */
+public class SearchOccurrence {
+    private final String phrase;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final int    lineNumber;
+    private final int    startColumn;
+    private final int    endColumn;
+    private final String preview;
+    private final int    previewMatchStart;
+    private final int    previewMatchEnd;
+
+    public SearchOccurrence(String phrase,
+                            int startOffset,
+                            int endOffset,
+                            int lineNumber,
+                            int startColumn,
+                            int endColumn,
+                            String preview,
+                            int previewMatchStart,
+                            int previewMatchEnd) {
+        this.phrase = phrase;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineNumber = lineNumber;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.preview = preview;
+        this.previewMatchStart = previewMatchStart;
+        this.previewMatchEnd = previewMatchEnd;
+    }
+
+    /** Matched text as it is in the file. */
+    public String getPhrase() {
+        return phrase;
+    }
+
+    /** Offset of first character of matched text from the beginning of the file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset of the character after the last character of matched text from the beginning of the file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Number of line (starting from 1) which contains matched text. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Offset of first character of matched text from the beginning of the line. */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /** Offset of the character after the last character of matched text from the beginning of the line. */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /** Fragment of the line which contains matched text. */
+    public String getPreview() {
+        return preview;
+    }
+
+    /** Offset of first character of matched text in {@link #getPreview() preview}. */
+    public int getPreviewMatchStart() {
+        return previewMatchStart;
+    }
+
+    /** Offset of the character after the last character of matched text in {@link #getPreview() preview}. */
+    public int getPreviewMatchEnd() {
+        return previewMatchEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "phrase='" + phrase + '\'' +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineNumber=" + lineNumber +
+               ", startColumn=" + startColumn +
+               ", endColumn=" + endColumn +
+               '}';
+    }
+}
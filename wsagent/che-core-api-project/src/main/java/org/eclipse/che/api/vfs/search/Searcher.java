@@ -10,10 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import com.google.common.base.Optional;
+
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.util.function.Consumer;
+
 /**
  * @deprecated VFS components are now considered deprecated and will be replaced by standard JDK routines.
  */
@@ -30,6 +34,37 @@ public interface Searcher {
      */
     SearchResult search(QueryExpression query) throws ServerException;
 
+    /**
+     * Retrieves all matched items without limit on size of page and passes them to consumer. If query has
+     * {@link QueryExpression#getMaxItems() max items} then at most that number of items is retrieved. Default implementation goes
+     * through pages of {@link #search(QueryExpression)}.
+     *
+     * @param query
+     *         query expression
+     * @param consumer
+     *         consumer of matched items
+     * @return number of retrieved items
+     * @throws ServerException
+     *         if an error occurs
+     */
+    default int searchAll(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        final int maxItems = query.getMaxItems() > 0 ? query.getMaxItems() : Integer.MAX_VALUE;
+        int retrieved = 0;
+        Optional<QueryExpression> page = Optional.of(query);
+        while (page.isPresent() && retrieved < maxItems) {
+            final SearchResult result = search(page.get());
+            for (SearchResultEntry entry : result.getResults()) {
+                if (retrieved == maxItems) {
+                    break;
+                }
+                consumer.accept(entry);
+                retrieved++;
+            }
+            page = result.getNextPageQueryExpression();
+        }
+        return retrieved;
+    }
+
     /**
      * Add VirtualFile to index.
      *
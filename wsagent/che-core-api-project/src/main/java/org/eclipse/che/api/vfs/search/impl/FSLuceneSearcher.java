@@ -25,22 +25,33 @@ import java.io.IOException;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Non-persistent searcher cleans index directory after call method {@link #close()}. Persistent
+ * searcher keeps index directory and reconciles stored index with virtual filesystem on next initialization.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
 
-    FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
-        this(indexDirectory, filter, null);
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     boolean persistent,
+                     int indexingThreads,
+                     boolean trigramIndex,
+                     long indexUpdateDelay,
+                     int indexUpdateBatchSize) {
+        super(filter, closeCallback, indexingThreads, trigramIndex, indexUpdateDelay, indexUpdateBatchSize);
+        this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
     }
 
-    FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(filter, closeCallback);
-        this.indexDirectory = indexDirectory;
+    @Override
+    protected boolean isPersistent() {
+        return persistent;
     }
 
     @Override
@@ -54,7 +65,7 @@ public class FSLuceneSearcher extends LuceneSearcher {
 
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (!persistent && !deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
@@ -26,25 +26,58 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
-    private final File indexRootDirectory;
+    private final File    indexRootDirectory;
+    private final boolean persistentIndex;
+    private final int     indexingThreads;
+    private final boolean trigramIndex;
+    private final long    indexUpdateDelay;
+    private final int     indexUpdateBatchSize;
 
     /**
      * @param indexRootDirectory
      *         root directory for creation index
      * @param excludePatterns
      *         set filter for files that should not be indexed
+     * @param persistentIndex
+     *         if {@code true} index is kept on disk after closing searcher and only changed files are re-indexed on next start
+     * @param indexingThreads
+     *         number of threads used for indexing of file tree, {@code 0} means number of available processors
+     * @param trigramIndex
+     *         if {@code true} content of files is indexed as trigrams for fast substring search
+     * @param indexUpdateDelay
+     *         maximal time in milliseconds that updates of index caused by changes of files are deferred to be applied in batch,
+     *         {@code 0} means index is updated synchronously
+     * @param indexUpdateBatchSize
+     *         maximal number of deferred updates of index applied at once
      * @see LuceneSearcher
      */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.local.fs_index_persistent") boolean persistentIndex,
+                                    @Named("vfs.local.fs_index_threads") int indexingThreads,
+                                    @Named("vfs.local.fs_index_trigrams") boolean trigramIndex,
+                                    @Named("vfs.local.fs_index_update_delay_ms") long indexUpdateDelay,
+                                    @Named("vfs.local.fs_index_update_batch_size") int indexUpdateBatchSize) throws IOException {
         super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
         this.indexRootDirectory = indexRootDirectory;
+        this.persistentIndex = persistentIndex;
+        this.indexingThreads = indexingThreads;
+        this.trigramIndex = trigramIndex;
+        this.indexUpdateDelay = indexUpdateDelay;
+        this.indexUpdateBatchSize = indexUpdateBatchSize;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory,
+                                    excludeFileIndexFilters,
+                                    closeCallback,
+                                    persistentIndex,
+                                    indexingThreads,
+                                    trigramIndex,
+                                    indexUpdateDelay,
+                                    indexUpdateBatchSize);
     }
 }
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Queue of pending updates of search index. Updates are applied by a single background thread in batches, a batch is applied
+ * when the oldest pending update waits longer than configured delay or when number of pending updates reaches size of batch.
+ * Updates of the same path are merged, the latest one wins and is moved to the end of queue, so updates are applied in order
+ * of their last occurrence. The merged update keeps time of the first one, so repeated updates of a path don't postpone
+ * applying it beyond the delay. Since added and updated files are read when an update is applied index always gets the latest
+ * content of a file even if it was changed a few times during the delay. If a path is deleted and then added or updated again
+ * the merged update keeps the deletion and applies it first, so documents of files which don't exist anymore are removed.
+ * <p>
+ * Searcher may wait until pending updates under path it is going to search in are applied, see {@link #awaitApplied(String, long)},
+ * in this case pending updates are applied immediately without waiting for the end of delay.
+ */
+class IndexUpdateQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexUpdateQueue.class);
+
+    enum Type {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    /** Single update of search index. */
+    static final class Update {
+        final Type        type;
+        final String      path;
+        final VirtualFile file;
+        final boolean     isFile;
+        /** Deletion of the same path which must be applied before this update, {@code null} if there is no such deletion. */
+        final Update      deleteBefore;
+        /** Time when the first of merged updates of the path was enqueued. */
+        final long        enqueuedAt;
+
+        private Update(Type type, String path, VirtualFile file, boolean isFile, Update deleteBefore, long enqueuedAt) {
+            this.type = type;
+            this.path = path;
+            this.file = file;
+            this.isFile = isFile;
+            this.deleteBefore = deleteBefore;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        /** Checks whether this update may change results of search under specified path. */
+        boolean affects(String pathPrefix) {
+            return pathPrefix == null || path.startsWith(pathPrefix) || pathPrefix.startsWith(path);
+        }
+    }
+
+    private final long                   delayMillis;
+    private final int                    maxBatchSize;
+    private final Consumer<List<Update>> handler;
+    private final Map<String, Update>    pending;
+    private final Thread                 worker;
+
+    private List<Update> inFlight = Collections.emptyList();
+    private long         appliedBatches;
+    private boolean      flushRequested;
+    private boolean      closed;
+
+    /**
+     * @param delayMillis
+     *         maximal time in milliseconds that update waits in queue before it is applied
+     * @param maxBatchSize
+     *         maximal number of updates which are applied at once
+     * @param handler
+     *         applies batch of updates to index, must not throw exceptions
+     */
+    IndexUpdateQueue(long delayMillis, int maxBatchSize, Consumer<List<Update>> handler) {
+        this.delayMillis = delayMillis;
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : Integer.MAX_VALUE;
+        this.handler = handler;
+        pending = new LinkedHashMap<>();
+        worker = new ThreadFactoryBuilder().setDaemon(true)
+                                           .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                           .setNameFormat("LuceneSearcherUpdateThread")
+                                           .build()
+                                           .newThread(this::run);
+        worker.start();
+    }
+
+    void add(VirtualFile file) {
+        enqueue(Type.ADD, file.getPath().toString(), file, file.isFile());
+    }
+
+    void update(VirtualFile file) {
+        enqueue(Type.UPDATE, file.getPath().toString(), file, true);
+    }
+
+    void delete(String path, boolean isFile) {
+        enqueue(Type.DELETE, path, null, isFile);
+    }
+
+    /**
+     * Waits until all updates that may change results of search under specified path are applied.
+     *
+     * @param pathPrefix
+     *         path to search in, {@code null} means the whole tree
+     * @param timeoutMillis
+     *         maximal time to wait
+     * @return {@code true} if updates were applied and {@code false} if waiting time elapsed or current thread was interrupted
+     */
+    synchronized boolean awaitApplied(String pathPrefix, long timeoutMillis) {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!closed && hasUpdatesAffecting(pathPrefix)) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            flushRequested = true;
+            notifyAll();
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns number of updates which are not applied yet. */
+    synchronized int getPendingCount() {
+        return pending.size() + inFlight.size();
+    }
+
+    /** Returns time in milliseconds that the oldest not applied update waits in queue, {@code 0} if there are no such updates. */
+    synchronized long getLag() {
+        long oldest = Long.MAX_VALUE;
+        for (Update update : inFlight) {
+            oldest = Math.min(oldest, update.enqueuedAt);
+        }
+        oldest = Math.min(oldest, oldestPendingEnqueuedAt());
+        return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /** Returns number of batches applied since the queue was created. */
+    synchronized long getAppliedBatches() {
+        return appliedBatches;
+    }
+
+    /**
+     * Stops accepting of new updates and waits until pending updates are applied. If it is called from the thread which
+     * applies updates, e.g. when searcher is closed after failure of update, then just stops the thread.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void enqueue(Type type, String path, VirtualFile file, boolean isFile) {
+        if (closed) {
+            LOG.debug("Index update of '{}' is skipped, searcher is closed", path);
+            return;
+        }
+        final Update previous = pending.remove(path);
+        Update deleteBefore = null;
+        if (type != Type.DELETE && previous != null) {
+            deleteBefore = previous.type == Type.DELETE ? previous : previous.deleteBefore;
+        }
+        final long enqueuedAt = previous == null ? System.currentTimeMillis() : previous.enqueuedAt;
+        pending.put(path, new Update(type, path, file, isFile, deleteBefore, enqueuedAt));
+        if (pending.size() == 1 || pending.size() >= maxBatchSize) {
+            notifyAll();
+        }
+    }
+
+    /** Returns time when the oldest pending update was enqueued, {@link Long#MAX_VALUE} if there are no pending updates. */
+    private long oldestPendingEnqueuedAt() {
+        long oldest = Long.MAX_VALUE;
+        for (Update update : pending.values()) {
+            oldest = Math.min(oldest, update.enqueuedAt);
+        }
+        return oldest;
+    }
+
+    private boolean hasUpdatesAffecting(String pathPrefix) {
+        for (Update update : inFlight) {
+            if (update.affects(pathPrefix)) {
+                return true;
+            }
+        }
+        for (Update update : pending.values()) {
+            if (update.affects(pathPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run() {
+        List<Update> batch;
+        while ((batch = nextBatch()) != null) {
+            try {
+                handler.accept(batch);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            } finally {
+                synchronized (this) {
+                    inFlight = Collections.emptyList();
+                    appliedBatches++;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /** Waits for the next batch of updates, returns {@code null} when queue is closed and there is nothing to apply. */
+    private synchronized List<Update> nextBatch() {
+        while (true) {
+            if (pending.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                waitQuietly(0);
+                continue;
+            }
+            // merged updates keep their original time, so the head of queue is not necessarily the oldest update
+            final long remaining = oldestPendingEnqueuedAt() + delayMillis - System.currentTimeMillis();
+            if (closed || flushRequested || remaining <= 0 || pending.size() >= maxBatchSize) {
+                break;
+            }
+            waitQuietly(remaining);
+        }
+
+        final List<Update> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        for (Iterator<Update> it = pending.values().iterator(); it.hasNext() && batch.size() < maxBatchSize; ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        if (pending.isEmpty()) {
+            flushRequested = false;
+        }
+        inFlight = batch;
+        return batch;
+    }
+
+    private void waitQuietly(long timeout) {
+        try {
+            wait(timeout);
+        } catch (InterruptedException e) {
+            // queue is stopped with close(), pending updates must be applied anyway
+            LOG.debug("Thread that applies index updates was interrupted");
+        }
+    }
+}
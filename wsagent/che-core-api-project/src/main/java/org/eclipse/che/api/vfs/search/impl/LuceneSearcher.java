@@ -10,42 +10,61 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
-import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.QueryExpression.TextSearchMode;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,12 +72,25 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Lucene based searcher.
@@ -66,35 +98,83 @@ import static com.google.common.collect.Lists.newArrayList;
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
-    private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
-    private static final int    RESULT_LIMIT = 1000;
-    private static final String PATH_FIELD   = "path";
-    private static final String NAME_FIELD   = "name";
-    private static final String TEXT_FIELD   = "text";
+    private static final Logger LOG           = LoggerFactory.getLogger(LuceneSearcher.class);
+    private static final int    RESULT_LIMIT  = 1000;
+    private static final String PATH_FIELD    = "path";
+    private static final String NAME_FIELD    = "name";
+    private static final String TEXT_FIELD    = "text";
+    private static final String CODE_FIELD    = "code";
+    private static final String TRIGRAM_FIELD = "trigram";
+
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
+    private static final String LENGTH_FIELD        = "length";
+    private static final String FORMAT_FIELD        = "format";
+
+    /** Version of set of fields of indexed documents. Must be changed if fields of documents are changed. */
+    private static final String INDEX_FORMAT         = "4";
+    private static final String TRIGRAM_INDEX_FORMAT = INDEX_FORMAT + "-trigram";
+    private static final int    TRIGRAM_LENGTH       = 3;
+
+    private static final Set<String> PATH_FIELDS = ImmutableSet.of(PATH_FIELD);
+
+    /** Type of text and code fields, offsets of their terms are stored in term vectors to find positions of searched text. */
+    private static final FieldType CONTENT_FIELD_TYPE = createContentFieldType();
+    /** Max number of files of single page which content is scanned for searched text that can't be found with term vectors. */
+    private static final int       MAX_SCANNED_FILES  = 100;
+
+    /** Number of files which are passed to single indexing thread at once. */
+    private static final int    INDEX_BATCH_SIZE      = 64;
+    /** Size of in-memory buffer of IndexWriter, big buffer reduces number of flushed segments while index whole file tree. */
+    private static final double INDEX_RAM_BUFFER_SIZE = 64.0;
+    /** Maximal time in milliseconds that search waits for pending updates of index under path it searches in. */
+    private static final long   INDEX_UPDATE_WAIT_TIMEOUT = 10_000;
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final int                                          indexingThreads;
+    private final boolean                                      trigramIndex;
+    private final long                                         indexUpdateDelay;
+    private final int                                          indexUpdateBatchSize;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
 
-    private boolean closed = true;
-
-    protected LuceneSearcher() {
-        this(new MediaTypeFilter(), null);
-    }
+    private volatile IndexUpdateQueue updateQueue;
+    /** Pool of threads which index big trees, {@code null} if single indexing thread is configured. */
+    private volatile ExecutorService  indexingExecutor;
+    /** Root of indexed file tree, content of matched files is read from it to find positions of searched text. */
+    private volatile VirtualFile      root;
 
-    protected LuceneSearcher(AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        this(new MediaTypeFilter(), closeCallback);
-    }
+    private boolean closed = true;
 
     /**
      * @param excludeFileIndexFilter
      *         common filter for files that should not be indexed. If complex excluding rules needed then few filters might be combined
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
+     * @param indexingThreads
+     *         number of threads which read and tokenize content of files while index file tree. If value is less than {@code 1} then
+     *         number of available processors is used
+     * @param trigramIndex
+     *         if {@code true} then content of files is additionally indexed as sequence of trigrams which makes possible fast search
+     *         with {@link TextSearchMode#SUBSTRING} mode. Trigram index noticeably increases size of index
+     * @param indexUpdateDelay
+     *         maximal time in milliseconds that update of index caused by {@link #add}, {@link #update} or {@link #delete} may be
+     *         deferred, updates are applied asynchronously in batches. If value is less than {@code 1} then index is updated in
+     *         caller thread
+     * @param indexUpdateBatchSize
+     *         maximal number of deferred updates which are applied at once, {@code 0} means no limit
      */
-    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             boolean trigramIndex,
+                             long indexUpdateDelay,
+                             int indexUpdateBatchSize) {
         this.closeCallback = closeCallback;
+        this.indexingThreads = indexingThreads > 0 ? indexingThreads : Runtime.getRuntime().availableProcessors();
+        this.trigramIndex = trigramIndex;
+        this.indexUpdateDelay = indexUpdateDelay;
+        this.indexUpdateBatchSize = indexUpdateBatchSize;
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
     }
@@ -120,10 +200,57 @@ public abstract class LuceneSearcher implements Searcher {
         };
     }
 
+    /** Analyzer for source code, splits words on punctuation and on changes of case, keeps original words as well. */
+    protected Analyzer makeCodeAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new WhitespaceTokenizer();
+                TokenStream filter = new WordDelimiterFilter(tokenizer,
+                                                             WordDelimiterFilter.GENERATE_WORD_PARTS
+                                                             | WordDelimiterFilter.GENERATE_NUMBER_PARTS
+                                                             | WordDelimiterFilter.SPLIT_ON_CASE_CHANGE
+                                                             | WordDelimiterFilter.SPLIT_ON_NUMERICS
+                                                             | WordDelimiterFilter.PRESERVE_ORIGINAL,
+                                                             null);
+                filter = new LowerCaseFilter(filter);
+                return new TokenStreamComponents(tokenizer, filter);
+            }
+        };
+    }
+
+    /** Analyzer which splits whole content into sequence of overlapped trigrams. */
+    protected Analyzer makeTrigramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(TRIGRAM_LENGTH, TRIGRAM_LENGTH);
+                TokenStream filter = new LowerCaseFilter(tokenizer);
+                return new TokenStreamComponents(tokenizer, filter);
+            }
+        };
+    }
+
+    private Analyzer makeIndexAnalyzer() {
+        final Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+        fieldAnalyzers.put(CODE_FIELD, makeCodeAnalyzer());
+        fieldAnalyzers.put(TRIGRAM_FIELD, makeTrigramAnalyzer());
+        return new PerFieldAnalyzerWrapper(makeAnalyzer(), fieldAnalyzers);
+    }
+
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Indicates whether index created by this searcher survives closing of the searcher. Content of persistent index is reconciled with
+     * virtual filesystem on initialization instead of full re-indexing.
+     */
+    protected boolean isPersistent() {
+        return false;
+    }
+
+    /**
+     * Init lucene index. If index is not persistent need call this method if index directory is clean. Scan all files in virtual
+     * filesystem and add to index. Persistent index is reconciled with virtual filesystem, see {@link #reconcileTree(VirtualFile)}.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -131,16 +258,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        root = virtualFileSystem.getRoot();
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexRoot(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        root = virtualFileSystem.getRoot();
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexRoot(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -148,18 +277,49 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    private void indexRoot(VirtualFile root) throws ServerException {
+        if (isPersistent()) {
+            reconcileTree(root);
+        } else {
+            addTree(root);
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            luceneIndexWriter = new IndexWriter(makeDirectory(), makeIndexWriterConfig());
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            if (indexUpdateDelay > 0) {
+                updateQueue = new IndexUpdateQueue(indexUpdateDelay, indexUpdateBatchSize, this::applyUpdates);
+            }
+            if (indexingThreads > 1) {
+                indexingExecutor = createIndexingExecutor();
+            }
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
-    public final synchronized void close() {
+    protected IndexWriterConfig makeIndexWriterConfig() {
+        return new IndexWriterConfig(makeIndexAnalyzer()).setRAMBufferSizeMB(INDEX_RAM_BUFFER_SIZE);
+    }
+
+    /** Applies pending updates of index, if any, and closes index. */
+    public final void close() {
+        final IndexUpdateQueue queue = updateQueue;
+        if (queue != null) {
+            queue.close();
+        }
+        doClose();
+    }
+
+    private synchronized void doClose() {
         if (!closed) {
+            if (indexingExecutor != null) {
+                indexingExecutor.shutdown();
+                indexingExecutor = null;
+            }
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -185,39 +345,97 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /** Returns number of deferred updates of index which are not applied yet. */
+    public int getPendingUpdates() {
+        final IndexUpdateQueue queue = updateQueue;
+        return queue == null ? 0 : queue.getPendingCount();
+    }
+
+    /** Returns time in milliseconds that the oldest deferred update of index waits to be applied, {@code 0} if there is no such update. */
+    public long getIndexUpdateLag() {
+        final IndexUpdateQueue queue = updateQueue;
+        return queue == null ? 0 : queue.getLag();
+    }
+
+    /** Waits until deferred updates of index that may change results of search under specified path are applied. */
+    private void awaitIndexUpdates(String path) {
+        final IndexUpdateQueue queue = updateQueue;
+        if (queue != null && !queue.awaitApplied(path, INDEX_UPDATE_WAIT_TIMEOUT)) {
+            LOG.warn("Search under '{}' is performed before all pending updates of index are applied", path == null ? "/" : path);
+        }
+    }
+
+    /** Applies batch of deferred updates and makes them visible for search. Failures of single updates are logged. */
+    private void applyUpdates(List<IndexUpdateQueue.Update> updates) {
+        if (isClosed()) {
+            LOG.debug("Searcher is closed, {} updates of index are skipped", updates.size());
+            return;
+        }
+        for (IndexUpdateQueue.Update update : updates) {
+            try {
+                if (update.deleteBefore != null) {
+                    doDelete(update.deleteBefore.path, update.deleteBefore.isFile);
+                }
+                switch (update.type) {
+                    case ADD:
+                        // file may be deleted while update waited in queue
+                        if (update.file.exists()) {
+                            doAdd(update.file);
+                        }
+                        break;
+                    case UPDATE:
+                        if (update.file.exists()) {
+                            doUpdate(new Term(PATH_FIELD, update.path), update.file);
+                        }
+                        break;
+                    default:
+                        doDelete(update.path, update.isFile);
+                }
+            } catch (ServerException e) {
+                LOG.error("Unable update index for '{}': {}", update.path, e.getMessage());
+            }
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
+            awaitIndexUpdates(query.getPath());
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
 
-            ScoreDoc after = null;
+            final long readerVersion = getReaderVersion(luceneSearcher);
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
-            }
+            final ScoreDoc after = findPageStart(luceneSearcher, luceneQuery, query, readerVersion);
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
             TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
             final int totalHitsNum = topDocs.totalHits;
 
+            final SearchOccurrencesFinder occurrencesFinder = createOccurrencesFinderIfRequired(query);
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
-                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                results.add(createSearchResultEntry(luceneSearcher, topDocs.scoreDocs[i], occurrencesFinderForHit(occurrencesFinder, i)));
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum && topDocs.scoreDocs.length > 0;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final ScoreDoc last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              numSkipDocs + topDocs.scoreDocs.length,
+                                                              new SearchPageToken(readerVersion, last).toString());
             }
 
             return SearchResult.aSearchResult()
@@ -226,7 +444,7 @@ public abstract class LuceneSearcher implements Searcher {
                                .withNextPageQueryExpression(nextPageQueryExpression)
                                .withElapsedTimeMillis(elapsedTimeMillis)
                                .build();
-        } catch (IOException | ParseException e) {
+        } catch (IOException | ParseException | IllegalArgumentException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
             try {
@@ -237,6 +455,112 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Retrieves all hits that match the query without limit on size of page and passes them to consumer. Hits are read in frames from
+     * the same snapshot of index, so each frame costs the same regardless of number of already retrieved hits. If query has
+     * {@link QueryExpression#getMaxItems() max items} then at most that number of hits is retrieved.
+     *
+     * @param query
+     *         query expression
+     * @param consumer
+     *         consumer of found hits
+     * @return number of retrieved hits
+     * @throws ServerException
+     *         if an error occurs
+     */
+    @Override
+    public int searchAll(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        IndexSearcher luceneSearcher = null;
+        try {
+            awaitIndexUpdates(query.getPath());
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+
+            final Query luceneQuery = createLuceneQuery(query);
+            final SearchOccurrencesFinder occurrencesFinder = createOccurrencesFinderIfRequired(query);
+            final int maxItems = query.getMaxItems() > 0 ? query.getMaxItems() : Integer.MAX_VALUE;
+            ScoreDoc after = findPageStart(luceneSearcher, luceneQuery, query, getReaderVersion(luceneSearcher));
+            int retrieved = 0;
+            TopDocs topDocs;
+            do {
+                topDocs = luceneSearcher.searchAfter(after, luceneQuery, Math.min(RESULT_LIMIT, maxItems - retrieved));
+                for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                    after = topDocs.scoreDocs[i];
+                    consumer.accept(createSearchResultEntry(luceneSearcher, after, occurrencesFinderForHit(occurrencesFinder, i)));
+                }
+                retrieved += topDocs.scoreDocs.length;
+            } while (topDocs.scoreDocs.length > 0 && retrieved < maxItems);
+            return retrieved;
+        } catch (IOException | ParseException | IllegalArgumentException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
+    private static long getReaderVersion(IndexSearcher luceneSearcher) {
+        return ((DirectoryReader)luceneSearcher.getIndexReader()).getVersion();
+    }
+
+    /**
+     * Finds the last hit of previous page. Position from the page token is used if the token is created for the same version of index
+     * reader, otherwise skips {@link QueryExpression#getSkipCount()} hits.
+     */
+    private ScoreDoc findPageStart(IndexSearcher luceneSearcher,
+                                   Query luceneQuery,
+                                   QueryExpression query,
+                                   long readerVersion) throws IOException {
+        if (query.getPageToken() != null) {
+            final SearchPageToken pageToken = SearchPageToken.parse(query.getPageToken());
+            if (pageToken != null && pageToken.getReaderVersion() == readerVersion) {
+                return pageToken.getAfter();
+            }
+        }
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        return numSkipDocs > 0 ? skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs) : null;
+    }
+
+    private SearchResultEntry createSearchResultEntry(IndexSearcher luceneSearcher,
+                                                      ScoreDoc scoreDoc,
+                                                      SearchOccurrencesFinder occurrencesFinder) throws IOException,
+                                                                                                        ServerException {
+        final String path = luceneSearcher.doc(scoreDoc.doc, PATH_FIELDS).get(PATH_FIELD);
+        if (occurrencesFinder == null) {
+            return new SearchResultEntry(path);
+        }
+        Terms termVector = null;
+        if (occurrencesFinder.getField() != null) {
+            termVector = luceneSearcher.getIndexReader().getTermVector(scoreDoc.doc, occurrencesFinder.getField());
+            if (termVector == null) {
+                // content of file isn't indexed
+                return new SearchResultEntry(path);
+            }
+        }
+        // content isn't stored in index, lines and previews of occurrences are read from the current content of matched file
+        final VirtualFile indexedRoot = root;
+        final VirtualFile file = indexedRoot == null ? null : indexedRoot.getChild(Path.of(path));
+        if (file == null || !file.isFile()) {
+            return new SearchResultEntry(path);
+        }
+        try (Reader content = openContentReader(file)) {
+            return new SearchResultEntry(path, occurrencesFinder.find(termVector, content));
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /** Returns finder of occurrences for hit with specified index in page of hits, see {@link #MAX_SCANNED_FILES}. */
+    private static SearchOccurrencesFinder occurrencesFinderForHit(SearchOccurrencesFinder occurrencesFinder, int hitIndex) {
+        if (occurrencesFinder != null && occurrencesFinder.getField() == null && hitIndex >= MAX_SCANNED_FILES) {
+            return null;
+        }
+        return occurrencesFinder;
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ParseException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -251,13 +575,79 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+            luceneQuery.add(createTextQuery(text, query.getTextSearchMode()), BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    private Query createTextQuery(String text, TextSearchMode mode) throws ParseException {
+        switch (mode) {
+            case CODE:
+                return parseTextQuery(text, CODE_FIELD, makeCodeAnalyzer());
+            case SUBSTRING:
+                return createSubstringQuery(text);
+            case REGEXP:
+                return new RegexpQuery(new Term(CODE_FIELD, text));
+            default:
+                return parseTextQuery(text, TEXT_FIELD, makeAnalyzer());
+        }
+    }
+
+    private Query parseTextQuery(String text, String field, Analyzer analyzer) throws ParseException {
+        QueryParser qParser = new QueryParser(field, analyzer);
+        qParser.setAllowLeadingWildcard(true);
+        return qParser.parse(text);
+    }
+
+    /**
+     * Creates query for searching of substring. With trigram index substring is converted into phrase of its overlapped trigrams, that
+     * matches exactly positions where trigrams follow each other in the same order as in substring. Substrings shorter than trigram
+     * are matched with prefix of trigrams. Without trigram index falls back to wildcard query on words of content.
+     */
+    private Query createSubstringQuery(String text) {
+        final String substring = text.toLowerCase(Locale.ROOT);
+        if (!trigramIndex) {
+            return new WildcardQuery(new Term(TEXT_FIELD, '*' + escapeWildcards(substring) + '*'));
+        }
+        if (substring.length() < TRIGRAM_LENGTH) {
+            return new PrefixQuery(new Term(TRIGRAM_FIELD, substring));
+        }
+        final PhraseQuery phraseQuery = new PhraseQuery();
+        for (int i = 0; i + TRIGRAM_LENGTH <= substring.length(); i++) {
+            phraseQuery.add(new Term(TRIGRAM_FIELD, substring.substring(i, i + TRIGRAM_LENGTH)), i);
+        }
+        return phraseQuery;
+    }
+
+    private static String escapeWildcards(String text) {
+        final StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR || c == WildcardQuery.WILDCARD_ESCAPE) {
+                escaped.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private SearchOccurrencesFinder createOccurrencesFinderIfRequired(QueryExpression query) throws ParseException {
+        if (!query.isIncludePositions() || query.getText() == null) {
+            return null;
+        }
+        final String text = query.getText();
+        switch (query.getTextSearchMode()) {
+            case CODE:
+                return SearchOccurrencesFinder.forQuery(parseTextQuery(text, CODE_FIELD, makeCodeAnalyzer()), CODE_FIELD);
+            case SUBSTRING:
+                return SearchOccurrencesFinder.forSubstring(text, TEXT_FIELD);
+            case REGEXP:
+                return SearchOccurrencesFinder.forRegexp(text, CODE_FIELD);
+            default:
+                return SearchOccurrencesFinder.forQuery(parseTextQuery(text, TEXT_FIELD, makeAnalyzer()), TEXT_FIELD);
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -279,17 +669,25 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String pageToken) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setPageToken(pageToken)
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludePositions(originalQuery.isIncludePositions())
+                                    .setTextSearchMode(originalQuery.getTextSearchMode());
     }
 
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        final IndexUpdateQueue queue = updateQueue;
+        if (queue == null) {
+            doAdd(virtualFile);
+        } else {
+            queue.add(virtualFile);
+        }
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -302,46 +700,141 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected void addTree(VirtualFile tree) throws ServerException {
         final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        final int indexedFiles;
+        try (IndexingPipeline pipeline = new IndexingPipeline()) {
+            final LinkedList<VirtualFile> q = new LinkedList<>();
+            q.add(tree);
+            while (!q.isEmpty()) {
+                final VirtualFile folder = q.pop();
+                if (folder.exists()) {
+                    for (VirtualFile child : folder.getChildren()) {
+                        if (child.isFolder()) {
+                            q.push(child);
+                        } else {
+                            pipeline.add(child);
+                        }
                     }
                 }
             }
+            pipeline.await();
+            indexedFiles = pipeline.getIndexedFiles();
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Indexed {} files from {} in {} threads, time: {} ms", indexedFiles, tree.getPath(), indexingThreads, (end - start));
+    }
+
+    /**
+     * Synchronizes documents stored in index with files of specified tree. Files which modification date and length are the same as
+     * stored in index are not re-indexed. New and changed files are (re)indexed. Documents of files that don't exist anymore are
+     * removed from index.
+     *
+     * @param tree
+     *         root of tree to synchronize
+     * @return numbers of reused, updated and deleted documents
+     * @throws ServerException
+     *         if any virtual filesystem or index error occurs
+     */
+    protected ReconcileResult reconcileTree(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final Map<String, IndexedFile> indexedFiles;
+        try {
+            indexedFiles = readIndexedFiles(tree.isRoot() ? "/" : tree.getPath().toString() + '/');
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        int reused = 0;
+        int updated = 0;
+        try (IndexingPipeline pipeline = new IndexingPipeline()) {
+            final LinkedList<VirtualFile> q = new LinkedList<>();
+            q.add(tree);
+            while (!q.isEmpty()) {
+                final VirtualFile folder = q.pop();
+                if (folder.exists()) {
+                    for (VirtualFile child : folder.getChildren()) {
+                        if (child.isFolder()) {
+                            q.push(child);
+                        } else {
+                            final IndexedFile indexedFile = indexedFiles.remove(child.getPath().toString());
+                            if (indexedFile != null
+                                && indexedFile.lastModified == child.getLastModificationDate()
+                                && indexedFile.length == child.getLength()
+                                && indexFormat().equals(indexedFile.format)) {
+                                reused++;
+                            } else {
+                                pipeline.add(child);
+                                updated++;
+                            }
+                        }
+                    }
+                }
+            }
+            pipeline.await();
+        }
+        try {
+            for (String path : indexedFiles.keySet()) {
+                getIndexWriter().deleteDocuments(new Term(PATH_FIELD, path));
+            }
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
         }
+        final ReconcileResult result = new ReconcileResult(reused, updated, indexedFiles.size());
         final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+        LOG.info("Reconciled index with files from {}, reused: {}, updated: {}, deleted: {}, time: {} ms",
+                 tree.getPath(), result.getReused(), result.getUpdated(), result.getDeleted(), (end - start));
+        return result;
+    }
+
+    private Map<String, IndexedFile> readIndexedFiles(String pathPrefix) throws IOException {
+        final Map<String, IndexedFile> indexedFiles = new HashMap<>();
+        final Set<String> fields = newHashSet(PATH_FIELD, LAST_MODIFIED_FIELD, LENGTH_FIELD, FORMAT_FIELD);
+        searcherManager.maybeRefresh();
+        final IndexSearcher luceneSearcher = searcherManager.acquire();
+        try {
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs != null && !liveDocs.get(i)) {
+                    continue;
+                }
+                final Document doc = reader.document(i, fields);
+                final String path = doc.get(PATH_FIELD);
+                if (path == null || !path.startsWith(pathPrefix)) {
+                    continue;
+                }
+                final IndexableField lastModified = doc.getField(LAST_MODIFIED_FIELD);
+                final IndexableField length = doc.getField(LENGTH_FIELD);
+                // Documents created without file attributes or with other set of fields are always re-indexed
+                indexedFiles.put(path, new IndexedFile(lastModified == null ? -1 : lastModified.numericValue().longValue(),
+                                                       length == null ? -1 : length.numericValue().longValue(),
+                                                       doc.get(FORMAT_FIELD)));
+            }
+        } finally {
+            searcherManager.release(luceneSearcher);
+        }
+        return indexedFiles;
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                                                createDocument(virtualFile, fContentReader));
-            } catch (OutOfMemoryError oome) {
-                close();
-                throw oome;
-            } catch (IOException e) {
-                throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
         }
     }
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        final IndexUpdateQueue queue = updateQueue;
+        if (queue == null) {
+            doDelete(path, isFile);
+        } else {
+            queue.delete(path, isFile);
+        }
+    }
+
+    private void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term(PATH_FIELD, path);
@@ -360,14 +853,21 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
+        final IndexUpdateQueue queue = updateQueue;
+        if (queue == null) {
+            doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
+        } else {
+            queue.update(virtualFile);
+        }
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        Reader contentReader = null;
+        Document doc = null;
+        try {
+            contentReader = shouldIndexContent(virtualFile) ? openContentReader(virtualFile) : null;
+            doc = createDocument(virtualFile, contentReader);
+            getIndexWriter().updateDocument(deleteTerm, doc);
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -375,19 +875,73 @@ public abstract class LuceneSearcher implements Searcher {
             throw new ServerException(e.getMessage(), e);
         } catch (ForbiddenException e) {
             throw new ServerException(e.getServiceError());
+        } finally {
+            if (doc != null) {
+                closeContentReaders(doc);
+            }
+            if (contentReader != null) {
+                IOUtils.closeWhileHandlingException(contentReader);
+            }
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    /**
+     * Creates document of the file. Content of the file is tokenized from readers while document is indexed
+     * and isn't stored in index, each of content fields reads the file separately.
+     * Readers of content fields are closed by {@link #doUpdate(Term, VirtualFile)} after document is indexed.
+     */
+    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException, ForbiddenException {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(LAST_MODIFIED_FIELD, virtualFile.getLastModificationDate()));
+        doc.add(new StoredField(LENGTH_FIELD, virtualFile.getLength()));
+        doc.add(new StoredField(FORMAT_FIELD, indexFormat()));
         if (reader != null) {
-            doc.add(new TextField(TEXT_FIELD, reader));
+            doc.add(new Field(TEXT_FIELD, reader, CONTENT_FIELD_TYPE));
+            boolean opened = false;
+            try {
+                doc.add(new Field(CODE_FIELD, openContentReader(virtualFile), CONTENT_FIELD_TYPE));
+                if (trigramIndex) {
+                    doc.add(new TextField(TRIGRAM_FIELD, openContentReader(virtualFile)));
+                }
+                opened = true;
+            } finally {
+                if (!opened) {
+                    closeContentReaders(doc);
+                }
+            }
         }
         return doc;
     }
 
+    private static Reader openContentReader(VirtualFile virtualFile) throws ForbiddenException, ServerException {
+        return new BufferedReader(new InputStreamReader(virtualFile.getContent()));
+    }
+
+    /** Closes readers of content fields of the document, readers of indexed fields are already closed by index writer. */
+    private static void closeContentReaders(Document doc) {
+        for (IndexableField field : doc.getFields()) {
+            final Reader reader = field.readerValue();
+            if (reader != null) {
+                IOUtils.closeWhileHandlingException(reader);
+            }
+        }
+    }
+
+    private static FieldType createContentFieldType() {
+        final FieldType type = new FieldType(TextField.TYPE_NOT_STORED);
+        type.setStoreTermVectors(true);
+        type.setStoreTermVectorPositions(true);
+        type.setStoreTermVectorOffsets(true);
+        type.freeze();
+        return type;
+    }
+
+    private String indexFormat() {
+        return trigramIndex ? TRIGRAM_INDEX_FORMAT : INDEX_FORMAT;
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
@@ -396,4 +950,164 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /** Numbers of documents that were reused, updated and deleted while index was reconciled with virtual filesystem. */
+    public static class ReconcileResult {
+        private final int reused;
+        private final int updated;
+        private final int deleted;
+
+        ReconcileResult(int reused, int updated, int deleted) {
+            this.reused = reused;
+            this.updated = updated;
+            this.deleted = deleted;
+        }
+
+        /** Number of documents which were left in index as is since files were not changed. */
+        public int getReused() {
+            return reused;
+        }
+
+        /** Number of new or changed files that were (re)indexed. */
+        public int getUpdated() {
+            return updated;
+        }
+
+        /** Number of documents which were removed from index since files don't exist anymore. */
+        public int getDeleted() {
+            return deleted;
+        }
+    }
+
+    /**
+     * Creates pool of threads which read and tokenize content of files of big trees, IndexWriter is safe for concurrent updates.
+     * When all threads are busy the walker indexes batch itself, that prevents unbounded growth of queue of pending files.
+     * Batch is indexed by the walker also when the pool is already shut down, so added files are never silently dropped.
+     */
+    private ExecutorService createIndexingExecutor() {
+        return new ThreadPoolExecutor(indexingThreads,
+                                      indexingThreads,
+                                      0L,
+                                      MILLISECONDS,
+                                      new ArrayBlockingQueue<>(indexingThreads),
+                                      new ThreadFactoryBuilder().setDaemon(true)
+                                                                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                                                .setNameFormat("LuceneSearcherIndexThread-%d")
+                                                                .build(),
+                                      (task, executor) -> task.run());
+    }
+
+    /**
+     * Indexes files found by the tree walker. Files are grouped in batches, batches are passed to the indexing pool of the searcher,
+     * if any. Trees that contain no more than one batch of files, e.g. folders added after file events, are indexed by the walker
+     * itself and don't involve the pool.
+     */
+    private class IndexingPipeline implements AutoCloseable {
+        private final ExecutorService                  executor;
+        private final Phaser                           pendingBatches;
+        private final AtomicReference<ServerException> error;
+        private final AtomicInteger                    indexedFiles;
+
+        private List<VirtualFile> batch;
+        private boolean           submitted;
+
+        IndexingPipeline() {
+            executor = indexingExecutor;
+            pendingBatches = new Phaser(1);
+            error = new AtomicReference<>();
+            indexedFiles = new AtomicInteger();
+            batch = new ArrayList<>(INDEX_BATCH_SIZE);
+        }
+
+        void add(VirtualFile file) throws ServerException {
+            checkError();
+            if (executor == null) {
+                addFile(file);
+                indexedFiles.incrementAndGet();
+            } else {
+                batch.add(file);
+                if (batch.size() == INDEX_BATCH_SIZE) {
+                    submitBatch();
+                }
+            }
+        }
+
+        /** Waits until all added files are indexed. */
+        void await() throws ServerException {
+            if (!batch.isEmpty()) {
+                if (submitted) {
+                    submitBatch();
+                } else {
+                    indexBatch(batch);
+                    batch = new ArrayList<>(INDEX_BATCH_SIZE);
+                }
+            }
+            try {
+                pendingBatches.awaitAdvanceInterruptibly(pendingBatches.arrive());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerException("Indexing of files was interrupted");
+            }
+            checkError();
+        }
+
+        int getIndexedFiles() {
+            return indexedFiles.get();
+        }
+
+        private void submitBatch() {
+            final List<VirtualFile> files = batch;
+            batch = new ArrayList<>(INDEX_BATCH_SIZE);
+            submitted = true;
+            pendingBatches.register();
+            executor.execute(() -> {
+                try {
+                    indexBatch(files);
+                } finally {
+                    pendingBatches.arriveAndDeregister();
+                }
+            });
+        }
+
+        private void indexBatch(List<VirtualFile> files) {
+            for (VirtualFile file : files) {
+                if (error.get() != null) {
+                    return;
+                }
+                try {
+                    addFile(file);
+                    indexedFiles.incrementAndGet();
+                } catch (ServerException e) {
+                    error.compareAndSet(null, e);
+                } catch (RuntimeException e) {
+                    error.compareAndSet(null, new ServerException(e.getMessage(), e));
+                }
+            }
+        }
+
+        private void checkError() throws ServerException {
+            final ServerException e = error.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+
+        /** Stops indexing of batches which are not started yet if the walk was not completed. */
+        @Override
+        public void close() {
+            error.compareAndSet(null, new ServerException("Indexing of files was cancelled"));
+        }
+    }
+
+    private static class IndexedFile {
+        final long   lastModified;
+        final long   length;
+        final String format;
+
+        IndexedFile(long lastModified, long length, String format) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.format = format;
+        }
+    }
 }
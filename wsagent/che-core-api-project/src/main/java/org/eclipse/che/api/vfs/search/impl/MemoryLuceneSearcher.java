@@ -18,12 +18,8 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
  * In-memory implementation of LuceneSearcher.
  */
 public class MemoryLuceneSearcher extends LuceneSearcher {
-    MemoryLuceneSearcher(AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(closeCallback);
-    }
-
     MemoryLuceneSearcher(VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(filter, closeCallback);
+        super(filter, closeCallback, 1, false, 0, 0);
     }
 
     @Override
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.RegExp;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Finds occurrences of terms of full text query in content of file. Offsets of occurrences are taken from term vector of the field
+ * which is searched, so content of file isn't tokenized at search time. Content is read only to find lines and previews of
+ * occurrences and reading stops at the line of the last occurrence. Substrings that contain whitespaces can't be matched with single
+ * term and are matched with content line by line.
+ *
+ * @see LuceneSearcher#search
+ */
+class SearchOccurrencesFinder {
+    /** Max number of occurrences returned for single file. */
+    static final int MAX_OCCURRENCES    = 100;
+    /** Max length of preview of line that contains occurrence. */
+    static final int MAX_PREVIEW_LENGTH = 120;
+
+    /**
+     * Creates finder of terms of full text query.
+     *
+     * @param textQuery
+     *         parsed full text query
+     * @param field
+     *         name of field that contains content of file, the field must be indexed with term vectors with offsets
+     */
+    static SearchOccurrencesFinder forQuery(Query textQuery, String field) {
+        final SearchOccurrencesFinder finder = new SearchOccurrencesFinder(field, null);
+        finder.collectTermMatchers(textQuery);
+        return finder;
+    }
+
+    /**
+     * Creates finder of terms that match regular expression.
+     *
+     * @param regexp
+     *         regular expression in syntax of {@link RegExp}
+     * @param field
+     *         name of field that contains content of file, the field must be indexed with term vectors with offsets
+     */
+    static SearchOccurrencesFinder forRegexp(String regexp, String field) {
+        final SearchOccurrencesFinder finder = new SearchOccurrencesFinder(field, null);
+        finder.termMatchers.add(new CharacterRunAutomaton(new RegExp(regexp).toAutomaton())::run);
+        return finder;
+    }
+
+    /**
+     * Creates finder of case insensitive occurrences of substring.
+     *
+     * @param substring
+     *         searched substring
+     * @param field
+     *         name of field that contains lower cased words of content of file separated by whitespaces, the field must be indexed
+     *         with term vectors with offsets
+     */
+    static SearchOccurrencesFinder forSubstring(String substring, String field) {
+        final String lowerCaseSubstring = substring.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerCaseSubstring.length(); i++) {
+            if (Character.isWhitespace(lowerCaseSubstring.charAt(i))) {
+                return new SearchOccurrencesFinder(null, lowerCaseSubstring);
+            }
+        }
+        return new SearchOccurrencesFinder(field, lowerCaseSubstring);
+    }
+
+    private final String                  field;
+    private final String                  substring;
+    private final List<Predicate<String>> termMatchers;
+
+    private SearchOccurrencesFinder(String field, String substring) {
+        this.field = field;
+        this.substring = substring;
+        this.termMatchers = new ArrayList<>();
+    }
+
+    /**
+     * Returns name of field which term vector is used to find occurrences or {@code null} if occurrences are found by reading of
+     * whole content.
+     */
+    String getField() {
+        return field;
+    }
+
+    private void collectTermMatchers(Query query) {
+        if (query instanceof TermQuery) {
+            final String text = ((TermQuery)query).getTerm().text();
+            termMatchers.add(text::equals);
+        } else if (query instanceof PrefixQuery) {
+            final String prefix = ((PrefixQuery)query).getPrefix().text();
+            termMatchers.add(term -> term.startsWith(prefix));
+        } else if (query instanceof WildcardQuery) {
+            final CharacterRunAutomaton automaton = new CharacterRunAutomaton(WildcardQuery.toAutomaton(((WildcardQuery)query).getTerm()));
+            termMatchers.add(automaton::run);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                final String text = term.text();
+                termMatchers.add(text::equals);
+            }
+        } else if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTermMatchers(clause.getQuery());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds occurrences of query terms in file.
+     *
+     * @param termVector
+     *         term vector of {@link #getField() field} of document of file, ignored if finder doesn't use term vectors
+     * @param content
+     *         reader of content of file
+     * @return found occurrences, at most {@link #MAX_OCCURRENCES}
+     * @throws IOException
+     *         if term vector or content can't be read
+     */
+    List<SearchOccurrence> find(Terms termVector, Reader content) throws IOException {
+        if (field == null) {
+            return findSubstring(content);
+        }
+        if (termVector == null) {
+            return emptyList();
+        }
+        final List<int[]> offsets = collectOffsets(termVector);
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        final List<SearchOccurrence> occurrences = new ArrayList<>(offsets.size());
+        readLines(content, (line, lineNumber, lineStart) -> {
+            // offsets are sorted, take all of them which are in the current line
+            while (occurrences.size() < offsets.size() && offsets.get(occurrences.size())[0] < lineStart + line.length()) {
+                final int[] offset = offsets.get(occurrences.size());
+                if (offset[0] < lineStart || offset[1] > lineStart + line.length()) {
+                    // file is changed after it was indexed
+                    return false;
+                }
+                occurrences.add(createOccurrence(line, lineNumber, lineStart, offset[0] - lineStart, offset[1] - lineStart));
+            }
+            return occurrences.size() < offsets.size();
+        });
+        return occurrences;
+    }
+
+    /** Collects offsets of matched terms sorted by start offset, at most {@link #MAX_OCCURRENCES}. */
+    private List<int[]> collectOffsets(Terms termVector) throws IOException {
+        final List<int[]> offsets = new ArrayList<>();
+        final TermsEnum termsEnum = termVector.iterator(null);
+        PostingsEnum postings = null;
+        BytesRef termBytes;
+        while ((termBytes = termsEnum.next()) != null) {
+            final String term = termBytes.utf8ToString();
+            if (substring == null ? !matches(term) : !term.contains(substring)) {
+                continue;
+            }
+            postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+            if (postings.nextDoc() == DocIdSetIterator.NO_MORE_DOCS) {
+                continue;
+            }
+            for (int i = postings.freq(); i > 0; i--) {
+                postings.nextPosition();
+                final int startOffset = postings.startOffset();
+                if (startOffset < 0) {
+                    // offsets are not stored
+                    return emptyList();
+                }
+                if (substring == null) {
+                    offsets.add(new int[]{startOffset, postings.endOffset()});
+                } else {
+                    for (int index = term.indexOf(substring); index >= 0; index = term.indexOf(substring, index + 1)) {
+                        offsets.add(new int[]{startOffset + index, startOffset + index + substring.length()});
+                    }
+                }
+            }
+        }
+        offsets.sort((first, second) -> Integer.compare(first[0], second[0]));
+        return offsets.size() > MAX_OCCURRENCES ? offsets.subList(0, MAX_OCCURRENCES) : offsets;
+    }
+
+    private List<SearchOccurrence> findSubstring(Reader content) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final int length = substring.length();
+        if (length == 0) {
+            return occurrences;
+        }
+        readLines(content, (line, lineNumber, lineStart) -> {
+            for (int i = 0; i + length <= line.length() && occurrences.size() < MAX_OCCURRENCES; i++) {
+                if (line.regionMatches(true, i, substring, 0, length)) {
+                    occurrences.add(createOccurrence(line, lineNumber, lineStart, i, i + length));
+                }
+            }
+            return occurrences.size() < MAX_OCCURRENCES;
+        });
+        return occurrences;
+    }
+
+    /**
+     * Reads content line by line and passes lines without line terminators to the visitor, stops when visitor returns {@code false}.
+     */
+    private static void readLines(Reader content, LineVisitor visitor) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int lineNumber = 1;
+        int lineStart = 0;
+        int offset = 0;
+        int c;
+        while ((c = content.read()) != -1) {
+            offset++;
+            if (c == '\n') {
+                if (!visitor.visit(trimCarriageReturn(line), lineNumber++, lineStart)) {
+                    return;
+                }
+                line.setLength(0);
+                lineStart = offset;
+            } else {
+                line.append((char)c);
+            }
+        }
+        if (line.length() > 0) {
+            visitor.visit(trimCarriageReturn(line), lineNumber, lineStart);
+        }
+    }
+
+    private static String trimCarriageReturn(StringBuilder line) {
+        final int length = line.length();
+        return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+    }
+
+    private boolean matches(String term) {
+        for (Predicate<String> termMatcher : termMatchers) {
+            if (termMatcher.test(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SearchOccurrence createOccurrence(String line, int lineNumber, int lineStart, int startColumn, int endColumn) {
+        int previewStart = 0;
+        int previewEnd = line.length();
+        if (previewEnd - previewStart > MAX_PREVIEW_LENGTH) {
+            // center preview around matched text
+            previewStart = Math.max(0, startColumn - (MAX_PREVIEW_LENGTH - (endColumn - startColumn)) / 2);
+            previewEnd = Math.min(line.length(), previewStart + MAX_PREVIEW_LENGTH);
+            previewStart = Math.min(startColumn, Math.max(0, Math.min(previewStart, previewEnd - MAX_PREVIEW_LENGTH)));
+        }
+        return new SearchOccurrence(line.substring(startColumn, endColumn),
+                                    lineStart + startColumn,
+                                    lineStart + endColumn,
+                                    lineNumber,
+                                    startColumn,
+                                    endColumn,
+                                    line.substring(previewStart, previewEnd),
+                                    startColumn - previewStart,
+                                    Math.min(endColumn, previewEnd) - previewStart);
+    }
+
+    private interface LineVisitor {
+        /** Visits line of content, returns {@code false} if reading of content should be stopped. */
+        boolean visit(String line, int lineNumber, int lineStart);
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Position in search results after the last retrieved hit. Token is valid only for the same version of index reader which was used for
+ * retrieving the hit, since identifiers of documents may be changed after updating of index.
+ *
+ * @see LuceneSearcher#search
+ */
+class SearchPageToken {
+    private static final byte FORMAT = 1;
+    private static final int  LENGTH = 1 + Long.BYTES + Integer.BYTES + Float.BYTES;
+
+    /**
+     * Parses string representation of token.
+     *
+     * @return parsed token or {@code null} if specified string is not valid token
+     */
+    static SearchPageToken parse(String token) {
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != LENGTH || bytes[0] != FORMAT) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+        final long readerVersion = buffer.getLong();
+        final int doc = buffer.getInt();
+        final float score = buffer.getFloat();
+        return new SearchPageToken(readerVersion, new ScoreDoc(doc, score));
+    }
+
+    private final long     readerVersion;
+    private final ScoreDoc after;
+
+    SearchPageToken(long readerVersion, ScoreDoc after) {
+        this.readerVersion = readerVersion;
+        this.after = after;
+    }
+
+    /** Version of index reader for which the token is created. */
+    long getReaderVersion() {
+        return readerVersion;
+    }
+
+    /** Last retrieved hit. */
+    ScoreDoc getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        final ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.put(FORMAT).putLong(readerVersion).putInt(after.doc).putFloat(after.score);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact in-memory model of a file system tree used by {@link FileTreeWalker}.
+ * Each tracked item is an integer identifier that points into a set of parallel
+ * primitive arrays (parent, name, siblings, last modification time), names are
+ * stored as interned path segments and children are looked up by
+ * {@code (parent, name)} pair in an open addressing hash table. That keeps
+ * memory footprint of a tracked item at a few dozens of bytes instead of a
+ * {@link Path} instance plus a boxed {@link Long} per item.
+ * <p>
+ * The class is not thread safe.
+ */
+final class FileTreeSnapshot {
+    static final int NOT_FOUND = -1;
+
+    private static final int   INITIAL_CAPACITY = 1024;
+    private static final int   FREE             = -2;
+    private static final int   EMPTY_SLOT       = -1;
+    private static final float MAX_LOAD_FACTOR  = 0.5f;
+
+    private final Path root;
+
+    private final Map<String, Integer> segmentIds = new HashMap<>();
+    private final List<String>         segments   = new ArrayList<>();
+
+    private int[]  parents;
+    private int[]  names;
+    private int[]  firstChildren;
+    private int[]  nextSiblings;
+    private int[]  previousSiblings;
+    private int[]  marks;
+    private long[] lastModified;
+
+    private final BitSet directories = new BitSet();
+    private final BitSet watched     = new BitSet();
+
+    private long[] slotKeys;
+    private int[]  slotValues;
+
+    private int rootId   = NOT_FOUND;
+    private int freeHead = NOT_FOUND;
+    private int capacity;
+    private int limit;
+    private int count;
+
+    FileTreeSnapshot(Path root) {
+        this.root = root;
+
+        allocateEntries(INITIAL_CAPACITY);
+        allocateSlots(INITIAL_CAPACITY * 2);
+    }
+
+    /** Returns number of tracked items. */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Finds identifier of an item by its absolute path.
+     *
+     * @return item identifier or {@link #NOT_FOUND}
+     */
+    int find(Path path) {
+        if (rootId == NOT_FOUND || !path.startsWith(root)) {
+            return NOT_FOUND;
+        }
+
+        int id = rootId;
+        for (Path name : root.relativize(path)) {
+            String segment = name.toString();
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            Integer segmentId = segmentIds.get(segment);
+            if (segmentId == null) {
+                return NOT_FOUND;
+            }
+
+            id = lookup(id, segmentId);
+            if (id == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+        }
+
+        return id;
+    }
+
+    /**
+     * Adds an item to the tree, parent item must be already tracked unless the
+     * path denotes the root of the tree.
+     *
+     * @return identifier of added item or {@link #NOT_FOUND} if parent is not tracked
+     */
+    int add(Path path, boolean directory, long modified) {
+        if (path.equals(root)) {
+            if (rootId == NOT_FOUND) {
+                rootId = allocate(NOT_FOUND, intern(""), directory, modified);
+            }
+            return rootId;
+        }
+
+        int parent = find(path.getParent());
+        if (parent == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+
+        int name = intern(path.getFileName().toString());
+        int id = lookup(parent, name);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+
+        id = allocate(parent, name, directory, modified);
+
+        int first = firstChildren[parent];
+        nextSiblings[id] = first;
+        if (first != NOT_FOUND) {
+            previousSiblings[first] = id;
+        }
+        firstChildren[parent] = id;
+
+        insertSlot(key(parent, name), id);
+
+        return id;
+    }
+
+    /**
+     * Removes an item with all its descendants. Consumer is called for each
+     * removed item, children go before their parents, item data is still
+     * available at the moment of call.
+     */
+    void remove(int id, IntConsumer onRemove) {
+        removeDescendants(id, onRemove);
+        onRemove.accept(id);
+
+        int parent = parents[id];
+        if (parent == NOT_FOUND) {
+            rootId = NOT_FOUND;
+        } else {
+            int previous = previousSiblings[id];
+            int next = nextSiblings[id];
+            if (previous == NOT_FOUND) {
+                firstChildren[parent] = next;
+            } else {
+                nextSiblings[previous] = next;
+            }
+            if (next != NOT_FOUND) {
+                previousSiblings[next] = previous;
+            }
+
+            removeSlot(key(parent, names[id]));
+        }
+        release(id);
+
+        if (segments.size() > 2 * count + INITIAL_CAPACITY) {
+            compactSegments();
+        }
+    }
+
+    /** Calls consumer for each direct child of an item. */
+    void forEachChild(int id, IntConsumer consumer) {
+        int child = firstChildren[id];
+        while (child != NOT_FOUND) {
+            int next = nextSiblings[child];
+            consumer.accept(child);
+            child = next;
+        }
+    }
+
+    /** Restores absolute path of an item. */
+    Path pathOf(int id) {
+        if (id == rootId) {
+            return root;
+        }
+
+        List<String> elements = new ArrayList<>();
+        for (int current = id; current != rootId; current = parents[current]) {
+            elements.add(segments.get(names[current]));
+        }
+
+        Path path = root;
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            path = path.resolve(elements.get(i));
+        }
+        return path;
+    }
+
+    boolean isDirectory(int id) {
+        return directories.get(id);
+    }
+
+    long getLastModified(int id) {
+        return lastModified[id];
+    }
+
+    void setLastModified(int id, long modified) {
+        lastModified[id] = modified;
+    }
+
+    boolean isWatched(int id) {
+        return watched.get(id);
+    }
+
+    void setWatched(int id, boolean value) {
+        watched.set(id, value);
+    }
+
+    boolean isMarked(int id, int mark) {
+        return marks[id] == mark;
+    }
+
+    void mark(int id, int mark) {
+        marks[id] = mark;
+    }
+
+    private void removeDescendants(int id, IntConsumer onRemove) {
+        int child = firstChildren[id];
+        while (child != NOT_FOUND) {
+            int next = nextSiblings[child];
+            removeDescendants(child, onRemove);
+            onRemove.accept(child);
+            removeSlot(key(id, names[child]));
+            release(child);
+            child = next;
+        }
+        firstChildren[id] = NOT_FOUND;
+    }
+
+    private int allocate(int parent, int name, boolean directory, long modified) {
+        int id;
+        if (freeHead != NOT_FOUND) {
+            id = freeHead;
+            freeHead = nextSiblings[id];
+        } else {
+            id = limit++;
+            if (id == capacity) {
+                allocateEntries(capacity + (capacity >> 1));
+            }
+        }
+
+        parents[id] = parent;
+        names[id] = name;
+        firstChildren[id] = NOT_FOUND;
+        nextSiblings[id] = NOT_FOUND;
+        previousSiblings[id] = NOT_FOUND;
+        marks[id] = 0;
+        lastModified[id] = modified;
+        directories.set(id, directory);
+        watched.clear(id);
+        count++;
+
+        return id;
+    }
+
+    private void release(int id) {
+        parents[id] = FREE;
+        nextSiblings[id] = freeHead;
+        freeHead = id;
+        directories.clear(id);
+        watched.clear(id);
+        count--;
+    }
+
+    private void allocateEntries(int newCapacity) {
+        parents = grow(parents, newCapacity);
+        names = grow(names, newCapacity);
+        firstChildren = grow(firstChildren, newCapacity);
+        nextSiblings = grow(nextSiblings, newCapacity);
+        previousSiblings = grow(previousSiblings, newCapacity);
+        marks = grow(marks, newCapacity);
+        lastModified = lastModified == null ? new long[newCapacity] : Arrays.copyOf(lastModified, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static int[] grow(int[] array, int newCapacity) {
+        return array == null ? new int[newCapacity] : Arrays.copyOf(array, newCapacity);
+    }
+
+    private int intern(String segment) {
+        Integer id = segmentIds.get(segment);
+        if (id == null) {
+            id = segments.size();
+            segments.add(segment);
+            segmentIds.put(segment, id);
+        }
+        return id;
+    }
+
+    /** Drops path segments that are not used by any tracked item anymore. */
+    private void compactSegments() {
+        List<String> oldSegments = new ArrayList<>(segments);
+        segments.clear();
+        segmentIds.clear();
+
+        for (int id = 0; id < limit; id++) {
+            if (parents[id] != FREE) {
+                names[id] = intern(oldSegments.get(names[id]));
+            }
+        }
+
+        allocateSlots(slotKeys.length);
+        for (int id = 0; id < limit; id++) {
+            if (parents[id] >= 0) {
+                insertSlot(key(parents[id], names[id]), id);
+            }
+        }
+    }
+
+    private static long key(int parent, int name) {
+        return ((long)parent << 32) | (name & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int)key;
+    }
+
+    private void allocateSlots(int size) {
+        slotKeys = new long[size];
+        slotValues = new int[size];
+        Arrays.fill(slotValues, EMPTY_SLOT);
+    }
+
+    private int lookup(int parent, int name) {
+        long key = key(parent, name);
+        int mask = slotKeys.length - 1;
+        for (int i = hash(key) & mask; slotValues[i] != EMPTY_SLOT; i = (i + 1) & mask) {
+            if (slotKeys[i] == key) {
+                return slotValues[i];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private void insertSlot(long key, int value) {
+        if (count > slotKeys.length * MAX_LOAD_FACTOR) {
+            long[] oldKeys = slotKeys;
+            int[] oldValues = slotValues;
+            allocateSlots(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != EMPTY_SLOT) {
+                    insertSlot(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        int mask = slotKeys.length - 1;
+        int i = hash(key) & mask;
+        while (slotValues[i] != EMPTY_SLOT) {
+            i = (i + 1) & mask;
+        }
+        slotKeys[i] = key;
+        slotValues[i] = value;
+    }
+
+    private void removeSlot(long key) {
+        int mask = slotKeys.length - 1;
+        int i = hash(key) & mask;
+        while (slotValues[i] != EMPTY_SLOT && slotKeys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (slotValues[i] == EMPTY_SLOT) {
+            return;
+        }
+
+        // backward shift deletion keeps probe sequences intact without tombstones
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (slotValues[j] == EMPTY_SLOT) {
+                break;
+            }
+            int home = hash(slotKeys[j]) & mask;
+            boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (between) {
+                continue;
+            }
+            slotKeys[i] = slotKeys[j];
+            slotValues[i] = slotValues[j];
+            i = j;
+        }
+        slotValues[i] = EMPTY_SLOT;
+    }
+}
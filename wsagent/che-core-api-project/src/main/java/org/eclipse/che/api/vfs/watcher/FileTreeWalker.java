@@ -16,36 +16,58 @@ import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent.Kind;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
 import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.api.vfs.watcher.FileTreeSnapshot.NOT_FOUND;
 
 /**
  * Walks a file system tree, register addition, update and removal of file system items.
  * On events runs corresponding consumers that can be registered in DI configuration modules.
+ * <p>
+ * The whole tree is walked only once, after that {@link FileWatcherService} events are
+ * used to find out which items should be checked again: an event marks the item and its
+ * parent directory as dirty, overflow or lost events mark the corresponding directory to
+ * be listed again. Directories that can't be watched (e.g. operating system limit of
+ * watched directories is reached) are listed on each walk. If no watcher service is
+ * provided the whole tree is walked each time.
  */
 @Singleton
 public class FileTreeWalker {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-    private final File root;
+    /** Check only the item itself */
+    private static final int ITEM = 0;
+    /** Check a directory and its direct entries */
+    private static final int LIST = 1;
+    /** Check the whole subtree */
+    private static final int TREE = Integer.MAX_VALUE;
+
+    private final Path               root;
+    private final FileWatcherService watcherService;
 
     private final Set<Consumer<Path>> directoryUpdateConsumers;
     private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -57,11 +79,40 @@ public class FileTreeWalker {
     private final Set<Consumer<Path>> fileDeleteConsumers;
     private final Set<PathMatcher>    fileExcludes;
 
-    private final Map<Path, Long> files       = new HashMap<>();
-    private final Map<Path, Long> directories = new HashMap<>();
+    private final FileTreeSnapshot   snapshot;
+    private final Map<Path, Integer> dirtyPaths = new ConcurrentHashMap<>();
+    private final Set<Path>          unwatched  = new HashSet<>();
+
+    private boolean initialized;
+    private int     walkMark;
+
+    private volatile long lastWalkDuration;
+    private volatile int  trackedEntries;
+
+    public FileTreeWalker(File root,
+                          Set<Consumer<Path>> directoryUpdateConsumers,
+                          Set<Consumer<Path>> directoryCreateConsumers,
+                          Set<Consumer<Path>> directoryDeleteConsumers,
+                          Set<PathMatcher> directoryExcludes,
+                          Set<Consumer<Path>> fileUpdateConsumers,
+                          Set<Consumer<Path>> fileCreateConsumers,
+                          Set<Consumer<Path>> fileDeleteConsumers,
+                          Set<PathMatcher> fileExcludes) {
+        this(root,
+             null,
+             directoryUpdateConsumers,
+             directoryCreateConsumers,
+             directoryDeleteConsumers,
+             directoryExcludes,
+             fileUpdateConsumers,
+             fileCreateConsumers,
+             fileDeleteConsumers,
+             fileExcludes);
+    }
 
     @Inject
     public FileTreeWalker(@Named("che.user.workspaces.storage") File root,
+                          FileWatcherService watcherService,
 
                           @Named("che.fs.directory.update") Set<Consumer<Path>> directoryUpdateConsumers,
                           @Named("che.fs.directory.create") Set<Consumer<Path>> directoryCreateConsumers,
@@ -72,7 +123,8 @@ public class FileTreeWalker {
                           @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
                           @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
                           @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-        this.root = root;
+        this.root = root.toPath().toAbsolutePath().normalize();
+        this.watcherService = watcherService;
 
         this.directoryUpdateConsumers = directoryUpdateConsumers;
         this.directoryCreateConsumers = directoryCreateConsumers;
@@ -84,70 +136,225 @@ public class FileTreeWalker {
 
         this.directoryExcludes = directoryExcludes;
         this.fileExcludes = fileExcludes;
+
+        this.snapshot = new FileTreeSnapshot(this.root);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (watcherService != null) {
+            watcherService.addListener(this::onEvent);
+        }
+    }
+
+    /** Returns duration of the last walk in milliseconds. */
+    public long getLastWalkDuration() {
+        return lastWalkDuration;
+    }
+
+    /** Returns number of files and directories that are currently tracked. */
+    public int getTrackedEntriesCount() {
+        return trackedEntries;
+    }
+
+    /**
+     * Handles raw file watcher event, the path is checked on the next walk.
+     *
+     * @param path
+     *         path that the event is originated from or directory if events are lost
+     * @param kind
+     *         kind of event
+     */
+    void onEvent(Path path, Kind<?> kind) {
+        if (!path.startsWith(root)) {
+            return;
+        }
+
+        if (kind == OVERFLOW) {
+            dirtyPaths.merge(path, LIST, Math::max);
+            return;
+        }
+
+        dirtyPaths.merge(path, kind == ENTRY_CREATE ? TREE : ITEM, Math::max);
+        if (!path.equals(root)) {
+            dirtyPaths.merge(path.getParent(), ITEM, Math::max);
+        }
     }
 
     @ScheduleRate(period = 10)
-    void walk() {
+    synchronized void walk() {
+        long start = System.nanoTime();
         try {
             LOG.debug("Tree walk started");
 
-            Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            fileDeleteConsumers.forEach(deletedFiles::forEach);
-            files.keySet().removeAll(deletedFiles);
+            if (!initialized || watcherService == null) {
+                dirtyPaths.clear();
+                check(root, TREE);
+                initialized = true;
+            } else {
+                Map<Path, Integer> pending = new LinkedHashMap<>();
+                for (Iterator<Path> it = unwatched.iterator(); it.hasNext(); ) {
+                    Path dir = it.next();
+                    int id = snapshot.find(dir);
+                    if (id != NOT_FOUND && watch(id, dir)) {
+                        it.remove();
+                    }
+                    pending.merge(dir, LIST, Math::max);
+                }
+                for (Path path : dirtyPaths.keySet()) {
+                    Integer depth = dirtyPaths.remove(path);
+                    if (depth != null) {
+                        pending.merge(path, depth, Math::max);
+                    }
+                }
+
+                pending.forEach(this::check);
+            }
+
+            LOG.debug("Tree walk finished");
+        } catch (Exception e) {
+            LOG.error("Error while walking file tree", e);
+        } finally {
+            lastWalkDuration = NANOSECONDS.toMillis(System.nanoTime() - start);
+            trackedEntries = snapshot.size();
+        }
+    }
 
-            Set<Path> deletedDirectories = directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-            directories.keySet().removeAll(deletedDirectories);
+    /**
+     * Synchronizes the snapshot with the file system starting from the path
+     * and down to the specified depth, runs consumers for found differences.
+     */
+    private void check(Path path, int depth) {
+        Path start = path;
+        while (!start.equals(root) && snapshot.find(start.getParent()) == NOT_FOUND) {
+            start = start.getParent();
+            depth = TREE;
+        }
 
-            walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
+        Set<Path> notListed = new HashSet<>();
+        int mark = ++walkMark;
+        try {
+            walkFileTree(start, emptySet(), depth, new SimpleFileVisitor<Path>() {
                 @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                    for (PathMatcher matcher : directoryExcludes) {
-                        if (matcher.matches(dir)) {
-                            return SKIP_SUBTREE;
-                        }
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (isExcluded(directoryExcludes, dir)) {
+                        return SKIP_SUBTREE;
                     }
 
-                    updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
+                    track(dir, attrs, mark);
 
                     return CONTINUE;
                 }
 
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    for (PathMatcher matcher : fileExcludes) {
-                        if (matcher.matches(file)) {
-                            return CONTINUE;
+                    if (attrs.isDirectory()) {
+                        // directory at the depth limit, its entries are not visited
+                        if (!isExcluded(directoryExcludes, file) && track(file, attrs, mark)) {
+                            notListed.add(file);
                         }
+                    } else if (!isExcluded(fileExcludes, file)) {
+                        track(file, attrs, mark);
                     }
 
-                    updateFsTreeAndAcceptConsumables(files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+                    return CONTINUE;
+                }
 
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    LOG.debug("Trying to process a file, however seems like it is already not present: {}", e.getMessage());
                     return CONTINUE;
                 }
             });
-            LOG.debug("Tree walk finished");
-        } catch (NoSuchFileException e) {
-            LOG.debug("Trying to process a file, however seems like it is already not present: {}", e.getMessage());
-        } catch (Exception e) {
+        } catch (IOException e) {
             LOG.error("Error while walking file tree", e);
+            return;
+        }
+
+        sweep(snapshot.find(start), depth, mark);
+
+        notListed.forEach(dir -> check(dir, TREE));
+    }
+
+    /**
+     * Registers an item in the snapshot.
+     *
+     * @return {@code true} if the item was not tracked before
+     */
+    private boolean track(Path path, BasicFileAttributes attrs, int mark) {
+        boolean directory = attrs.isDirectory();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+
+        int id = snapshot.find(path);
+        if (id != NOT_FOUND && snapshot.isDirectory(id) != directory) {
+            remove(id);
+            id = NOT_FOUND;
+        }
+
+        boolean created = id == NOT_FOUND;
+        if (created) {
+            id = snapshot.add(path, directory, lastModified);
+            if (id == NOT_FOUND) {
+                return false;
+            }
+            (directory ? directoryCreateConsumers : fileCreateConsumers).forEach(it -> it.accept(path));
+            if (directory && !watch(id, path)) {
+                unwatched.add(path);
+            }
+        } else if (snapshot.getLastModified(id) != lastModified) {
+            snapshot.setLastModified(id, lastModified);
+            (directory ? directoryUpdateConsumers : fileUpdateConsumers).forEach(it -> it.accept(path));
+        }
+
+        snapshot.mark(id, mark);
+
+        return created;
+    }
+
+    /** Removes tracked items that were not visited during the current check. */
+    private void sweep(int id, int depth, int mark) {
+        if (id == NOT_FOUND) {
+            return;
+        }
+
+        if (!snapshot.isMarked(id, mark)) {
+            remove(id);
+        } else if (depth > 0 && snapshot.isDirectory(id)) {
+            snapshot.forEachChild(id, child -> sweep(child, depth - 1, mark));
         }
     }
 
-    private void updateFsTreeAndAcceptConsumables(Map<Path, Long> items, Set<Consumer<Path>> updateConsumer,
-                                                  Set<Consumer<Path>> createConsumer,
-                                                  Path path, BasicFileAttributes attrs) {
-        Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+    private void remove(int id) {
+        snapshot.remove(id, removed -> {
+            Path path = snapshot.pathOf(removed);
+            if (snapshot.isDirectory(removed)) {
+                directoryDeleteConsumers.forEach(it -> it.accept(path));
+                unwatched.remove(path);
+                if (snapshot.isWatched(removed)) {
+                    watcherService.unRegister(path);
+                }
+            } else {
+                fileDeleteConsumers.forEach(it -> it.accept(path));
+            }
+        });
+    }
+
+    private boolean watch(int id, Path dir) {
+        if (watcherService == null) {
+            return true;
+        }
+
+        boolean registered = watcherService.tryRegister(dir);
+        snapshot.setWatched(id, registered);
+        return registered;
+    }
 
-        if (items.containsKey(path)) {
-            Long lastModifiedStored = items.get(path);
-            if (!lastModifiedActual.equals(lastModifiedStored)) {
-                updateConsumer.forEach(it -> it.accept(path));
-                items.put(path, lastModifiedActual);
+    private static boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+        for (PathMatcher matcher : excludes) {
+            if (matcher.matches(path)) {
+                return true;
             }
-        } else {
-            createConsumer.forEach(it -> it.accept(path));
-            items.put(path, lastModifiedActual);
         }
+        return false;
     }
 }
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent.Kind;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Accumulates file watcher events during a time window and merges events
+ * related to the same path:
+ * <ul>
+ * <li>create + modify = create</li>
+ * <li>modify + modify = modify</li>
+ * <li>create + delete = nothing</li>
+ * <li>modify + delete = delete</li>
+ * <li>delete + create = modify</li>
+ * </ul>
+ * Deletion of a directory drops pending events of its entries, also when
+ * it cancels creation of the directory, as well as deletion events of
+ * entries that come after deletion of the directory.
+ * <p>
+ * The class is not thread safe and is expected to be used by a single
+ * watcher thread.
+ */
+class FileWatcherEventCoalescer {
+    private final long windowMillis;
+    private final int  maxBatchSize;
+
+    private final Map<Path, Kind<?>> pending = new LinkedHashMap<>();
+
+    private long windowStart;
+    private int  received;
+
+    FileWatcherEventCoalescer(long windowMillis, int maxBatchSize) {
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds event to the current window, the window is opened by the first
+     * event added after the previous {@link #drain()}.
+     */
+    void add(Path path, Kind<?> kind) {
+        if (received++ == 0) {
+            windowStart = System.currentTimeMillis();
+        }
+
+        if (kind == ENTRY_DELETE && hasPendingDeletedAncestor(path)) {
+            return;
+        }
+
+        if (kind == ENTRY_DELETE) {
+            // entries of a deleted directory are gone as well, even if creation of the directory itself is cancelled
+            removeDescendants(path);
+        }
+
+        Kind<?> previous = pending.get(path);
+        Kind<?> merged = previous == null ? kind : merge(previous, kind);
+        if (merged == null) {
+            pending.remove(path);
+            return;
+        }
+        pending.put(path, merged);
+    }
+
+    /** Returns {@code true} if there are events to be drained. */
+    boolean hasPending() {
+        return received > 0;
+    }
+
+    /** Returns {@code true} if the window is over or the batch is full. */
+    boolean isReady() {
+        return received > 0 && (remainingMillis() == 0 || pending.size() >= maxBatchSize);
+    }
+
+    /** Returns time in milliseconds that is left till the end of current window. */
+    long remainingMillis() {
+        return Math.max(0, windowStart + windowMillis - System.currentTimeMillis());
+    }
+
+    /** Returns number of raw events received during current window. */
+    int getReceivedCount() {
+        return received;
+    }
+
+    /** Returns duration of current window in milliseconds. */
+    long getWindowDuration() {
+        return received == 0 ? 0 : System.currentTimeMillis() - windowStart;
+    }
+
+    /**
+     * Returns merged events of current window in order of their first
+     * occurrence and opens a new window.
+     */
+    Map<Path, Kind<?>> drain() {
+        Map<Path, Kind<?>> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        received = 0;
+        return batch;
+    }
+
+    private static Kind<?> merge(Kind<?> previous, Kind<?> next) {
+        if (previous == ENTRY_CREATE) {
+            return next == ENTRY_DELETE ? null : ENTRY_CREATE;
+        }
+        if (previous == ENTRY_DELETE) {
+            return next == ENTRY_DELETE ? ENTRY_DELETE : ENTRY_MODIFY;
+        }
+        return next == ENTRY_CREATE ? ENTRY_MODIFY : next;
+    }
+
+    private boolean hasPendingDeletedAncestor(Path path) {
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (pending.get(parent) == ENTRY_DELETE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeDescendants(Path path) {
+        for (Iterator<Path> it = pending.keySet().iterator(); it.hasNext(); ) {
+            Path item = it.next();
+            if (item.startsWith(path) && !item.equals(path)) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.util.function.Predicate;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static java.nio.file.Files.isDirectory;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
 
 @Singleton
@@ -111,7 +112,9 @@ public class FileWatcherEventHandler {
      * Handles event passed form file watcher system. Path parameter is expected
      * to be passed in a normal operation system file system form and is
      * transformed into internal virtual file system format before further
-     * processing.
+     * processing. As deletion events of directory entries may be collapsed
+     * into deletion event of the directory, operations registered to items
+     * within deleted directory are called as well.
      *
      * @param path
      *         path that the event is originated from
@@ -139,5 +142,19 @@ public class FileWatcherEventHandler {
                           .map(Optional::get)
                           .forEach(it -> it.accept(internalPath));
         }
+
+        if (ENTRY_DELETE.name().equals(kind.name())) {
+            for (Entry<Path, Set<FileWatcherOperation>> entry : operations.entrySet()) {
+                Path item = entry.getKey();
+                if (item.startsWith(path) && !item.equals(path)) {
+                    String internalItemPath = toInternalPath(root.toPath(), item);
+                    entry.getValue().stream()
+                         .map(it -> it.get(kind))
+                         .filter(Optional::isPresent)
+                         .map(Optional::get)
+                         .forEach(it -> it.accept(internalItemPath));
+                }
+            }
+        }
     }
 }
@@ -19,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -34,9 +35,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 import static java.lang.Thread.currentThread;
@@ -46,6 +49,7 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -61,31 +65,49 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public class FileWatcherService {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
+    private static final long DEFAULT_EVENT_WINDOW_MS  = 200;
+    private static final int  DEFAULT_EVENT_BATCH_SIZE = 1000;
+
     private final AtomicBoolean suspended = new AtomicBoolean(true);
     private final AtomicBoolean running   = new AtomicBoolean();
 
     private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
     private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
 
+    private final List<BiConsumer<Path, Kind<?>>> listeners = new CopyOnWriteArrayList<>();
+
     private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
     private final FileWatcherEventHandler            handler;
     private final WatchService                       service;
     private final Modifier[]                         eventModifiers;
     private final Kind<?>[]                          eventKinds;
+    private final FileWatcherEventCoalescer          coalescer;
 
     private ExecutorService executor;
 
-    @Inject
+    private volatile long lastBatchWindow;
+    private volatile int  lastBatchSize;
+    private volatile int  lastBatchReceived;
+
     public FileWatcherService(FileWatcherExcludePatternsRegistry excludePatternsRegistry,
                               FileWatcherEventHandler handler,
                               WatchService service) {
+        this(excludePatternsRegistry, handler, service, DEFAULT_EVENT_WINDOW_MS, DEFAULT_EVENT_BATCH_SIZE);
+    }
+
+    @Inject
+    public FileWatcherService(FileWatcherExcludePatternsRegistry excludePatternsRegistry,
+                              FileWatcherEventHandler handler,
+                              WatchService service,
+                              @Named("che.fs.watcher.event_window_ms") long eventWindow,
+                              @Named("che.fs.watcher.event_batch_size") int eventBatchSize) {
         this.excludePatternsRegistry = excludePatternsRegistry;
         this.handler = handler;
         this.service = service;
 
         this.eventModifiers = getWatchEventModifiers();
         this.eventKinds = getWatchEventKinds();
-
+        this.coalescer = new FileWatcherEventCoalescer(eventWindow, eventBatchSize);
     }
 
     @SuppressWarnings("unchecked")
@@ -126,7 +148,7 @@ public class FileWatcherService {
     }
 
     @PostConstruct
-    void start() throws IOException {
+    public void start() throws IOException {
         ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
         ThreadFactory factory = builder.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                        .setNameFormat(FileWatcherService.class.getSimpleName())
@@ -137,7 +159,7 @@ public class FileWatcherService {
     }
 
     @PreDestroy
-    void stop() {
+    public void stop() {
         running.compareAndSet(true, false);
 
         try {
@@ -166,6 +188,21 @@ public class FileWatcherService {
         }
     }
 
+    /** Returns duration in milliseconds of the last window in which events were coalesced. */
+    public long getLastBatchWindow() {
+        return lastBatchWindow;
+    }
+
+    /** Returns number of events passed to handler after the last window is coalesced. */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /** Returns number of raw events received during the last coalescing window. */
+    public int getLastBatchReceived() {
+        return lastBatchReceived;
+    }
+
     boolean isStopped() {
         return executor.isShutdown();
     }
@@ -183,6 +220,33 @@ public class FileWatcherService {
      *         directory
      */
     public void register(Path dir) {
+        try {
+            doRegister(dir);
+        } catch (IOException e) {
+            LOG.error("Can't register dir {} in file watch service", dir, e);
+        }
+    }
+
+    /**
+     * Same as {@link #register(Path)} but reports a failure instead of logging
+     * it, e.g. when operating system limit of watched directories is reached.
+     *
+     * @param dir
+     *         directory
+     *
+     * @return {@code false} if directory could not be registered, {@code true} otherwise
+     */
+    boolean tryRegister(Path dir) {
+        try {
+            doRegister(dir);
+            return true;
+        } catch (IOException e) {
+            LOG.debug("Can't register dir {} in file watch service: {}", dir, e.getMessage());
+            return false;
+        }
+    }
+
+    private void doRegister(Path dir) throws IOException {
         if (!Files.exists(dir)) {
             LOG.debug("Trying to register directory '{}' but it does not exist", dir);
             return;
@@ -193,17 +257,27 @@ public class FileWatcherService {
             LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
             registrations.put(dir, previous + 1);
         } else {
-            try {
-                LOG.debug("Starting watching directory '{}'", dir);
-                WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
-                keys.put(watchKey, dir);
-                registrations.put(dir, 1);
-            } catch (IOException e) {
-                LOG.error("Can't register dir {} in file watch service", dir, e);
-            }
+            LOG.debug("Starting watching directory '{}'", dir);
+            WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
+            keys.put(watchKey, dir);
+            registrations.put(dir, 1);
         }
     }
 
+    /**
+     * Adds a listener that receives every raw event of every registered
+     * directory before exclude patterns are applied. When events of a directory
+     * are lost (overflow or suspended service) listener is called with the
+     * directory path and {@link java.nio.file.StandardWatchEventKinds#OVERFLOW}
+     * kind.
+     *
+     * @param listener
+     *         event listener
+     */
+    void addListener(BiConsumer<Path, Kind<?>> listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Cancels registration of a directory for being watched. Each call of this
      * method decreases by one registration counter that corresponds to
@@ -278,12 +352,24 @@ public class FileWatcherService {
 
         while (running.get()) {
             try {
-                WatchKey watchKey = service.take();
+                if (coalescer.isReady()) {
+                    flushEvents();
+                }
+
+                WatchKey watchKey = coalescer.hasPending() ? service.poll(coalescer.remainingMillis(), MILLISECONDS)
+                                                           : service.take();
+                if (watchKey == null) {
+                    flushEvents();
+                    continue;
+                }
                 Path dir = keys.get(watchKey);
 
                 List<WatchEvent<?>> watchEvents = watchKey.pollEvents();
 
                 if (suspended.get()) {
+                    if (dir != null && !watchEvents.isEmpty()) {
+                        notifyListeners(dir, OVERFLOW);
+                    }
                     resetAndRemove(watchKey, dir);
 
                     LOG.debug("File watchers are running in suspended mode - skipping.");
@@ -295,6 +381,9 @@ public class FileWatcherService {
 
                     if (kind == OVERFLOW) {
                         LOG.warn("Detected file system events overflowing");
+                        if (dir != null) {
+                            notifyListeners(dir, OVERFLOW);
+                        }
                         continue;
                     }
 
@@ -302,12 +391,14 @@ public class FileWatcherService {
                     Path item = ev.context();
                     Path path = dir.resolve(item).toAbsolutePath();
 
+                    notifyListeners(path, kind);
+
                     if (excludePatternsRegistry.isExcluded(path)) {
                         LOG.debug("Path is within exclude list, skipping...");
                         continue;
                     }
 
-                    handler.handle(path, kind);
+                    coalescer.add(path, kind);
                 }
 
                 resetAndRemove(watchKey, dir);
@@ -321,6 +412,27 @@ public class FileWatcherService {
         }
     }
 
+    private void flushEvents() {
+        lastBatchWindow = coalescer.getWindowDuration();
+        lastBatchReceived = coalescer.getReceivedCount();
+
+        Map<Path, Kind<?>> batch = coalescer.drain();
+        lastBatchSize = batch.size();
+        LOG.debug("Coalesced {} file system events into {} during {} ms", lastBatchReceived, lastBatchSize, lastBatchWindow);
+
+        batch.forEach(handler::handle);
+    }
+
+    private void notifyListeners(Path path, Kind<?> kind) {
+        for (BiConsumer<Path, Kind<?>> listener : listeners) {
+            try {
+                listener.accept(path, kind);
+            } catch (RuntimeException e) {
+                LOG.error("Error while notifying file watcher listener", e);
+            }
+        }
+    }
+
     private void resetAndRemove(WatchKey watchKey, Path dir) {
         if (!watchKey.reset()) {
             if (dir != null) {
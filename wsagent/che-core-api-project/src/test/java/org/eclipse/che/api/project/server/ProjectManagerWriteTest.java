@@ -95,6 +95,34 @@ public class ProjectManagerWriteTest extends WsAgentTestBase {
         assertEquals(2, projectRegistry.getProjects().size());
     }
 
+    @Test
+    public void testCreateBatchProjectsSynchronizesWorkspaceProjectsOnce() throws Exception {
+        final List<List<ProjectConfig>> updates = new ArrayList<>();
+        final TestWorkspaceHolder holder = new TestWorkspaceHolder() {
+            @Override
+            protected void updateProjects(List<ProjectConfig> added,
+                                          List<ProjectConfig> updated,
+                                          List<ProjectConfig> removed) throws ServerException {
+                updates.add(added);
+                super.updateProjects(added, updated, removed);
+            }
+        };
+        pm = new ProjectManager(vfsProvider, projectTypeRegistry, projectRegistry, projectHandlerRegistry,
+                                importerRegistry, fileWatcherNotificationHandler, fileTreeWatcher, holder, fileWatcherManager);
+
+        final List<NewProjectConfig> configs = new ArrayList<>(3);
+        configs.add(createProjectConfigObject("testProject1", "/testProject1", BaseProjectType.ID, null));
+        configs.add(createProjectConfigObject("testProject2", "/testProject2", BaseProjectType.ID, null));
+        configs.add(createProjectConfigObject("testProject3", "/testProject3", BaseProjectType.ID, null));
+
+        pm.createBatchProjects(configs, false, new ProjectOutputLineConsumerFactory("ws", 300));
+
+        assertEquals(1, updates.size());
+        assertEquals(3, updates.get(0).size());
+        assertEquals(3, holder.getProjects().size());
+        assertEquals(1, holder.getSyncCount());
+    }
+
     @Test
     public void testCreateBatchProjectsByImportingSourceCode() throws Exception {
         final String projectPath1 = "/testProject1";
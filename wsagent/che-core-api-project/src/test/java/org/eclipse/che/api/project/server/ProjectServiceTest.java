@@ -217,7 +217,7 @@ public class ProjectServiceTest {
             return false;
         });
 
-        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters);
+        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters, false, 1, false, 0, 0);
 
         vfsProvider = new LocalVirtualFileSystemProvider(root, sProvider);
 
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link WorkspaceProjectsSyncer}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceProjectsSyncerTest {
+
+    @Mock
+    private ProjectRegistry projectRegistry;
+
+    @Test
+    public void shouldSendAllChangesWithSingleUpdate() throws Exception {
+        final RegisteredProject updated = createProject("/updated");
+        final RegisteredProject added1 = createProject("/added1");
+        final RegisteredProject added2 = createProject("/added2");
+        when(projectRegistry.getProjects()).thenReturn(asList(updated, added1, added2));
+        when(projectRegistry.getProject("/updated")).thenReturn(updated);
+        final TestSyncer syncer = new TestSyncer(0, asList(createConfig("/updated"), createConfig("/removed")));
+
+        syncer.sync(projectRegistry);
+
+        assertEquals(syncer.updates.size(), 1);
+        assertEquals(paths(syncer.updates.get(0).added), asList("/added1", "/added2"));
+        assertEquals(paths(syncer.updates.get(0).updated), asList("/updated"));
+        assertEquals(paths(syncer.updates.get(0).removed), asList("/removed"));
+        assertEquals(syncer.getSyncCount(), 1);
+        assertEquals(syncer.getUpdateCount(), 1);
+        verify(updated).setSync();
+        verify(added1).setSync();
+        verify(added2).setSync();
+    }
+
+    @Test
+    public void shouldNotUpdateProjectsWhenNothingChanged() throws Exception {
+        final TestSyncer syncer = new TestSyncer(0, new ArrayList<>());
+
+        syncer.sync(projectRegistry);
+
+        assertEquals(syncer.updates.size(), 0);
+        assertEquals(syncer.getSyncCount(), 1);
+        assertEquals(syncer.getUpdateCount(), 0);
+    }
+
+    @Test
+    public void shouldNotMarkProjectsSyncedWhenUpdateFails() throws Exception {
+        final RegisteredProject added = createProject("/added");
+        when(projectRegistry.getProjects()).thenReturn(asList(added));
+        final TestSyncer syncer = new TestSyncer(0, new ArrayList<>());
+        syncer.failure = new ServerException("error");
+
+        try {
+            syncer.sync(projectRegistry);
+        } catch (ServerException ignored) {
+        }
+
+        verify(added, never()).setSync();
+    }
+
+    @Test
+    public void shouldCoalesceSynchronizationsRequestedWithinWindow() throws Exception {
+        final TestSyncer syncer = new TestSyncer(500, new ArrayList<>());
+        final int count = 5;
+        final CountDownLatch started = new CountDownLatch(count);
+        final ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            final List<Future<?>> syncs = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                syncs.add(executor.submit(() -> {
+                    started.countDown();
+                    syncer.sync(projectRegistry);
+                    return null;
+                }));
+            }
+            started.await(10, TimeUnit.SECONDS);
+            for (Future<?> sync : syncs) {
+                sync.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(syncer.getSyncCount(), 1);
+    }
+
+    private static RegisteredProject createProject(String path) {
+        final RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(path);
+        return project;
+    }
+
+    private static ProjectConfig createConfig(String path) {
+        return new NewProjectConfigImpl(path, null, null, null, null, null, null, null);
+    }
+
+    private static List<String> paths(List<ProjectConfig> projects) {
+        return projects.stream().map(ProjectConfig::getPath).collect(toList());
+    }
+
+    private static class Update {
+        final List<ProjectConfig> added;
+        final List<ProjectConfig> updated;
+        final List<ProjectConfig> removed;
+
+        Update(List<ProjectConfig> added, List<ProjectConfig> updated, List<ProjectConfig> removed) {
+            this.added = added;
+            this.updated = updated;
+            this.removed = removed;
+        }
+    }
+
+    private static class TestSyncer extends WorkspaceProjectsSyncer {
+
+        final List<Update>        updates = new ArrayList<>();
+        final List<ProjectConfig> projects;
+
+        ServerException failure;
+
+        TestSyncer(long syncWindowMs, List<ProjectConfig> projects) {
+            super(syncWindowMs);
+            this.projects = projects;
+        }
+
+        @Override
+        public List<? extends ProjectConfig> getProjects() {
+            return projects;
+        }
+
+        @Override
+        public String getWorkspaceId() {
+            return "ws";
+        }
+
+        @Override
+        protected void updateProjects(List<ProjectConfig> added,
+                                      List<ProjectConfig> updated,
+                                      List<ProjectConfig> removed) throws ServerException {
+            if (failure != null) {
+                throw failure;
+            }
+            updates.add(new Update(added, updated, removed));
+        }
+
+        @Override
+        protected void addProject(ProjectConfig project) {}
+
+        @Override
+        protected void updateProject(ProjectConfig project) {}
+
+        @Override
+        protected void removeProject(ProjectConfig project) {}
+    }
+}
@@ -96,7 +96,7 @@ public class WsAgentTestBase {
 
         Set<PathMatcher> filters = new HashSet<>();
         filters.add(path -> true);
-        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters);
+        FSLuceneSearcherProvider sProvider = new FSLuceneSearcherProvider(indexDir, filters, false, 1, false, 0, 0);
 
         vfsProvider = new LocalVirtualFileSystemProvider(root, sProvider);
 
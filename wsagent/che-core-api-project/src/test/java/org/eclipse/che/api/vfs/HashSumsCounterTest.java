@@ -19,6 +19,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
 import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -54,7 +55,7 @@ public class HashSumsCounterTest {
         when(file.isFile()).thenReturn(true);
         when(file.getPath()).thenReturn(Path.of(path));
         when(file.toString()).thenReturn(path);
-        when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+        when(file.getContentChannel()).thenReturn(Channels.newChannel(new ByteArrayInputStream(content)));
         accept(file);
         return file;
     }
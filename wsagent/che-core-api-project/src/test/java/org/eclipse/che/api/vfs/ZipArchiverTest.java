@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -34,6 +36,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -105,6 +108,28 @@ public class ZipArchiverTest {
         assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void storesAlreadyCompressedFilesWithoutCompression() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        byte[] content = Strings.repeat(TEST_CONTENT, 1000).getBytes();
+        folder.createFile("image.png", content);
+        folder.createFile("text.txt", content);
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder, Deflater.BEST_COMPRESSION, ImmutableSet.of("png")).compress(compressedFolder);
+
+        Map<String, Long> compressedSizes = newHashMap();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(compressedFolder.toByteArray()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                ByteStreams.toByteArray(zip);
+                compressedSizes.put(zipEntry.getName(), zipEntry.getCompressedSize());
+            }
+        }
+        assertTrue(compressedSizes.get("image.png") >= content.length);
+        assertTrue(compressedSizes.get("text.txt") < content.length / 10);
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestZipArchive();
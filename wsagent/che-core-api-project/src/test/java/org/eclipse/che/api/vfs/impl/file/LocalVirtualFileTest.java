@@ -45,15 +45,22 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -341,6 +348,62 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void childrenKeepAttributesReadDuringListingUntilModified() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        List<VirtualFile> children = root.getChildren();
+        VirtualFile listedFolder = children.get(children.indexOf(folder));
+        VirtualFile listedFile = children.get(children.indexOf(file));
+
+        assertTrue(listedFolder.isFolder());
+        assertFalse(listedFolder.isFile());
+        assertEquals(0, listedFolder.getLength());
+        assertTrue(listedFile.isFile());
+        assertEquals(DEFAULT_CONTENT_BYTES.length, listedFile.getLength());
+        assertEquals(file.getLastModificationDate(), listedFile.getLastModificationDate());
+
+        listedFile.updateContent("updated content");
+
+        assertEquals("updated content".length(), listedFile.getLength());
+    }
+
+    @Test
+    public void childrenSeeChangesMadeBypassingVirtualFileSystemWhenListingAttributesExpire() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+        List<VirtualFile> children = root.getChildren();
+        VirtualFile listedFile = children.get(children.indexOf(file));
+
+        assertTrue(((LocalVirtualFile)file).toIoFile().delete());
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(LocalVirtualFile.ATTRIBUTES_TTL_NANOS) + 100);
+
+        assertFalse(listedFile.exists());
+        assertFalse(listedFile.isFile());
+    }
+
+    @Test
+    public void getsChildrenConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        createFileTree(root, 4);
+        int expectedSize = getFileTreeAsList(root).size();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> sizes = newArrayList();
+            for (int i = 0; i < 32; i++) {
+                sizes.add(executor.submit(() -> getFileTreeAsList(root).size()));
+            }
+            for (Future<Integer> size : sizes) {
+                assertEquals(expectedSize, size.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void getsChildrenWithFilter() throws Exception {
         VirtualFile root = getRoot();
@@ -1398,6 +1461,71 @@ public class LocalVirtualFileTest {
         verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
     }
 
+    @Test
+    public void compressesFolderToZipArchiveInOutputWithoutClosingIt() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        OutputStream output = mock(OutputStream.class);
+
+        folder.zip(output);
+
+        verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
+        verify(output, never()).close();
+    }
+
+    @Test
+    public void copiesContentOfBigFileToOutput() throws Exception {
+        byte[] content = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte)i;
+        }
+        VirtualFile file = getRoot().createFile(generateFileName(), content);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        file.copyContent(output);
+
+        assertArrayEquals(content, output.toByteArray());
+    }
+
+    @Test
+    public void readsContentOfBigFileFromChannel() throws Exception {
+        byte[] content = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte)i;
+        }
+        VirtualFile file = getRoot().createFile(generateFileName(), content);
+
+        try (ReadableByteChannel channel = file.getContentChannel()) {
+            assertArrayEquals(content, ByteStreams.toByteArray(Channels.newInputStream(channel)));
+        }
+    }
+
+    @Test
+    public void readsContentOfSmallFileFromChannelAfterFurtherUpdatesOfFile() throws Exception {
+        VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
+
+        try (ReadableByteChannel channel = file.getContentChannel()) {
+            file.updateContent("updated content");
+
+            assertArrayEquals(DEFAULT_CONTENT_BYTES, ByteStreams.toByteArray(Channels.newInputStream(channel)));
+        }
+    }
+
+    @Test
+    public void failsReadContentOfBigFileWhenFileIsModifiedWhileReading() throws Exception {
+        byte[] content = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        VirtualFile file = getRoot().createFile(generateFileName(), content);
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("was modified while its content was read");
+
+        try (InputStream input = file.getContent()) {
+            file.updateContent(new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 3]);
+            ByteStreams.toByteArray(input);
+        }
+    }
+
     @Test
     public void failsZipFile() throws Exception {
         VirtualFile root = getRoot();
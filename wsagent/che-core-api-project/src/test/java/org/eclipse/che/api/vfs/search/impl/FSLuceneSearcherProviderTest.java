@@ -41,7 +41,7 @@ public class FSLuceneSearcherProviderTest {
         indexRootDirectory = new File(targetDir, NameGenerator.generate("index-root", 4));
         assertTrue(indexRootDirectory.mkdir());
 
-        fsLuceneSearcherProvider = new FSLuceneSearcherProvider(indexRootDirectory, newHashSet(mock(PathMatcher.class)));
+        fsLuceneSearcherProvider = new FSLuceneSearcherProvider(indexRootDirectory, newHashSet(mock(PathMatcher.class)), false, 1, false, 0, 0);
     }
 
     @After
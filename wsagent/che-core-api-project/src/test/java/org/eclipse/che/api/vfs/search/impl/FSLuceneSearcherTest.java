@@ -12,12 +12,16 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.QueryExpression.TextSearchMode;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -29,7 +33,9 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.Matchers.any;
@@ -39,6 +45,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("Duplicates")
@@ -65,7 +73,7 @@ public class FSLuceneSearcherTest {
         when(filter.accept(any(VirtualFile.class))).thenReturn(false);
 
         closeCallback = mock(AbstractLuceneSearcherProvider.CloseCallback.class);
-        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 0, 0);
     }
 
     @AfterMethod
@@ -336,6 +344,338 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void keepsIndexDirectoryAfterClosingPersistentSearcher() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true, 1, false, 0, 0);
+        persistentSearcher.init(virtualFileSystem);
+
+        persistentSearcher.close();
+
+        assertTrue(indexDirectory.exists());
+        verify(closeCallback).onClose();
+    }
+
+    @Test
+    public void reconcilesPersistentIndexWithVirtualFileSystem() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile updated = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true, 1, false, 0, 0);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.close();
+
+        updated.updateContent(TEST_CONTENT[1]);
+        deleted.delete();
+        folder.createFile("aaa.txt", TEST_CONTENT[0]);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true, 1, false, 0, 0);
+        searcher.doInit();
+        LuceneSearcher.ReconcileResult result = searcher.reconcileTree(virtualFileSystem.getRoot());
+
+        assertEquals(1, result.getReused());
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getDeleted());
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList("/folder/yyy.txt"), searcher.search(new QueryExpression().setText("should")).getFilePaths());
+        assertEquals(newArrayList("/folder/aaa.txt"), searcher.search(new QueryExpression().setText("apollo")).getFilePaths());
+    }
+
+    @Test
+    public void indexesFileTreeInSeveralThreads() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d", i));
+            for (int j = 0; j < 100; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 4, false, 0, 0);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(250, searcher.search(new QueryExpression().setText("mission")).getTotalHits());
+        assertEquals(1000, searcher.getIndexWriter().numDocs());
+    }
+
+    @Test
+    public void indexesAddedFoldersWithPoolOfSearcherAndStopsPoolOnClose() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 4, false, 0, 0);
+        searcher.init(virtualFileSystem);
+
+        VirtualFile small = virtualFileSystem.getRoot().createFolder("small");
+        small.createFile("file", TEST_CONTENT[2]);
+        searcher.add(small);
+        VirtualFile big = virtualFileSystem.getRoot().createFolder("big");
+        for (int i = 0; i < 300; i++) {
+            big.createFile(String.format("file%03d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.add(big);
+
+        assertEquals(301, searcher.getIndexWriter().numDocs());
+
+        searcher.close();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hasIndexingThreads() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(hasIndexingThreads());
+    }
+
+    private static boolean hasIndexingThreads() {
+        return Thread.getAllStackTraces()
+                     .keySet()
+                     .stream()
+                     .anyMatch(thread -> thread.getName().startsWith("LuceneSearcherIndexThread"));
+    }
+
+    @Test
+    public void doesNotStoreContentOfFilesInIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        searcher.getIndexWriter().commit();
+
+        try (DirectoryReader reader = DirectoryReader.open(searcher.getIndexWriter().getDirectory())) {
+            assertEquals(1, reader.numDocs());
+            Document document = reader.document(0);
+            assertEquals("/folder/xxx.txt", document.get("path"));
+            assertNull(document.get("text"));
+        }
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+    }
+
+    @Test
+    public void doesNotIncludePositionsOfSearchedTextByDefault() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(1, result.getResults().size());
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void includesPositionsOfSearchedTextWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[0] + '\n' + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludePositions(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        SearchOccurrence first = occurrences.get(0);
+        assertEquals("be", first.getPhrase());
+        assertEquals(2, first.getLineNumber());
+        assertEquals(3, first.getStartColumn());
+        assertEquals(5, first.getEndColumn());
+        assertEquals(TEST_CONTENT[0].length() + 4, first.getStartOffset());
+        assertEquals(TEST_CONTENT[2], first.getPreview());
+        assertEquals(3, first.getPreviewMatchStart());
+        assertEquals(5, first.getPreviewMatchEnd());
+        assertEquals(16, occurrences.get(1).getStartColumn());
+    }
+
+    @Test
+    public void searchesWordsOfSourceCodeInCodeMode() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "return this.foo(bar);");
+        folder.createFile("Bar.java", "String value = getFooBar();");
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.search(new QueryExpression().setText("foo")).getFilePaths().isEmpty());
+
+        List<String> paths = searcher.search(new QueryExpression().setText("foo").setTextSearchMode(TextSearchMode.CODE))
+                                     .getFilePaths();
+        paths.sort(null);
+        assertEquals(newArrayList("/folder/Bar.java", "/folder/Foo.java"), paths);
+        paths = searcher.search(new QueryExpression().setText("bar").setTextSearchMode(TextSearchMode.CODE)).getFilePaths();
+        paths.sort(null);
+        assertEquals(newArrayList("/folder/Bar.java", "/folder/Foo.java"), paths);
+    }
+
+    @Test
+    public void searchesSubstringWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("zzz.txt", TEST_CONTENT[3]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, true, 0, 0);
+        searcher.init(virtualFileSystem);
+
+        QueryExpression query = new QueryExpression().setText("MAN SPACEfl")
+                                                     .setTextSearchMode(TextSearchMode.SUBSTRING)
+                                                     .setIncludePositions(true);
+        SearchResult result = searcher.search(query);
+
+        assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+        SearchOccurrence occurrence = result.getResults().get(0).getOccurrences().get(0);
+        assertEquals("man spacefl", occurrence.getPhrase());
+        assertEquals(TEST_CONTENT[0].indexOf("man spacefl"), occurrence.getStartColumn());
+        assertEquals(newArrayList("/folder/zzz.txt"),
+                     searcher.search(new QueryExpression().setText("rly 1961, dir").setTextSearchMode(TextSearchMode.SUBSTRING))
+                             .getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setText("man  space").setTextSearchMode(TextSearchMode.SUBSTRING))
+                           .getFilePaths()
+                           .isEmpty());
+    }
+
+    @Test
+    public void includesPositionsOfSubstringInsideOfWords() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1] + "\r\n" + TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        QueryExpression query = new QueryExpression().setText("FLIGHT")
+                                                     .setTextSearchMode(TextSearchMode.SUBSTRING)
+                                                     .setIncludePositions(true);
+        SearchResult result = searcher.search(query);
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        SearchOccurrence occurrence = occurrences.get(0);
+        assertEquals("flight", occurrence.getPhrase());
+        assertEquals(2, occurrence.getLineNumber());
+        assertEquals(TEST_CONTENT[0].indexOf("flight"), occurrence.getStartColumn());
+        assertEquals(TEST_CONTENT[1].length() + 2 + TEST_CONTENT[0].indexOf("flight"), occurrence.getStartOffset());
+        assertEquals(TEST_CONTENT[0], occurrence.getPreview());
+    }
+
+    @Test
+    public void retrievesNextPageWithPageToken() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(10));
+        QueryExpression secondPageQuery = firstPage.getNextPageQueryExpression().get();
+        assertNotNull(secondPageQuery.getPageToken());
+        SearchResult secondPage = searcher.search(secondPageQuery);
+        QueryExpression lastPageQuery = secondPage.getNextPageQueryExpression().get();
+        SearchResult lastPage = searcher.search(lastPageQuery);
+
+        assertEquals(10, secondPage.getFilePaths().size());
+        assertEquals(5, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+        Set<String> allPaths = new HashSet<>();
+        allPaths.addAll(firstPage.getFilePaths());
+        allPaths.addAll(secondPage.getFilePaths());
+        allPaths.addAll(lastPage.getFilePaths());
+        assertEquals(25, allPaths.size());
+    }
+
+    @Test
+    public void retrievesAllHitsWithoutPageLimit() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 1200; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%04d", i), TEST_CONTENT[2]);
+        }
+        searcher.init(virtualFileSystem);
+
+        Set<String> paths = new HashSet<>();
+        int retrieved = searcher.searchAll(new QueryExpression().setText("be"), entry -> paths.add(entry.getFilePath()));
+
+        assertEquals(1200, retrieved);
+        assertEquals(1200, paths.size());
+    }
+
+    @Test
+    public void appliesDeferredUpdatesOfIndexBeforeSearch() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 60_000, 100);
+        searcher.init(virtualFileSystem);
+
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+        searcher.add(virtualFileSystem.getRoot().createFolder("bbb").createFile("bbb.txt", TEST_CONTENT[1]));
+
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setPath("/aaa")).getFilePaths();
+
+        assertEquals(newArrayList(file.getPath().toString()), paths);
+        assertEquals(2, searcher.search(new QueryExpression().setText("should")).getTotalHits());
+        assertEquals(0, searcher.getPendingUpdates());
+        assertEquals(0, searcher.getIndexUpdateLag());
+    }
+
+    @Test
+    public void mergesDeferredUpdatesOfIndexForTheSamePath() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile file = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 60_000, 100);
+        searcher.init(virtualFileSystem);
+
+        searcher.update(file);
+        searcher.update(file);
+        searcher.delete(folder.getPath().toString(), false);
+        searcher.delete(file.getPath().toString(), true);
+
+        assertEquals(2, searcher.getPendingUpdates());
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        assertEquals(0, searcher.getIndexUpdateLag());
+    }
+
+    @Test
+    public void keepsTimeOfFirstMergedUpdateOfTheSamePath() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 60_000, 100);
+        searcher.init(virtualFileSystem);
+
+        searcher.update(file);
+        Thread.sleep(200);
+        searcher.update(file);
+
+        assertEquals(1, searcher.getPendingUpdates());
+        assertTrue(searcher.getIndexUpdateLag() >= 200);
+    }
+
+    @Test
+    public void removesDocumentsOfDeletedFolderWhenItIsAddedAgainWithinDelay() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 60_000, 100);
+        searcher.init(virtualFileSystem);
+
+        folder.delete();
+        searcher.delete(folder.getPath().toString(), false);
+        VirtualFile recreated = virtualFileSystem.getRoot().createFolder("folder");
+        recreated.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.add(recreated);
+
+        assertEquals(1, searcher.getPendingUpdates());
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+    }
+
+    @Test
+    public void appliesDeferredUpdatesOfIndexAfterDelay() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, false, 1, false, 10, 100);
+        searcher.init(virtualFileSystem);
+
+        searcher.add(virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (searcher.getPendingUpdates() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, searcher.getPendingUpdates());
+        assertEquals(1, searcher.getIndexWriter().numDocs());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
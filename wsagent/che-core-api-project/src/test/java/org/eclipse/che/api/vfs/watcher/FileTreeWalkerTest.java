@@ -28,9 +28,14 @@ import java.util.function.Consumer;
 
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link FileTreeWalker}
@@ -72,6 +77,9 @@ public class FileTreeWalkerTest {
     @Mock
     Consumer<Path> directoryDeleteConsumerMock;
 
+    @Mock
+    FileWatcherService watcherService;
+
     @Before
     public void setUp() throws Exception {
         fileTreeWalker = new FileTreeWalker(rootFolder.getRoot(),
@@ -198,4 +206,71 @@ public class FileTreeWalkerTest {
         fileTreeWalker.walk();
         verify(directoryCreatedConsumerMock, never()).accept(file.toPath());
     }
+
+    @Test
+    public void shouldCheckOnlyPathsReportedByWatcherAfterFirstWalk() throws Exception {
+        when(watcherService.tryRegister(any(Path.class))).thenReturn(true);
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        FileTreeWalker eventDrivenWalker = createEventDrivenWalker();
+        eventDrivenWalker.walk();
+
+        File reported = rootFolder.newFile(TEST_FILE_NAME);
+        File notReported = rootFolder.newFile(TEST_FILE_NAME + "-not-reported");
+        eventDrivenWalker.onEvent(reported.toPath(), ENTRY_CREATE);
+        eventDrivenWalker.walk();
+
+        verify(fileCreatedConsumerMock).accept(reported.toPath());
+        verify(fileCreatedConsumerMock, never()).accept(notReported.toPath());
+        verify(watcherService).tryRegister(rootFolder.getRoot().toPath());
+    }
+
+    @Test
+    public void shouldListDirectoryAgainOnEventsOverflow() throws Exception {
+        when(watcherService.tryRegister(any(Path.class))).thenReturn(true);
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        FileTreeWalker eventDrivenWalker = createEventDrivenWalker();
+        eventDrivenWalker.walk();
+
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        eventDrivenWalker.onEvent(rootFolder.getRoot().toPath(), OVERFLOW);
+        eventDrivenWalker.walk();
+
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldListUnwatchedDirectoryOnEachWalk() throws Exception {
+        when(watcherService.tryRegister(any(Path.class))).thenReturn(false);
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        FileTreeWalker eventDrivenWalker = createEventDrivenWalker();
+        eventDrivenWalker.walk();
+
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        eventDrivenWalker.walk();
+
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldExposeTrackedEntriesCount() throws Exception {
+        rootFolder.newFile(TEST_FILE_NAME);
+        rootFolder.newFolder(TEST_FOLDER_NAME);
+
+        fileTreeWalker.walk();
+
+        assertEquals(3, fileTreeWalker.getTrackedEntriesCount());
+    }
+
+    private FileTreeWalker createEventDrivenWalker() {
+        return new FileTreeWalker(rootFolder.getRoot(),
+                                  watcherService,
+                                  directoryUpdateConsumers,
+                                  directoryCreateConsumers,
+                                  directoryDeleteConsumers,
+                                  directoryExcludes,
+                                  fileUpdateConsumers,
+                                  fileCreateConsumers,
+                                  fileDeleteConsumers,
+                                  fileExcludes);
+    }
 }
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent.Kind;
+import java.util.Map;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileWatcherEventCoalescer}
+ */
+public class FileWatcherEventCoalescerTest {
+    private static final Path DIRECTORY = Paths.get("/projects/project/folder");
+    private static final Path FILE      = DIRECTORY.resolve("file");
+
+    FileWatcherEventCoalescer coalescer;
+
+    @Before
+    public void setUp() throws Exception {
+        coalescer = new FileWatcherEventCoalescer(60_000, 3);
+    }
+
+    @Test
+    public void shouldMergeCreateAndModifyIntoCreate() throws Exception {
+        coalescer.add(FILE, ENTRY_CREATE);
+        coalescer.add(FILE, ENTRY_MODIFY);
+        coalescer.add(FILE, ENTRY_MODIFY);
+
+        Map<Path, Kind<?>> batch = coalescer.drain();
+
+        assertEquals(1, batch.size());
+        assertEquals(ENTRY_CREATE, batch.get(FILE));
+    }
+
+    @Test
+    public void shouldMergeSeveralModificationsIntoOne() throws Exception {
+        coalescer.add(FILE, ENTRY_MODIFY);
+        coalescer.add(FILE, ENTRY_MODIFY);
+
+        Map<Path, Kind<?>> batch = coalescer.drain();
+
+        assertEquals(1, batch.size());
+        assertEquals(ENTRY_MODIFY, batch.get(FILE));
+    }
+
+    @Test
+    public void shouldCancelCreateFollowedByDelete() throws Exception {
+        coalescer.add(FILE, ENTRY_CREATE);
+        coalescer.add(FILE, ENTRY_MODIFY);
+        coalescer.add(FILE, ENTRY_DELETE);
+
+        assertTrue(coalescer.drain().isEmpty());
+    }
+
+    @Test
+    public void shouldMergeDeleteAndCreateIntoModify() throws Exception {
+        coalescer.add(FILE, ENTRY_DELETE);
+        coalescer.add(FILE, ENTRY_CREATE);
+
+        assertEquals(ENTRY_MODIFY, coalescer.drain().get(FILE));
+    }
+
+    @Test
+    public void shouldCollapseEntriesEventsIntoDirectoryDelete() throws Exception {
+        coalescer.add(FILE, ENTRY_MODIFY);
+        coalescer.add(DIRECTORY.resolve("other"), ENTRY_DELETE);
+        coalescer.add(DIRECTORY, ENTRY_DELETE);
+        coalescer.add(DIRECTORY.resolve("late"), ENTRY_DELETE);
+
+        Map<Path, Kind<?>> batch = coalescer.drain();
+
+        assertEquals(1, batch.size());
+        assertEquals(ENTRY_DELETE, batch.get(DIRECTORY));
+    }
+
+    @Test
+    public void shouldDropEntriesEventsWhenCreatedDirectoryIsDeleted() throws Exception {
+        coalescer.add(DIRECTORY, ENTRY_CREATE);
+        coalescer.add(FILE, ENTRY_CREATE);
+        coalescer.add(DIRECTORY, ENTRY_DELETE);
+
+        assertTrue(coalescer.drain().isEmpty());
+    }
+
+    @Test
+    public void shouldBeReadyWhenBatchIsFull() throws Exception {
+        coalescer.add(DIRECTORY.resolve("a"), ENTRY_CREATE);
+        coalescer.add(DIRECTORY.resolve("b"), ENTRY_CREATE);
+        assertFalse(coalescer.isReady());
+
+        coalescer.add(DIRECTORY.resolve("c"), ENTRY_CREATE);
+
+        assertTrue(coalescer.isReady());
+        assertEquals(3, coalescer.getReceivedCount());
+    }
+
+    @Test
+    public void shouldOpenNewWindowAfterDrain() throws Exception {
+        coalescer.add(FILE, ENTRY_CREATE);
+        coalescer.drain();
+
+        assertFalse(coalescer.hasPending());
+        assertEquals(0, coalescer.getWindowDuration());
+    }
+}
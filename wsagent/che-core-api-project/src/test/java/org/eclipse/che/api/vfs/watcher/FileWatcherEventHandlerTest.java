@@ -132,4 +132,15 @@ public class FileWatcherEventHandlerTest {
 
         verify(create).accept(toInternalPath(root, path));
     }
+
+    @Test
+    public void shouldHandleRegisteredDescendantPathWhenParentDelete() throws Exception {
+        Path directory = root.resolve("project");
+        Path path = directory.resolve("file");
+        handler.register(path, create, modify, delete);
+
+        handler.handle(directory, ENTRY_DELETE);
+
+        verify(delete).accept(toInternalPath(root, path));
+    }
 }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdSubclassMap;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Answers which branches contain a commit without walking history of each branch. Index is built with a single walk over
+ * commits reachable from all local and remote branches in topological order, set of branches of each commit is propagated to its
+ * parents. Commits which are contained in the same branches share the same set, so size of index is about size of map of commit
+ * identifiers. Index reflects the branches at the moment it was built and is rebuilt when any branch is updated.
+ */
+final class BranchReachabilityIndex {
+    private final Map<String, ObjectId>          tips;
+    private final List<String>                   branches;
+    private final ObjectIdSubclassMap<Reachable> commits;
+
+    /**
+     * Returns index for the current state of branches of repository. Index is taken from cache if no branch was created, removed
+     * or updated since it was built.
+     *
+     * @param repository
+     *         repository
+     * @param cache
+     *         cache of built indexes, may be {@code null}
+     */
+    static BranchReachabilityIndex of(Repository repository, Cache<File, BranchReachabilityIndex> cache) throws IOException {
+        final Map<String, ObjectId> tips = readTips(repository);
+        if (cache == null) {
+            return new BranchReachabilityIndex(repository, tips);
+        }
+        final File key = repository.getDirectory().getAbsoluteFile();
+        BranchReachabilityIndex index = cache.getIfPresent(key);
+        if (index == null || !index.tips.equals(tips)) {
+            index = new BranchReachabilityIndex(repository, tips);
+            cache.put(key, index);
+        }
+        return index;
+    }
+
+    private BranchReachabilityIndex(Repository repository, Map<String, ObjectId> tips) throws IOException {
+        this.tips = tips;
+        this.branches = new ArrayList<>(tips.keySet());
+        this.commits = new ObjectIdSubclassMap<>();
+
+        final Map<BitSet, BitSet> sets = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.sort(RevSort.TOPO);
+            for (int i = 0; i < branches.size(); i++) {
+                final RevObject tip = walk.peel(walk.parseAny(tips.get(branches.get(i))));
+                if (tip instanceof RevCommit) {
+                    final BitSet set = new BitSet();
+                    set.set(i);
+                    add((RevCommit)tip, set, sets);
+                    walk.markStart((RevCommit)tip);
+                }
+            }
+            // topological order guarantees that a commit comes after all its children, so its set is complete here
+            for (RevCommit commit; (commit = walk.next()) != null; ) {
+                final BitSet set = commits.get(commit).branches;
+                for (RevCommit parent : commit.getParents()) {
+                    add(parent, set, sets);
+                }
+            }
+        }
+    }
+
+    /** Returns full names of branches which contain specified commit, e.g. {@code refs/heads/master}. */
+    List<String> getBranches(AnyObjectId commit) {
+        final Reachable reachable = commits.get(commit);
+        if (reachable == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>(reachable.branches.cardinality());
+        for (int i = reachable.branches.nextSetBit(0); i >= 0; i = reachable.branches.nextSetBit(i + 1)) {
+            result.add(branches.get(i));
+        }
+        return result;
+    }
+
+    private void add(RevCommit commit, BitSet set, Map<BitSet, BitSet> sets) {
+        final Reachable reachable = commits.get(commit);
+        if (reachable == null) {
+            commits.add(new Reachable(commit, intern(set, sets)));
+        } else if (!contains(reachable.branches, set)) {
+            final BitSet union = (BitSet)reachable.branches.clone();
+            union.or(set);
+            reachable.branches = intern(union, sets);
+        }
+    }
+
+    private static boolean contains(BitSet set, BitSet subset) {
+        final BitSet missing = (BitSet)subset.clone();
+        missing.andNot(set);
+        return missing.isEmpty();
+    }
+
+    private static BitSet intern(BitSet set, Map<BitSet, BitSet> sets) {
+        final BitSet existing = sets.putIfAbsent(set, set);
+        return existing == null ? set : existing;
+    }
+
+    /** Reads tips of local and remote branches, detached {@code HEAD} is considered as a branch as well. */
+    private static Map<String, ObjectId> readTips(Repository repository) throws IOException {
+        final Map<String, ObjectId> tips = new TreeMap<>();
+        for (String prefix : new String[]{Constants.R_HEADS, Constants.R_REMOTES}) {
+            for (Ref ref : repository.getRefDatabase().getRefs(prefix).values()) {
+                if (ref.getObjectId() != null) {
+                    tips.put(ref.getName(), ref.getObjectId().copy());
+                }
+            }
+        }
+        final Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && !head.isSymbolic() && head.getObjectId() != null) {
+            tips.put(Constants.HEAD, head.getObjectId().copy());
+        }
+        return tips;
+    }
+
+    private static final class Reachable extends ObjectId {
+        BitSet branches;
+
+        Reachable(AnyObjectId id, BitSet branches) {
+            super(id);
+            this.branches = branches;
+        }
+    }
+}
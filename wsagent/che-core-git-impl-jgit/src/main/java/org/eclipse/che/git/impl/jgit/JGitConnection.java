@@ -12,6 +12,7 @@
 package org.eclipse.che.git.impl.jgit;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
 import com.jcraft.jsch.JSch;
@@ -169,6 +170,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -250,6 +252,9 @@ class JGitConnection implements GitConnection {
     private JGitConfigImpl      config;
     private LineConsumerFactory lineConsumerFactory;
 
+    private Cache<File, BranchReachabilityIndex> branchReachabilityIndexes;
+    private JGitStatusCache                      statusCache;
+
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
@@ -771,6 +776,14 @@ class JGitConnection implements GitConnection {
     /** @see org.eclipse.che.api.git.GitConnection#log(LogParams) */
     @Override
     public LogPage log(LogParams params) throws GitException {
+        List<Revision> commits = new ArrayList<>();
+        log(params, commits::add);
+        return new LogPage(commits);
+    }
+
+    /** @see org.eclipse.che.api.git.GitConnection#log(LogParams, Consumer) */
+    @Override
+    public void log(LogParams params, Consumer<Revision> consumer) throws GitException {
         LogCommand logCommand = getGit().log();
         try {
             setRevisionRange(logCommand, params);
@@ -785,13 +798,11 @@ class JGitConnection implements GitConnection {
                 logCommand.addPath(filePath);
             }
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
-            List<Revision> commits = new ArrayList<>();
+            BranchReachabilityIndex branchIndex = BranchReachabilityIndex.of(repository, branchReachabilityIndexes);
             while (revIterator.hasNext()) {
                 RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
-                commits.add(revision);
+                consumer.accept(getRevision(commit, filePath, branchIndex, params.isDiffFiles()));
             }
-            return new LogPage(commits);
         } catch (GitAPIException | IOException exception) {
             String errorMessage = exception.getMessage();
             if (ERROR_LOG_NO_HEAD_EXISTS.equals(errorMessage)) {
@@ -803,19 +814,26 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private Revision getRevision(RevCommit commit,
+                                 String filePath,
+                                 BranchReachabilityIndex branchIndex,
+                                 boolean diffFiles) throws IOException {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
+        List<Branch> branches = branchIndex.getBranches(commit)
+                                           .stream()
+                                           .map(name -> newDto(Branch.class).withName(name))
+                                           .collect(Collectors.toList());
 
         return newDto(Revision.class).withId(commit.getId().getName())
                                      .withMessage(commit.getFullMessage())
                                      .withCommitTime((long)commit.getCommitTime() * 1000)
                                      .withCommitter(getCommitCommitter(commit))
                                      .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+                                     .withBranches(branches)
                                      .withCommitParent(commitParentsList)
-                                     .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+                                     .withDiffCommitFile(diffFiles ? getCommitDiffFiles(commit, filePath) : new ArrayList<>());
     }
 
     private GitUser getCommitCommitter(RevCommit commit) {
@@ -830,16 +848,6 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
-    }
-
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
         List<DiffEntry> diffs;
         TreeFilter filter = null;
@@ -1522,6 +1530,9 @@ class JGitConnection implements GitConnection {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
+        if (statusCache != null) {
+            return new JGitStatusImpl(branchName, statusCache.status(getRepository()), format);
+        }
         return new JGitStatusImpl(branchName, getGit().status(), format);
     }
 
@@ -1651,6 +1662,16 @@ class JGitConnection implements GitConnection {
         this.lineConsumerFactory = lineConsumerFactory;
     }
 
+    /** Sets cache of indexes of branches that is shared between connections, without cache index is built for each log call. */
+    void setBranchReachabilityIndexes(Cache<File, BranchReachabilityIndex> branchReachabilityIndexes) {
+        this.branchReachabilityIndexes = branchReachabilityIndexes;
+    }
+
+    /** Sets cache of status that is shared between connections, without cache status scans the whole working tree. */
+    void setStatusCache(JGitStatusCache statusCache) {
+        this.statusCache = statusCache;
+    }
+
 
     private Git getGit() {
         if (git != null) {
@@ -11,14 +11,15 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
@@ -31,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JGit implementation for GitConnectionFactory
@@ -41,15 +43,33 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final CredentialsLoader  credentialsLoader;
+    private final SshKeyProvider     sshKeyProvider;
+    private final GitUserResolver    userResolver;
+    private final JGitRepositoryPool repositoryPool;
+    private final JGitStatusCache    statusCache;
+
+    /** Indexes of branches reachability used by git log, kept between connections while branches are not changed. */
+    private final Cache<File, BranchReachabilityIndex> branchReachabilityIndexes = CacheBuilder.newBuilder()
+                                                                                               .maximumSize(16)
+                                                                                               .expireAfterAccess(10, TimeUnit.MINUTES)
+                                                                                               .build();
 
-    @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+        this(credentialsLoader, sshKeyProvider, userResolver, new JGitRepositoryPool(), new JGitStatusCache());
+    }
+
+    @Inject
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitRepositoryPool repositoryPool,
+                                 JGitStatusCache statusCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryPool = repositoryPool;
+        this.statusCache = statusCache;
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -81,12 +101,14 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         Repository gitRepo = createRepository(workDir);
         JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
+        conn.setBranchReachabilityIndexes(branchReachabilityIndexes);
+        conn.setStatusCache(statusCache);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository createRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryPool.acquire(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
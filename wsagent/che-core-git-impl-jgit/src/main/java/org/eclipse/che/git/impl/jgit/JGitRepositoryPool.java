@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares opened git repositories between {@link JGitConnection}s of the same working directory, so configuration, references
+ * and pack indexes of repository are not re-read for each connection. Repository is returned to the pool when connection is
+ * closed and it is closed by the pool when it is not used during idle timeout.
+ * <p>
+ * Pooled repository is dropped if its {@code .git} directory is re-created, e.g. when project is removed and imported again.
+ * Repositories which {@code .git} directory doesn't exist yet, e.g. for cloning or initializing of new repository, are not pooled.
+ * <p>
+ * Pool also installs configuration of cache of pack files which is shared by all repositories opened by JGit.
+ */
+@Singleton
+public class JGitRepositoryPool {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryPool.class);
+
+    private static final int KB = 1024;
+    private static final int MB = 1024 * KB;
+
+    private final long                        idleTimeout;
+    private final Map<Path, PooledRepository> repositories;
+    private final ScheduledExecutorService    evictor;
+
+    private long hits;
+    private long misses;
+
+    /** Creates pool which doesn't keep repositories, each call of {@link #acquire(File)} opens new repository. */
+    public JGitRepositoryPool() {
+        this.idleTimeout = 0;
+        this.repositories = new HashMap<>();
+        this.evictor = null;
+    }
+
+    /**
+     * @param idleTimeoutSec
+     *         time in seconds after that unused repository is closed, {@code 0} disables pooling of repositories
+     * @param packedGitLimitMb
+     *         maximal number of megabytes of pack files that are cached in memory by all repositories
+     * @param packedGitWindowSizeKb
+     *         size in kilobytes of window that is read from pack file at once, must be power of 2
+     * @param packedGitOpenFiles
+     *         maximal number of pack files that are kept open by all repositories
+     * @param packedGitMmap
+     *         if {@code true} then windows of pack files are mapped into memory instead of reading them into java heap
+     * @param deltaBaseCacheLimitMb
+     *         maximal number of megabytes of inflated delta bases cached by a reader
+     */
+    @Inject
+    public JGitRepositoryPool(@Named("che.git.jgit.repository_idle_timeout_sec") long idleTimeoutSec,
+                              @Named("che.git.jgit.packed_git_limit_mb") int packedGitLimitMb,
+                              @Named("che.git.jgit.packed_git_window_size_kb") int packedGitWindowSizeKb,
+                              @Named("che.git.jgit.packed_git_open_files") int packedGitOpenFiles,
+                              @Named("che.git.jgit.packed_git_mmap") boolean packedGitMmap,
+                              @Named("che.git.jgit.delta_base_cache_limit_mb") int deltaBaseCacheLimitMb) {
+        this.idleTimeout = TimeUnit.SECONDS.toMillis(idleTimeoutSec);
+        this.repositories = new HashMap<>();
+        if (idleTimeout > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JGitRepositoryPoolEvictor")
+                                                                                           .setUncaughtExceptionHandler(
+                                                                                                   LoggingUncaughtExceptionHandler
+                                                                                                           .getInstance())
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+            final long period = Math.max(idleTimeout / 2, 1000);
+            evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+
+        final WindowCacheConfig cacheConfig = new WindowCacheConfig();
+        cacheConfig.setPackedGitLimit((long)packedGitLimitMb * MB);
+        cacheConfig.setPackedGitWindowSize(packedGitWindowSizeKb * KB);
+        cacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+        cacheConfig.setPackedGitMMAP(packedGitMmap);
+        cacheConfig.setDeltaBaseCacheLimit(deltaBaseCacheLimitMb * MB);
+        cacheConfig.install();
+    }
+
+    /**
+     * Gets repository of specified working directory. Repository must be closed with {@link Repository#close()} when it is not
+     * needed anymore, pooled repository is returned to the pool instead of closing.
+     *
+     * @param workDir
+     *         working directory of repository
+     * @return repository
+     * @throws IOException
+     *         if repository can't be opened
+     */
+    public Repository acquire(File workDir) throws IOException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT);
+        final Object identity = idleTimeout > 0 ? identityOf(gitDir.toPath()) : null;
+        if (identity == null) {
+            return new FileRepository(gitDir);
+        }
+
+        final Path key = gitDir.toPath().toAbsolutePath().normalize();
+        synchronized (this) {
+            PooledRepository repository = repositories.get(key);
+            if (repository != null && repository.identity.equals(identity)) {
+                repository.useCount++;
+                hits++;
+                return repository;
+            }
+            if (repository != null) {
+                retire(repository);
+            }
+            repository = new PooledRepository(gitDir, identity);
+            repository.useCount = 1;
+            repositories.put(key, repository);
+            misses++;
+            return repository;
+        }
+    }
+
+    /** Returns number of repositories kept in the pool. */
+    public synchronized int size() {
+        return repositories.size();
+    }
+
+    /** Returns number of times a repository was taken from the pool instead of opening it. */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** Returns number of times a repository had to be opened and added to the pool. */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** Closes all repositories which are not used at the moment, repositories which are in use are closed when they are released. */
+    @PreDestroy
+    public void stop() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        synchronized (this) {
+            for (PooledRepository repository : repositories.values()) {
+                repository.retired = true;
+                if (repository.useCount == 0) {
+                    repository.dispose();
+                }
+            }
+            repositories.clear();
+        }
+    }
+
+    /** Closes repositories which are not used during idle timeout. */
+    synchronized void evictIdle() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<PooledRepository> it = repositories.values().iterator(); it.hasNext(); ) {
+            final PooledRepository repository = it.next();
+            if (repository.useCount == 0 && now - repository.lastReleased >= idleTimeout) {
+                it.remove();
+                repository.dispose();
+            }
+        }
+    }
+
+    private synchronized void release(PooledRepository repository) {
+        if (repository.useCount == 0) {
+            LOG.warn("Repository {} is released more times than it was acquired", repository.getDirectory());
+            return;
+        }
+        repository.useCount--;
+        repository.lastReleased = System.currentTimeMillis();
+        if (repository.useCount == 0 && repository.retired) {
+            repository.dispose();
+        }
+    }
+
+    private void retire(PooledRepository repository) {
+        repositories.values().remove(repository);
+        repository.retired = true;
+        if (repository.useCount == 0) {
+            repository.dispose();
+        }
+    }
+
+    /**
+     * Identity of {@code .git} directory that changes when directory is re-created. Returns {@code null} if directory doesn't
+     * exist. File key is not available on every file system and creation time may be reported as modification time, in this
+     * case repository is just re-opened more often than needed.
+     */
+    private static Object identityOf(Path gitDir) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(gitDir, BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return null;
+            }
+            return Arrays.asList(attributes.fileKey(), attributes.creationTime());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Repository that returns itself to the pool when it is closed. Fields are guarded by the pool. */
+    private class PooledRepository extends FileRepository {
+        final Object identity;
+
+        int     useCount;
+        long    lastReleased;
+        boolean retired;
+
+        PooledRepository(File gitDir, Object identity) throws IOException {
+            super(gitDir);
+            this.identity = identity;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        void dispose() {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.StatusCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.file.FileSnapshot;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last computed git status of each repository and updates it incrementally. Paths of working tree reported by file
+ * watcher are marked as dirty and the next status call re-checks only dirty paths against the index instead of scanning the
+ * whole working tree.
+ * <p>
+ * Full scan is performed when:
+ * <ul>
+ * <li>status of repository is requested first time</li>
+ * <li>index file is changed or {@code HEAD} points to another commit, e.g. after add, commit, checkout, reset or merge</li>
+ * <li>ignore rules are changed</li>
+ * <li>number of dirty paths exceeds configured limit</li>
+ * <li>the previous full scan is older than configured interval, it covers changes that were not reported by file watcher</li>
+ * </ul>
+ * Changes made in working tree are visible in status once file watcher reports them. Directories of working tree are
+ * registered in file watcher when status of repository is requested first time, directories created later are registered
+ * when their creation is reported.
+ */
+@Singleton
+public class JGitStatusCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitStatusCache.class);
+
+    private static final String GITIGNORE    = Constants.DOT_GIT_IGNORE;
+    private static final String GIT_DIR      = Constants.DOT_GIT + '/';
+    private static final String INFO_EXCLUDE = GIT_DIR + Constants.INFO_EXCLUDE;
+
+    /** Category of path in git status. */
+    enum Kind {
+        ADDED,
+        CHANGED,
+        REMOVED,
+        MISSING,
+        MODIFIED,
+        UNTRACKED,
+        UNTRACKED_FOLDER,
+        CONFLICTING
+    }
+
+    private final Path                        root;
+    private final FileWatcherManager          fileWatcherManager;
+    private final int                         maxDirtyPaths;
+    private final long                        fullScanInterval;
+    private final Map<Path, RepositoryStatus> repositories;
+    private final Map<Path, Integer>          watchedDirs;
+
+    private volatile boolean started;
+
+    /** Creates cache which doesn't keep status, each status call scans the whole working tree. */
+    public JGitStatusCache() {
+        this.root = null;
+        this.fileWatcherManager = null;
+        this.maxDirtyPaths = 0;
+        this.fullScanInterval = 0;
+        this.repositories = new ConcurrentHashMap<>();
+        this.watchedDirs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param root
+     *         root of workspace file system which paths reported by file watcher are relative to
+     * @param fileWatcherManager
+     *         file watcher that reports changes of working trees
+     * @param maxDirtyPaths
+     *         maximal number of changed paths which are re-checked incrementally, if more paths are changed whole working tree
+     *         is scanned, {@code 0} disables caching of status
+     * @param fullScanIntervalSec
+     *         maximal age in seconds of the last full scan of working tree
+     */
+    @Inject
+    public JGitStatusCache(@Named("che.user.workspaces.storage") File root,
+                           FileWatcherManager fileWatcherManager,
+                           @Named("che.git.jgit.status_cache_max_dirty_paths") int maxDirtyPaths,
+                           @Named("che.git.jgit.status_cache_full_scan_interval_sec") long fullScanIntervalSec) {
+        this.root = root.toPath().normalize().toAbsolutePath();
+        this.fileWatcherManager = fileWatcherManager;
+        this.maxDirtyPaths = maxDirtyPaths;
+        this.fullScanInterval = TimeUnit.SECONDS.toMillis(fullScanIntervalSec);
+        this.repositories = new ConcurrentHashMap<>();
+        this.watchedDirs = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        started = isEnabled();
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        started = false;
+        repositories.clear();
+        for (Path dir : watchedDirs.keySet()) {
+            unwatch(dir);
+        }
+    }
+
+    /**
+     * Returns status of repository, the whole working tree is scanned only if status can't be updated incrementally.
+     *
+     * @param repository
+     *         repository with working tree
+     * @throws GitException
+     *         if status can't be computed
+     */
+    StatusSnapshot status(Repository repository) throws GitException {
+        if (!started) {
+            return scan(repository, Collections.emptySet()).snapshot();
+        }
+        final Path workTree = repository.getWorkTree().toPath().normalize().toAbsolutePath();
+        RepositoryStatus status = repositories.get(workTree);
+        if (status == null) {
+            final RepositoryStatus created = new RepositoryStatus();
+            status = repositories.putIfAbsent(workTree, created);
+            if (status == null) {
+                status = created;
+                // watching starts before the first full scan, so changes made during the scan are not lost
+                watchTree(workTree);
+            }
+        }
+        synchronized (status) {
+            final String head = readHead(repository);
+            final File indexFile = repository.getIndexFile();
+            boolean fullScan = status.entries == null
+                               || status.fullScanRequired
+                               || status.dirty.size() > maxDirtyPaths
+                               || status.indexSnapshot.isModified(indexFile)
+                               || !head.equals(status.head)
+                               || System.currentTimeMillis() - status.lastFullScan > fullScanInterval;
+            if (!fullScan && !status.dirty.isEmpty()) {
+                final Set<String> dirty = new TreeSet<>(status.dirty);
+                status.dirty.removeAll(dirty);
+                fullScan = !update(repository, status.entries, dirty);
+            }
+            if (fullScan) {
+                // paths reported while working tree is scanned stay dirty and are re-checked next time
+                final FileSnapshot indexSnapshot = FileSnapshot.save(indexFile);
+                status.dirty.clear();
+                status.fullScanRequired = false;
+                status.entries = scan(repository, Collections.emptySet()).entries;
+                status.indexSnapshot = indexSnapshot;
+                status.head = head;
+                status.lastFullScan = System.currentTimeMillis();
+            }
+            return new StatusSnapshot(status.entries);
+        }
+    }
+
+    /**
+     * Re-checks dirty paths and replaces their entries in status.
+     *
+     * @return {@code false} if status can't be updated incrementally
+     */
+    private boolean update(Repository repository, TreeMap<String, Set<Kind>> entries, Set<String> dirty) throws GitException {
+        for (String path : dirty) {
+            if (isUnderUntrackedFolder(entries, path)) {
+                return false;
+            }
+        }
+        final StatusSnapshot changes = scan(repository, dirty).snapshot();
+        for (String folder : changes.get(Kind.UNTRACKED_FOLDER)) {
+            // folder may contain tracked files which were filtered out of the scan
+            if (!dirty.contains(folder) && !isUnder(dirty, folder)) {
+                return false;
+            }
+        }
+        for (String path : dirty) {
+            entries.remove(path);
+            // '0' follows '/' so the range covers all paths under the folder
+            entries.subMap(path + '/', path + '0').clear();
+        }
+        entries.putAll(changes.entries);
+        return true;
+    }
+
+    private static ScanResult scan(Repository repository, Set<String> paths) throws GitException {
+        final StatusCommand command = Git.wrap(repository).status();
+        paths.forEach(command::addPath);
+        final org.eclipse.jgit.api.Status status;
+        try {
+            status = command.call();
+        } catch (GitAPIException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
+        final ScanResult result = new ScanResult();
+        result.put(Kind.ADDED, status.getAdded());
+        result.put(Kind.CHANGED, status.getChanged());
+        result.put(Kind.REMOVED, status.getRemoved());
+        result.put(Kind.MISSING, status.getMissing());
+        result.put(Kind.MODIFIED, status.getModified());
+        result.put(Kind.UNTRACKED, status.getUntracked());
+        result.put(Kind.UNTRACKED_FOLDER, status.getUntrackedFolders());
+        result.put(Kind.CONFLICTING, status.getConflicting());
+        return result;
+    }
+
+    private void onCreated(String path) {
+        final Path file = toFile(path);
+        if (Files.isDirectory(file) && isInWorkTree(file)) {
+            watchTree(file);
+        }
+        markDirty(file);
+    }
+
+    private void onDeleted(String path) {
+        final Path file = toFile(path);
+        for (Path dir : watchedDirs.keySet()) {
+            if (dir.startsWith(file)) {
+                unwatch(dir);
+            }
+        }
+        markDirty(file);
+    }
+
+    private void markDirty(String path) {
+        markDirty(toFile(path));
+    }
+
+    private void markDirty(Path file) {
+        for (Map.Entry<Path, RepositoryStatus> entry : repositories.entrySet()) {
+            if (!file.startsWith(entry.getKey()) || file.equals(entry.getKey())) {
+                continue;
+            }
+            final String relative = toGitPath(entry.getKey().relativize(file));
+            final RepositoryStatus status = entry.getValue();
+            if (relative.equals(INFO_EXCLUDE) || relative.equals(GITIGNORE) || relative.endsWith('/' + GITIGNORE)) {
+                status.fullScanRequired = true;
+            } else if (!relative.startsWith(GIT_DIR)
+                       && !relative.equals(Constants.DOT_GIT)
+                       && status.dirty.size() <= maxDirtyPaths) {
+                // index and HEAD are checked on each status call, other files of .git directory don't affect status
+                status.dirty.add(relative);
+            }
+            LOG.debug("Path {} of repository {} is marked as changed", relative, entry.getKey());
+        }
+    }
+
+    private boolean isInWorkTree(Path path) {
+        for (Path workTree : repositories.keySet()) {
+            if (path.startsWith(workTree)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers directory and its sub-directories in file watcher, events of entries of registered directory are reported to
+     * this cache. Only {@code info} directory is registered of {@code .git} directory as other its files don't affect status.
+     */
+    private void watchTree(Path start) {
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (Constants.DOT_GIT.equals(String.valueOf(dir.getFileName()))) {
+                        final Path info = dir.resolve("info");
+                        if (Files.isDirectory(info)) {
+                            watch(info);
+                        }
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    watch(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException exception) {
+            LOG.warn("Unable to watch changes of {}, status is updated on full scan. Reason is {}",
+                     start,
+                     exception.getMessage());
+        }
+    }
+
+    private void watch(Path dir) {
+        watchedDirs.computeIfAbsent(dir, key -> fileWatcherManager.registerByPath('/' + toGitPath(root.relativize(key)),
+                                                                                  this::onCreated,
+                                                                                  this::markDirty,
+                                                                                  this::onDeleted));
+    }
+
+    private void unwatch(Path dir) {
+        final Integer id = watchedDirs.remove(dir);
+        if (id != null) {
+            fileWatcherManager.unRegisterByPath(id);
+        }
+    }
+
+    private Path toFile(String path) {
+        return root.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+    }
+
+    private boolean isEnabled() {
+        return fileWatcherManager != null && maxDirtyPaths > 0;
+    }
+
+    private static String readHead(Repository repository) throws GitException {
+        try {
+            final Ref head = repository.exactRef(Constants.HEAD);
+            if (head == null) {
+                return "";
+            }
+            final ObjectId id = head.getObjectId();
+            return head.getTarget().getName() + ':' + (id == null ? "" : id.name());
+        } catch (IOException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
+    }
+
+    private static boolean isUnderUntrackedFolder(TreeMap<String, Set<Kind>> entries, String path) {
+        for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+            final Set<Kind> kinds = entries.get(path.substring(0, i));
+            if (kinds != null && kinds.contains(Kind.UNTRACKED_FOLDER)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnder(Set<String> folders, String path) {
+        for (String folder : folders) {
+            if (path.startsWith(folder + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toGitPath(Path relative) {
+        final StringBuilder result = new StringBuilder();
+        for (Path segment : relative) {
+            if (result.length() > 0) {
+                result.append('/');
+            }
+            result.append(segment.toString());
+        }
+        return result.toString();
+    }
+
+    /** Immutable copy of status of repository. */
+    static final class StatusSnapshot {
+        private final Map<String, Set<Kind>> entries;
+
+        private StatusSnapshot(Map<String, Set<Kind>> entries) {
+            final Map<String, Set<Kind>> copy = new TreeMap<>();
+            entries.forEach((path, kinds) -> copy.put(path, EnumSet.copyOf(kinds)));
+            this.entries = copy;
+        }
+
+        /** Returns sorted paths of specified category. */
+        List<String> get(Kind kind) {
+            final List<String> paths = new ArrayList<>();
+            entries.forEach((path, kinds) -> {
+                if (kinds.contains(kind)) {
+                    paths.add(path);
+                }
+            });
+            return paths;
+        }
+
+        /** Returns {@code true} if there are no changes in index and working tree and no untracked files. */
+        boolean isClean() {
+            return entries.isEmpty();
+        }
+    }
+
+    private static final class ScanResult {
+        final TreeMap<String, Set<Kind>> entries = new TreeMap<>();
+
+        void put(Kind kind, Set<String> paths) {
+            for (String path : paths) {
+                entries.computeIfAbsent(path, key -> EnumSet.noneOf(Kind.class)).add(kind);
+            }
+        }
+
+        StatusSnapshot snapshot() {
+            return new StatusSnapshot(entries);
+        }
+    }
+
+    /**
+     * Cached status of single repository. Status is guarded by the object itself, dirty paths are added by file watcher
+     * without locking, so file watcher is not blocked while working tree is scanned.
+     */
+    private static final class RepositoryStatus {
+        final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+        volatile boolean fullScanRequired;
+
+        TreeMap<String, Set<Kind>> entries;
+        FileSnapshot               indexSnapshot;
+        String                     head;
+        long                       lastFullScan;
+    }
+}
@@ -77,6 +77,29 @@ public class JGitStatusImpl implements Status, InfoPage {
         conflicting = new ArrayList<>(gitStatus.getConflicting());
     }
 
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param snapshot
+     *         status of repository taken from {@link JGitStatusCache}
+     * @param format
+     *         the output format for the status
+     */
+    JGitStatusImpl(String branchName, JGitStatusCache.StatusSnapshot snapshot, StatusFormat format) {
+        this.branchName = branchName;
+        this.format = format;
+
+        clean = snapshot.isClean();
+        added = snapshot.get(JGitStatusCache.Kind.ADDED);
+        changed = snapshot.get(JGitStatusCache.Kind.CHANGED);
+        removed = snapshot.get(JGitStatusCache.Kind.REMOVED);
+        missing = snapshot.get(JGitStatusCache.Kind.MISSING);
+        modified = snapshot.get(JGitStatusCache.Kind.MODIFIED);
+        untracked = snapshot.get(JGitStatusCache.Kind.UNTRACKED);
+        untrackedFolders = snapshot.get(JGitStatusCache.Kind.UNTRACKED_FOLDER);
+        conflicting = snapshot.get(JGitStatusCache.Kind.CONFLICTING);
+    }
+
     @Override
     public void writeTo(OutputStream out) throws IOException {
         StringBuilder status = new StringBuilder();
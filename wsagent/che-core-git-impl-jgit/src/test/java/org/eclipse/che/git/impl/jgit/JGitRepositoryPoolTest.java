@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test class for {@link JGitRepositoryPool}
+ */
+public class JGitRepositoryPoolTest {
+    private File               workDir;
+    private JGitRepositoryPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("repository-pool").toFile();
+        Git.init().setDirectory(workDir).call().close();
+        pool = new JGitRepositoryPool(300, 10, 8, 128, false, 10);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        pool.stop();
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void sharesRepositoryOfTheSameWorkingDirectory() throws Exception {
+        Repository first = pool.acquire(workDir);
+        Repository second = pool.acquire(workDir);
+
+        assertSame(first, second);
+        assertEquals(pool.size(), 1);
+        assertEquals(pool.getMissCount(), 1);
+        assertEquals(pool.getHitCount(), 1);
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void keepsReleasedRepositoryTillIdleTimeout() throws Exception {
+        Repository repository = pool.acquire(workDir);
+        repository.close();
+
+        pool.evictIdle();
+
+        assertEquals(pool.size(), 1);
+        assertSame(pool.acquire(workDir), repository);
+        repository.close();
+    }
+
+    @Test
+    public void doesNotPoolRepositoryWhichIsNotCreatedYet() throws Exception {
+        IoUtil.deleteRecursive(new File(workDir, Constants.DOT_GIT));
+
+        Repository repository = pool.acquire(workDir);
+
+        assertEquals(pool.size(), 0);
+        repository.close();
+    }
+
+    @Test
+    public void opensNewRepositoryWhenGitDirectoryIsRecreated() throws Exception {
+        Repository old = pool.acquire(workDir);
+        old.close();
+        IoUtil.deleteRecursive(new File(workDir, Constants.DOT_GIT));
+        Thread.sleep(1000);
+        Git.init().setDirectory(workDir).call().close();
+
+        Repository repository = pool.acquire(workDir);
+
+        assertNotSame(repository, old);
+        assertEquals(pool.size(), 1);
+        repository.close();
+    }
+}
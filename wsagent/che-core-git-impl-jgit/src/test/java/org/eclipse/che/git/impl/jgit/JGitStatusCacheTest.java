@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.vfs.watcher.FileWatcherByPathMatcher;
+import org.eclipse.che.api.vfs.watcher.FileWatcherByPathValue;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventHandler;
+import org.eclipse.che.api.vfs.watcher.FileWatcherExcludePatternsRegistry;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.eclipse.che.git.impl.jgit.JGitStatusCache.Kind.ADDED;
+import static org.eclipse.che.git.impl.jgit.JGitStatusCache.Kind.MODIFIED;
+import static org.eclipse.che.git.impl.jgit.JGitStatusCache.Kind.UNTRACKED;
+import static org.eclipse.che.git.impl.jgit.JGitStatusCache.Kind.UNTRACKED_FOLDER;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link JGitStatusCache}
+ */
+public class JGitStatusCacheTest {
+    private File             root;
+    private File             workDir;
+    private Git              git;
+    private JGitStatusCache  cache;
+    private Consumer<String> created;
+    private Consumer<String> watcher;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("status-cache").toFile();
+        workDir = new File(root, "project");
+        git = Git.init().setDirectory(workDir).call();
+        write("a.txt", "a");
+        write("b.txt", "b");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("init").call();
+        // index which is modified in the same moment it is read is considered as changed, move it to the past
+        getRepository().getIndexFile().setLastModified(System.currentTimeMillis() - 10_000);
+
+        FileWatcherManager fileWatcherManager = mock(FileWatcherManager.class);
+        when(fileWatcherManager.registerByPath(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            if ("/project".equals(invocation.getArguments()[0])) {
+                created = (Consumer<String>)invocation.getArguments()[1];
+                watcher = (Consumer<String>)invocation.getArguments()[2];
+            }
+            return 1;
+        });
+        cache = new JGitStatusCache(root, fileWatcherManager, 100, 300);
+        cache.startWatcher();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        cache.stopWatcher();
+        git.close();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void updatesStatusOfReportedFile() throws Exception {
+        assertTrue(cache.status(getRepository()).isClean());
+
+        write("a.txt", "changed");
+        watcher.accept("/project/a.txt");
+
+        assertEquals(cache.status(getRepository()).get(MODIFIED), Collections.singletonList("a.txt"));
+    }
+
+    @Test
+    public void rechecksOnlyReportedFiles() throws Exception {
+        assertTrue(cache.status(getRepository()).isClean());
+
+        write("a.txt", "changed");
+        write("b.txt", "changed");
+        watcher.accept("/project/b.txt");
+
+        assertEquals(cache.status(getRepository()).get(MODIFIED), Collections.singletonList("b.txt"));
+    }
+
+    @Test
+    public void reportsUntrackedFolder() throws Exception {
+        assertTrue(cache.status(getRepository()).isClean());
+
+        write("dir/c.txt", "c");
+        created.accept("/project/dir");
+
+        JGitStatusCache.StatusSnapshot status = cache.status(getRepository());
+        assertEquals(status.get(UNTRACKED), Collections.singletonList("dir/c.txt"));
+        assertEquals(status.get(UNTRACKED_FOLDER), Collections.singletonList("dir"));
+    }
+
+    @Test
+    public void scansWholeWorkingTreeWhenIndexIsChanged() throws Exception {
+        assertTrue(cache.status(getRepository()).isClean());
+
+        write("c.txt", "c");
+        git.add().addFilepattern("c.txt").call();
+
+        assertEquals(cache.status(getRepository()).get(ADDED), Collections.singletonList("c.txt"));
+    }
+
+    @Test
+    public void updatesStatusOfFilesWhichExistedBeforeFirstStatusCall() throws Exception {
+        write("sub/d.txt", "d");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("sub").call();
+        getRepository().getIndexFile().setLastModified(System.currentTimeMillis() - 10_000);
+        cache.stopWatcher();
+
+        FileWatcherEventHandler handler = new FileWatcherEventHandler(root);
+        FileWatcherExcludePatternsRegistry excludes = new FileWatcherExcludePatternsRegistry(Collections.emptySet());
+        FileWatcherService service = new FileWatcherService(excludes, handler, FileSystems.getDefault().newWatchService());
+        FileWatcherByPathValue byPathValue = new FileWatcherByPathValue(service, handler);
+        FileWatcherManager fileWatcherManager = new FileWatcherManager(root,
+                                                                       byPathValue,
+                                                                       new FileWatcherByPathMatcher(byPathValue),
+                                                                       service,
+                                                                       excludes);
+        service.start();
+        cache = new JGitStatusCache(root, fileWatcherManager, 100, 300);
+        cache.startWatcher();
+        try {
+            assertTrue(cache.status(getRepository()).isClean());
+
+            write("a.txt", "changed");
+            write("sub/d.txt", "changed");
+
+            assertEquals(awaitModified(2), asList("a.txt", "sub/d.txt"));
+        } finally {
+            service.stop();
+        }
+    }
+
+    private List<String> awaitModified(int count) throws Exception {
+        List<String> modified = cache.status(getRepository()).get(MODIFIED);
+        for (long deadline = System.currentTimeMillis() + 10_000;
+             modified.size() < count && System.currentTimeMillis() < deadline; ) {
+            Thread.sleep(100);
+            modified = cache.status(getRepository()).get(MODIFIED);
+        }
+        return modified;
+    }
+
+    private Repository getRepository() {
+        return git.getRepository();
+    }
+
+    private void write(String path, String content) throws Exception {
+        File file = new File(workDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.user.server.jpa;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.core.db.cache.EntityCache;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-through cache of users loaded by id, other operations are delegated to {@link JpaUserDao}.
+ * Cached user is invalidated when it is updated or removed.
+ *
+ * <p>User is removed within transaction of {@link org.eclipse.che.api.user.server.UserManager#remove(String)},
+ * so invalidation made by {@link #remove(String)} happens before the commit and the old row may be
+ * loaded into the cache again till the transaction is committed. So the user is invalidated once
+ * more on {@link UserRemovedEvent} which is published after the transaction is committed.
+ *
+ * <p>Statistics of the cache are registered in the platform MBean server under the name 'users'.
+ *
+ * @see EntityCache
+ */
+@Singleton
+public class CachingUserDao implements UserDao {
+
+    private final UserDao                           delegate;
+    private final EventService                      eventService;
+    private final EntityCache<UserImpl>             cache;
+    private final EventSubscriber<UserRemovedEvent> userRemovedSubscriber;
+
+    @Inject
+    public CachingUserDao(JpaUserDao delegate,
+                          EventService eventService,
+                          @Named("che.db.cache.max_size") long maxSize,
+                          @Named("che.db.cache.expire_after_write_s") long expireAfterWriteSec) {
+        this.delegate = delegate;
+        this.eventService = eventService;
+        this.cache = new EntityCache<>(maxSize, expireAfterWriteSec, UserImpl::new);
+        this.userRemovedSubscriber = event -> cache.invalidate(event.getUserId());
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(userRemovedSubscriber, UserRemovedEvent.class);
+        cache.registerMBean("users");
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        cache.unregisterMBean();
+        eventService.unsubscribe(userRemovedSubscriber, UserRemovedEvent.class);
+    }
+
+    @Override
+    public UserImpl getByAliasAndPassword(String emailOrName, String password) throws NotFoundException, ServerException {
+        return delegate.getByAliasAndPassword(emailOrName, password);
+    }
+
+    @Override
+    public void create(UserImpl user) throws ConflictException, ServerException {
+        requireNonNull(user, "Required non-null user");
+        try {
+            delegate.create(user);
+        } finally {
+            cache.invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public void update(UserImpl user) throws NotFoundException, ServerException, ConflictException {
+        requireNonNull(user, "Required non-null update");
+        try {
+            delegate.update(user);
+        } finally {
+            cache.invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public void remove(String id) throws ServerException {
+        requireNonNull(id, "Required non-null id");
+        try {
+            delegate.remove(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public UserImpl getByAlias(String alias) throws NotFoundException, ServerException {
+        return delegate.getByAlias(alias);
+    }
+
+    @Override
+    public UserImpl getById(String id) throws NotFoundException, ServerException {
+        requireNonNull(id, "Required non-null id");
+        final UserImpl cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final long stamp = cache.getStamp();
+        final UserImpl user = delegate.getById(id);
+        cache.put(id, user, stamp);
+        return user;
+    }
+
+    @Override
+    public UserImpl getByName(String name) throws NotFoundException, ServerException {
+        return delegate.getByName(name);
+    }
+
+    @Override
+    public UserImpl getByEmail(String email) throws NotFoundException, ServerException {
+        return delegate.getByEmail(email);
+    }
+
+    @Override
+    public Page<UserImpl> getAll(int maxItems, long skipCount) throws ServerException {
+        return delegate.getAll(maxItems, skipCount);
+    }
+
+    @Override
+    public Page<UserImpl> getByNamePart(String namePart, int maxItems, long skipCount) throws ServerException {
+        return delegate.getByNamePart(namePart, maxItems, skipCount);
+    }
+
+    @Override
+    public Page<UserImpl> getByEmailPart(String emailPart, int maxItems, long skipCount) throws ServerException {
+        return delegate.getByEmailPart(emailPart, maxItems, skipCount);
+    }
+
+    @Override
+    public long getTotalCount() throws ServerException {
+        return delegate.getTotalCount();
+    }
+}
@@ -26,7 +26,7 @@ public class UserJpaModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(PasswordEncryptor.class).to(PBKDF2PasswordEncryptor.class);
-        bind(UserDao.class).to(JpaUserDao.class);
+        bind(UserDao.class).to(CachingUserDao.class);
         bind(ProfileDao.class).to(JpaProfileDao.class);
         bind(PreferenceDao.class).to(JpaPreferenceDao.class);
     }
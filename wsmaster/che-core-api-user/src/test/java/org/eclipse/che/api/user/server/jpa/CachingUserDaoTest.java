@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.user.server.jpa;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+/**
+ * Tests {@link CachingUserDao}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CachingUserDaoTest {
+
+    private static final String ID = "user123";
+
+    @Mock
+    private JpaUserDao delegate;
+
+    private EventService   eventService;
+    private CachingUserDao userDao;
+    private UserImpl       user;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        eventService = new EventService();
+        userDao = new CachingUserDao(delegate, eventService, 100, 60);
+        userDao.subscribe();
+        user = new UserImpl(ID, "user@eclipse.org", "user");
+        when(delegate.getById(ID)).thenReturn(user);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        userDao.unsubscribe();
+    }
+
+    @Test
+    public void returnsCopyOfCachedUser() throws Exception {
+        final UserImpl first = userDao.getById(ID);
+        final UserImpl second = userDao.getById(ID);
+
+        verify(delegate).getById(ID);
+        assertEquals(second, user);
+        assertNotSame(second, first);
+    }
+
+    @Test
+    public void invalidatesUserOnUpdate() throws Exception {
+        userDao.getById(ID);
+
+        userDao.update(user);
+        userDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+
+    @Test
+    public void invalidatesUserOnRemove() throws Exception {
+        userDao.getById(ID);
+
+        userDao.remove(ID);
+        userDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+
+    @Test
+    public void invalidatesUserLoadedBeforeRemovalIsCommitted() throws Exception {
+        // removal is a part of the user manager transaction, the row is still visible after the dao call
+        userDao.remove(ID);
+        userDao.getById(ID);
+
+        eventService.publish(new UserRemovedEvent(ID));
+        userDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of the workspace projects which are applied at once,
+ * removed projects are applied first, then updated and added ones.
+ */
+@DTO
+public interface ProjectsUpdateDto {
+
+    /** Returns the projects which should be added to the workspace. */
+    List<ProjectConfigDto> getAdded();
+
+    void setAdded(List<ProjectConfigDto> added);
+
+    ProjectsUpdateDto withAdded(List<ProjectConfigDto> added);
+
+    /** Returns the projects which replace the workspace projects with the same paths. */
+    List<ProjectConfigDto> getUpdated();
+
+    void setUpdated(List<ProjectConfigDto> updated);
+
+    ProjectsUpdateDto withUpdated(List<ProjectConfigDto> updated);
+
+    /** Returns the paths of the projects which should be removed from the workspace. */
+    List<String> getRemoved();
+
+    void setRemoved(List<String> removed);
+
+    ProjectsUpdateDto withRemoved(List<String> removed);
+}
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -66,7 +67,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -79,16 +82,28 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -124,6 +139,8 @@ public class CheEnvironmentEngine {
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
+    private final int                            machineStartParallelism;
+    private final ExecutorService                machinesStarter;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -141,7 +158,8 @@ public class CheEnvironmentEngine {
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
                                 AgentRegistry agentRegistry,
-                                WorkspaceSharedPool sharedPool) {
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.machine_start_parallelism") int machineStartParallelism) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -161,6 +179,14 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.machineStartParallelism = machineStartParallelism;
+        // machines are started by the thread which starts environment and waits for them,
+        // so dedicated pool is used to not exhaust workspace shared pool
+        this.machinesStarter = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("EnvironmentMachinesStarter-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
     }
 
     /**
@@ -580,10 +606,12 @@ public class CheEnvironmentEngine {
                   internalEnv);
 
         List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> dependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    dependencies,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -724,6 +752,8 @@ public class CheEnvironmentEngine {
 
     /**
      * Starts all machine from machine queue of environment.
+     * Machines are started one by one when parallelism of machines start is not greater than 1,
+     * otherwise each machine is started as soon as all the machines it depends on are running.
      */
     private void startEnvironmentQueue(String ownerName,
                                        String workspaceId,
@@ -739,6 +769,7 @@ public class CheEnvironmentEngine {
         // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, Set<String>> dependencies;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -747,126 +778,30 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            dependencies = environmentHolder.dependencies;
         }
 
+        MachineStartTask startTask = machineName -> startEnvironmentMachine(ownerName,
+                                                                            workspaceId,
+                                                                            envName,
+                                                                            envLogger,
+                                                                            creator,
+                                                                            machineName,
+                                                                            devMachineName.equals(machineName),
+                                                                            networkId,
+                                                                            recover,
+                                                                            startedHandler);
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new EnvironmentStartInterruptedException(workspaceId, envName);
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(ownerName,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+            if (machineStartParallelism > 1) {
+                startConcurrently(workspaceId, envName, dependencies, startTask);
+            } else {
+                String machineName = queuePeekOrFail(workspaceId);
+                while (machineName != null) {
+                    startTask.start(machineName);
+                    machineName = queuePeekOrFail(workspaceId);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
             }
         } catch (Exception e) {
             boolean interrupted = Thread.interrupted();
@@ -894,6 +829,196 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machines from machine queue of environment concurrently respecting dependencies between them.
+     * Not more than {@code machineStartParallelism} machines are started at the same time.
+     * When start of any machine fails the machines which are being started are interrupted
+     * and the machines which are not started yet are not started at all.
+     */
+    private void startConcurrently(String workspaceId,
+                                   String envName,
+                                   Map<String, Set<String>> dependencies,
+                                   MachineStartTask startTask) throws Exception {
+        final List<String> pending;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null || environmentHolder.startQueue == null) {
+                throw new ServerException("Workspace " + workspaceId +
+                                          " start interrupted. Workspace was stopped before all its machines were started");
+            }
+            pending = new ArrayList<>(environmentHolder.startQueue);
+        }
+
+        final CompletionService<String> completionService = new ExecutorCompletionService<>(machinesStarter);
+        final Map<String, Future<String>> starting = new HashMap<>();
+        final Set<String> started = new HashSet<>();
+        try {
+            while (!pending.isEmpty() || !starting.isEmpty()) {
+                // pending machines keep order of the queue, so machines are submitted in the same order
+                // as they would be started one by one
+                for (Iterator<String> it = pending.iterator(); it.hasNext() && starting.size() < machineStartParallelism; ) {
+                    String machineName = it.next();
+                    if (started.containsAll(dependencies.getOrDefault(machineName, emptySet()))) {
+                        it.remove();
+                        Callable<String> start = () -> {
+                            startTask.start(machineName);
+                            return machineName;
+                        };
+                        starting.put(machineName, completionService.submit(ThreadLocalPropagateContext.wrap(start)));
+                    }
+                }
+                if (starting.isEmpty()) {
+                    // should not happen, dependencies are validated before start
+                    throw new ServerException(format("Machines '%s' of environment '%s' can't be started. " +
+                                                     "Their dependencies are not satisfied",
+                                                     pending, envName));
+                }
+                String machineName = completionService.take().get();
+                starting.remove(machineName);
+                started.add(machineName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnvironmentStartInterruptedException(workspaceId, envName);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception)cause;
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        } finally {
+            for (Future<String> future : starting.values()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Starts machine from machine queue of environment and removes it from the queue.
+     */
+    private void startEnvironmentMachine(String ownerName,
+                                         String workspaceId,
+                                         String envName,
+                                         MessageConsumer<MachineLogMessage> envLogger,
+                                         String creator,
+                                         String machineName,
+                                         boolean isDev,
+                                         String networkId,
+                                         boolean recover,
+                                         MachineStartedHandler startedHandler) throws ServerException,
+                                                                                      AgentException,
+                                                                                      EnvironmentException {
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+
+        CheServiceImpl service;
+        @Nullable ExtendedMachine extendedMachine;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new EnvironmentStartInterruptedException(workspaceId, envName);
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+            extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(ownerName,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        checkInterruption(workspaceId, envName);
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+        checkInterruption(workspaceId, envName);
+
+        startedHandler.started(instance, extendedMachine);
+        checkInterruption(workspaceId, envName);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -1013,6 +1138,12 @@ public class CheEnvironmentEngine {
         }
     }
 
+    private interface MachineStartTask {
+        void start(String machineName) throws ServerException,
+                                              AgentException,
+                                              EnvironmentException;
+    }
+
     private interface MachineStarter {
         Instance startMachine(LineConsumer machineLogger,
                               MachineSource machineSource) throws ServerException,
@@ -1209,6 +1340,7 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machinesStarter.shutdownNow();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1320,6 +1452,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1330,6 +1463,7 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
@@ -1337,6 +1471,7 @@ public class CheEnvironmentEngine {
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.JsonRpcLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -48,6 +49,7 @@ import java.nio.file.Files;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -68,27 +70,56 @@ public class MachineProcessManager {
     private final EventService             eventService;
     private final RequestTransmitter       transmitter;
     private final JsonRpcEndpointIdsHolder endpointIdsHolder;
+    private final long                     logsFlushIntervalMs;
+    private final int                      logsMaxBatchLines;
+    private final int                      logsBufferLines;
+    private final double                   logsBatchingRate;
+    private final ScheduledExecutorService logsWriter;
 
     @VisibleForTesting
     final ExecutorService executor;
 
+    /**
+     * @param logsFlushIntervalMs
+     *         maximal time in milliseconds that output line of process waits before it is written to log file and sent to clients
+     * @param logsMaxBatchLines
+     *         maximal number of output lines that are written to log file and sent to clients at once
+     * @param logsBufferLines
+     *         maximal number of output lines of single process that wait to be written, other lines are skipped
+     * @param logsBatchingRate
+     *         number of output lines per second after which output lines are written in batches
+     */
     @Inject
     public MachineProcessManager(@Named("che.workspace.logs") String machineLogsDir,
                                  EventService eventService,
                                  CheEnvironmentEngine environmentEngine,
                                  RequestTransmitter transmitter,
-                                 JsonRpcEndpointIdsHolder endpointIdsHolder) {
+                                 JsonRpcEndpointIdsHolder endpointIdsHolder,
+                                 @Named("che.workspace.process_logs.flush_interval_ms") long logsFlushIntervalMs,
+                                 @Named("che.workspace.process_logs.max_batch_lines") int logsMaxBatchLines,
+                                 @Named("che.workspace.process_logs.buffer_lines") int logsBufferLines,
+                                 @Named("che.workspace.process_logs.batching_rate") double logsBatchingRate) {
         this.eventService = eventService;
         this.machineLogsDir = new File(machineLogsDir);
         this.environmentEngine = environmentEngine;
         this.transmitter = transmitter;
         this.endpointIdsHolder = endpointIdsHolder;
+        this.logsFlushIntervalMs = logsFlushIntervalMs;
+        this.logsMaxBatchLines = logsMaxBatchLines;
+        this.logsBufferLines = logsBufferLines;
+        this.logsBatchingRate = logsBatchingRate;
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineProcessManager-%d")
                                                                            .setUncaughtExceptionHandler(
                                                                                    LoggingUncaughtExceptionHandler.getInstance())
                                                                            .setDaemon(false)
                                                                            .build());
+        logsWriter = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineProcessLogsWriter")
+                                                                                          .setUncaughtExceptionHandler(
+                                                                                                  LoggingUncaughtExceptionHandler
+                                                                                                          .getInstance())
+                                                                                          .setDaemon(true)
+                                                                                          .build());
     }
 
     /**
@@ -125,7 +156,14 @@ public class MachineProcessManager {
                                                                           "event:ws-agent-output:message",
                                                                           () -> endpointIdsHolder.getEndpointIdsByWorkspaceId(workspaceId));
 
-        LineConsumer processLogger = new CompositeLineConsumer(getProcessLogger(machineId, pid, outputChannel), jsonRpcLineConsumer);
+        // output is written to file and sent to clients in batches, so chatty process is not slowed down by its logging
+        LineConsumer processLogger = new BatchingLineConsumer(new CompositeLineConsumer(getProcessLogger(machineId, pid, outputChannel),
+                                                                                        jsonRpcLineConsumer),
+                                                              logsWriter,
+                                                              logsFlushIntervalMs,
+                                                              logsMaxBatchLines,
+                                                              logsBufferLines,
+                                                              logsBatchingRate);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -290,6 +328,8 @@ public class MachineProcessManager {
             interrupted = true;
             executor.shutdownNow();
         }
+        // loggers of finished processes are flushed on close, nothing is left to write
+        logsWriter.shutdownNow();
 
         if (interrupted) {
             Thread.currentThread().interrupt();
@@ -11,23 +11,33 @@
 package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Removes temporary workspaces on server startup and shutdown.
  *
+ * <p>Workspaces are removed in batches with {@link WorkspaceDao#removeAll}.
+ * Startup cleanup is performed asynchronously, so it doesn't delay the server start,
+ * only the workspaces which are temporary at the moment of the start are removed.
+ *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
  */
 @Singleton
@@ -35,48 +45,103 @@ public class TemporaryWorkspaceRemover {
 
     private static final Logger LOG = getLogger(TemporaryWorkspaceRemover.class);
 
-    private final WorkspaceDao workspaceDao;
+    private final WorkspaceDao      workspaceDao;
+    private final WorkspaceRuntimes runtimes;
+    private final int               batchSize;
+    private final ExecutorService   executor;
+
+    private volatile int total;
+    private volatile int processed;
 
     @Inject
-    public TemporaryWorkspaceRemover(WorkspaceDao workspaceDao) {
+    public TemporaryWorkspaceRemover(WorkspaceDao workspaceDao,
+                                     WorkspaceRuntimes runtimes,
+                                     @Named("che.workspace.temporary_cleanup_batch_size") int batchSize) {
         this.workspaceDao = workspaceDao;
+        this.runtimes = runtimes;
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("TemporaryWorkspaceRemover-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /** Returns the number of temporary workspaces which are being removed by the current cleanup. */
+    public int getTotal() {
+        return total;
     }
 
+    /** Returns the number of temporary workspaces processed by the current cleanup. */
+    public int getProcessed() {
+        return processed;
+    }
 
     @PostConstruct
     void initialize() {
+        final List<String> ids;
         try {
-            removeTemporaryWs();
+            ids = workspaceDao.getWorkspaceIds(true);
         } catch (ServerException e) {
             LOG.warn("Unable to cleanup temporary workspaces on startup: " + e.getLocalizedMessage(), e);
+            return;
+        }
+        if (!ids.isEmpty()) {
+            executor.execute(() -> removeTemporaryWs(ids));
         }
     }
 
     @PreDestroy
     void shutdown() {
+        executor.shutdownNow();
         try {
-            removeTemporaryWs();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("Unable to terminate startup cleanup of temporary workspaces in 30 seconds");
+            }
+            removeTemporaryWs(workspaceDao.getWorkspaceIds(true));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (ServerException e) {
             LOG.warn("Unable to cleanup temporary workspaces on shutdown: " + e.getLocalizedMessage(), e);
         }
     }
 
     @VisibleForTesting
-    void removeTemporaryWs() throws ServerException {
-        final int count = 100;
-        int skip = 0;
-        List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(true, skip, count);
-        while (!workspaces.isEmpty()) {
-            for (WorkspaceImpl workspace : workspaces) {
-                try {
-                    workspaceDao.remove(workspace.getId());
-                } catch (ServerException e) {
-                    LOG.error("Unable to cleanup temporary workspace {}. Reason is {}", workspace.getId(), e.getLocalizedMessage());
-                }
+    void removeTemporaryWs(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        total = ids.size();
+        processed = 0;
+        LOG.info("Removing {} temporary workspaces", total);
+        int removed = 0;
+        for (int from = 0; from < ids.size() && !Thread.currentThread().isInterrupted(); from += batchSize) {
+            final List<String> batch = new ArrayList<>(ids.subList(from, Math.min(from + batchSize, ids.size())));
+            // the workspace may be started after its id was fetched, it is removed when stopped
+            batch.removeIf(runtimes::hasRuntime);
+            try {
+                removed += workspaceDao.removeAll(batch).size();
+            } catch (ServerException e) {
+                LOG.warn("Unable to cleanup temporary workspaces at once, removing them one by one. Reason is {}",
+                         e.getLocalizedMessage());
+                removed += removeOneByOne(batch);
             }
-            skip = skip + count;
-            workspaces = workspaceDao.getWorkspaces(true, skip, count);
+            processed = Math.min(from + batchSize, ids.size());
+            LOG.info("Processed {} of {} temporary workspaces", processed, total);
         }
+        LOG.info("Removed {} of {} temporary workspaces", removed, total);
     }
 
+    private int removeOneByOne(List<String> ids) {
+        int removed = 0;
+        for (String id : ids) {
+            try {
+                workspaceDao.remove(id);
+                removed++;
+            } catch (ServerException e) {
+                LOG.error("Unable to cleanup temporary workspace {}. Reason is {}", id, e.getLocalizedMessage());
+            }
+        }
+        return removed;
+    }
 }
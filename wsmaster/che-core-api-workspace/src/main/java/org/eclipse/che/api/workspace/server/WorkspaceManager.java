@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -34,6 +35,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -45,6 +47,7 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -317,6 +320,61 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets page of summaries of workspaces which user can read.
+     * Workspace configurations are not fetched, use {@link #getWorkspace(String)} to get the whole workspace.
+     *
+     * <p>Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspace summaries
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with {@link WorkspaceDao#getSummaries(String, int, long)}
+     */
+    public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String user, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final Page<WorkspaceSummaryImpl> summaries = workspaceDao.getSummaries(user, maxItems, skipCount);
+        injectStatus(summaries.getItems());
+        return summaries;
+    }
+
+    /**
+     * Gets page of summaries of workspaces which has given namespace.
+     * Workspace configurations are not fetched, use {@link #getWorkspace(String)} to get the whole workspace.
+     *
+     * <p>Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param namespace
+     *         the namespace to find workspaces
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspace summaries
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with
+     *         {@link WorkspaceDao#getSummariesByNamespace(String, int, long)}
+     */
+    public Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace,
+                                                              int maxItems,
+                                                              long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        final Page<WorkspaceSummaryImpl> summaries = workspaceDao.getSummariesByNamespace(namespace, maxItems, skipCount);
+        injectStatus(summaries.getItems());
+        return summaries;
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -601,7 +659,30 @@ public class WorkspaceManager {
      *         when any other error occurs
      */
     public void removeSnapshots(String workspaceId) throws NotFoundException, ServerException {
-        List<SnapshotImpl> snapshots = getSnapshot(workspaceId);
+        doRemoveSnapshots(getSnapshot(workspaceId));
+    }
+
+    /**
+     * Removes all snapshots of machines of given workspaces,
+     * unlike {@link #removeSnapshots(String)} doesn't check whether workspaces exist.
+     *
+     * @param workspaceIds
+     *         identifiers of workspaces to remove machine snapshots
+     * @throws ServerException
+     *         when snapshots can't be fetched
+     */
+    public void removeSnapshots(Collection<String> workspaceIds) throws ServerException {
+        requireNonNull(workspaceIds, "Required non-null workspace ids");
+        final List<SnapshotImpl> snapshots = new ArrayList<>();
+        for (String workspaceId : workspaceIds) {
+            snapshots.addAll(snapshotDao.findSnapshots(workspaceId));
+        }
+        if (!snapshots.isEmpty()) {
+            doRemoveSnapshots(snapshots);
+        }
+    }
+
+    private void doRemoveSnapshots(List<SnapshotImpl> snapshots) {
         List<SnapshotImpl> removed = new ArrayList<>(snapshots.size());
         for (SnapshotImpl snapshot : snapshots) {
             try {
@@ -943,6 +1024,13 @@ public class WorkspaceManager {
         }
     }
 
+    /** Sets runtime status to each of the given workspace summaries. */
+    private void injectStatus(List<WorkspaceSummaryImpl> summaries) {
+        for (WorkspaceSummaryImpl summary : summaries) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+    }
+
     /** Adds attributes that are not originally stored in workspace but should be published. */
     private void addExtraAttributes(WorkspaceImpl workspace) throws SnapshotException {
         // snapshotted_at
@@ -20,6 +20,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -47,17 +48,21 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +73,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -116,6 +122,7 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final ExecutorService                     agentsLauncher;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -128,7 +135,8 @@ public class WorkspaceRuntimes {
                              AgentLauncherFactory launcherFactory,
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
-                             WorkspaceSharedPool sharedPool) {
+                             WorkspaceSharedPool sharedPool,
+                             @Named("che.workspace.agent.concurrent_launch") boolean concurrentAgentsLaunch) {
         this(eventsService,
              envEngine,
              agentSorter,
@@ -136,6 +144,7 @@ public class WorkspaceRuntimes {
              agentRegistry,
              snapshotDao,
              sharedPool,
+             concurrentAgentsLaunch,
              new ConcurrentHashMap<>());
     }
 
@@ -146,6 +155,7 @@ public class WorkspaceRuntimes {
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
                              WorkspaceSharedPool sharedPool,
+                             boolean concurrentAgentsLaunch,
                              ConcurrentMap<String, RuntimeState> states) {
         this.eventsService = eventsService;
         this.envEngine = envEngine;
@@ -157,6 +167,16 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        if (concurrentAgentsLaunch) {
+            this.agentsLauncher =
+                    Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceAgentsLauncher-%d")
+                                                                            .setUncaughtExceptionHandler(
+                                                                                    LoggingUncaughtExceptionHandler.getInstance())
+                                                                            .setDaemon(true)
+                                                                            .build());
+        } else {
+            this.agentsLauncher = null;
+        }
     }
 
     /**
@@ -628,6 +648,11 @@ public class WorkspaceRuntimes {
             states.clear();
         }
 
+        if (agentsLauncher != null) {
+            // launches are interrupted, starting tasks which wait for them fail the start
+            agentsLauncher.shutdownNow();
+        }
+
         if (!idsToStop.isEmpty()) {
             LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
             ExecutorService executor =
@@ -686,15 +711,96 @@ public class WorkspaceRuntimes {
         return state;
     }
 
+    /**
+     * Launches agents in the instance respecting dependencies between them.
+     *
+     * <p>By default agents are launched one by one in the sorted order, agent install scripts
+     * use the package manager of the machine which can't be used by several scripts at once.
+     * If concurrent launch is enabled, agents are launched in waves, each wave consists of agents
+     * which dependencies are launched by the previous waves, agents of the same wave are launched concurrently.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException, AgentException {
+        if (agentsLauncher == null) {
+            for (AgentKey agentKey : agentSorter.sort(agents)) {
+                launchAgent(instance, agentRegistry.getAgent(agentKey));
+            }
+            return;
+        }
+        final Map<String, Integer> agentWaves = new HashMap<>();
+        final List<List<Agent>> waves = new ArrayList<>();
+        // sorted agents go after their dependencies, so wave of each dependency is already known
         for (AgentKey agentKey : agentSorter.sort(agents)) {
-            if (!Thread.currentThread().isInterrupted()) {
-                LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                Agent agent = agentRegistry.getAgent(agentKey);
-                AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                launcher.launch(instance, agent);
+            Agent agent = agentRegistry.getAgent(agentKey);
+            int wave = 0;
+            for (String dependency : agent.getDependencies()) {
+                Integer dependencyWave = agentWaves.get(AgentKeyImpl.parse(dependency).getId());
+                if (dependencyWave != null) {
+                    wave = Math.max(wave, dependencyWave + 1);
+                }
+            }
+            agentWaves.put(agentKey.getId(), wave);
+            while (waves.size() <= wave) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(agent);
+        }
+
+        for (List<Agent> wave : waves) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            launchConcurrently(instance, wave);
+        }
+    }
+
+    /** Launches independent agents, the first agent is launched in the current thread and others in agents launcher pool. */
+    private void launchConcurrently(Instance instance, List<Agent> agents) throws ServerException, AgentException {
+        final List<Future<Void>> launches = new ArrayList<>(agents.size() - 1);
+        for (Agent agent : agents.subList(1, agents.size())) {
+            Callable<Void> launch = () -> {
+                launchAgent(instance, agent);
+                return null;
+            };
+            launches.add(agentsLauncher.submit(ThreadLocalPropagateContext.wrap(launch)));
+        }
+
+        Exception failure = null;
+        try {
+            launchAgent(instance, agents.get(0));
+        } catch (ServerException | AgentException x) {
+            failure = x;
+        }
+        for (Future<Void> launch : launches) {
+            try {
+                launch.get();
+            } catch (InterruptedException x) {
+                launches.forEach(it -> it.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException x) {
+                if (failure == null) {
+                    failure = x.getCause() instanceof Exception ? (Exception)x.getCause() : new ServerException(x.getCause());
+                }
             }
         }
+
+        if (failure instanceof AgentException) {
+            throw (AgentException)failure;
+        }
+        if (failure instanceof ServerException) {
+            throw (ServerException)failure;
+        }
+        if (failure != null) {
+            throw new ServerException(failure.getMessage(), failure);
+        }
+    }
+
+    private void launchAgent(Instance instance, Agent agent) throws ServerException, AgentException {
+        if (!Thread.currentThread().isInterrupted()) {
+            LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+            AgentLauncher launcher = launcherFactory.find(agent.getId(), instance.getConfig().getType());
+            launcher.launch(instance, agent);
+        }
     }
 
     /**
@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -37,11 +38,14 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -199,28 +203,46 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_WORKSPACES)
     @ApiOperation(value = "Get workspaces which user can read",
-                  notes = "This operation can be performed only by authorized user",
+                  notes = "This operation can be performed only by authorized user. " +
+                          "If summary is requested the response contains paged list of WorkspaceSummaryDto",
                   response = WorkspaceDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
                    @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")})
-    public List<WorkspaceDto> getWorkspaces(@ApiParam("The number of the items to skip")
-                                            @DefaultValue("0")
-                                            @QueryParam("skipCount")
-                                            Integer skipCount,
-                                            @ApiParam("The limit of the items in the response, default is 30")
-                                            @DefaultValue("30")
-                                            @QueryParam("maxItems")
-                                            Integer maxItems,
-                                            @ApiParam("Workspace status")
-                                            @QueryParam("status")
-                                            String status) throws ServerException, BadRequestException {
+    public Response getWorkspaces(@ApiParam("The number of the items to skip")
+                                  @DefaultValue("0")
+                                  @QueryParam("skipCount")
+                                  Integer skipCount,
+                                  @ApiParam("The limit of the items in the response, default is 30")
+                                  @DefaultValue("30")
+                                  @QueryParam("maxItems")
+                                  Integer maxItems,
+                                  @ApiParam("Workspace status")
+                                  @QueryParam("status")
+                                  String status,
+                                  @ApiParam("If true then only short descriptions of workspaces are returned")
+                                  @DefaultValue("false")
+                                  @QueryParam("summary")
+                                  Boolean summary) throws ServerException, BadRequestException {
+        if (summary) {
+            checkPagingParameters(maxItems, skipCount);
+            final Page<WorkspaceSummaryImpl> page =
+                    workspaceManager.getWorkspaceSummaries(EnvironmentContext.getCurrent().getSubject().getUserId(),
+                                                           maxItems,
+                                                           skipCount);
+            return Response.ok()
+                           .entity(asSummaryDtos(page, status))
+                           .header("Link", createLinkHeader(page))
+                           .build();
+        }
         //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-                               .stream()
-                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-                               .collect(toList());
+        return Response.ok()
+                       .entity(workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
+                                               .stream()
+                                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                                               .collect(toList()))
+                       .build();
     }
 
     @GET
@@ -228,22 +250,45 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_BY_NAMESPACE)
     @ApiOperation(value = "Get workspaces by given namespace",
-                  notes = "This operation can be performed only by authorized user",
+                  notes = "This operation can be performed only by authorized user. " +
+                          "If summary is requested the response contains paged list of WorkspaceSummaryDto",
                   response = WorkspaceDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
                    @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")})
-    public List<WorkspaceDto> getByNamespace(@ApiParam("Workspace status")
-                                             @QueryParam("status")
-                                             String status,
-                                             @ApiParam("The namespace")
-                                             @PathParam("namespace")
-                                             String namespace) throws ServerException, BadRequestException {
-        return workspaceManager.getByNamespace(namespace, false)
-                               .stream()
-                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-                               .collect(toList());
+    public Response getByNamespace(@ApiParam("Workspace status")
+                                   @QueryParam("status")
+                                   String status,
+                                   @ApiParam("The namespace")
+                                   @PathParam("namespace")
+                                   String namespace,
+                                   @ApiParam("If true then only short descriptions of workspaces are returned")
+                                   @DefaultValue("false")
+                                   @QueryParam("summary")
+                                   Boolean summary,
+                                   @ApiParam("The number of the items to skip, used only when summary is requested")
+                                   @DefaultValue("0")
+                                   @QueryParam("skipCount")
+                                   Integer skipCount,
+                                   @ApiParam("The limit of the items in the response, used only when summary is requested")
+                                   @DefaultValue("30")
+                                   @QueryParam("maxItems")
+                                   Integer maxItems) throws ServerException, BadRequestException {
+        if (summary) {
+            checkPagingParameters(maxItems, skipCount);
+            final Page<WorkspaceSummaryImpl> page = workspaceManager.getSummariesByNamespace(namespace, maxItems, skipCount);
+            return Response.ok()
+                           .entity(asSummaryDtos(page, status))
+                           .header("Link", createLinkHeader(page))
+                           .build();
+        }
+        return Response.ok()
+                       .entity(workspaceManager.getByNamespace(namespace, false)
+                                               .stream()
+                                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                                               .collect(toList()))
+                       .build();
     }
 
     @PUT
@@ -667,6 +712,51 @@ public class WorkspaceService extends Service {
         return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
     }
 
+    @PUT
+    @Path("/{id}/project")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Add, update and remove the workspace projects at once",
+                  notes = "This operation can be performed only by the workspace owner. " +
+                          "Projects are removed first, then updated and added, " +
+                          "the workspace is updated only once for all the changes")
+    @ApiResponses({@ApiResponse(code = 200, message = "The projects successfully updated"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+                   @ApiResponse(code = 404, message = "The workspace or any of the updated projects not found"),
+                   @ApiResponse(code = 409, message = "Any conflict error occurs"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public WorkspaceDto updateProjects(@ApiParam("The workspace id")
+                                       @PathParam("id")
+                                       String id,
+                                       @ApiParam(value = "The projects changes", required = true)
+                                       ProjectsUpdateDto update) throws ServerException,
+                                                                        BadRequestException,
+                                                                        NotFoundException,
+                                                                        ConflictException,
+                                                                        ForbiddenException {
+        requiredNotNull(update, "Projects update");
+        final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        for (String path : update.getRemoved()) {
+            final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+            projects.removeIf(project -> project.getPath().equals(normalizedPath));
+        }
+        for (ProjectConfigDto projectUpdate : update.getUpdated()) {
+            if (!projects.removeIf(project -> project.getPath().equals(projectUpdate.getPath()))) {
+                throw new NotFoundException(format("Workspace '%s' doesn't contain project with path '%s'",
+                                                   id,
+                                                   projectUpdate.getPath()));
+            }
+            projects.add(new ProjectConfigImpl(projectUpdate));
+        }
+        for (ProjectConfigDto newProject : update.getAdded()) {
+            projects.add(new ProjectConfigImpl(newProject));
+        }
+        validator.validateConfig(workspace.getConfig());
+        return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
+    }
+
     @DELETE
     @Path("/{id}/project/{path:.*}")
     @ApiOperation(value = "Remove the project from the workspace",
@@ -763,6 +853,27 @@ public class WorkspaceService extends Service {
         }
     }
 
+    private void checkPagingParameters(Integer maxItems, Integer skipCount) throws BadRequestException {
+        if (maxItems <= 0) {
+            throw new BadRequestException("The number of items to return must be positive");
+        }
+        if (skipCount < 0) {
+            throw new BadRequestException("The number of items to skip can't be negative");
+        }
+    }
+
+    /**
+     * Converts summaries to DTOs, status filter is applied to the items of the page
+     * as status is defined by workspace runtime and can't be used in query.
+     */
+    private List<WorkspaceSummaryDto> asSummaryDtos(Page<WorkspaceSummaryImpl> page, String status) {
+        return page.getItems()
+                   .stream()
+                   .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                   .map(DtoConverter::asDto)
+                   .collect(toList());
+    }
+
     /*
      * Validate composite key.
      *
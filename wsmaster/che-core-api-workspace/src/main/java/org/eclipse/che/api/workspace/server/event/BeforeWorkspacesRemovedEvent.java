@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.core.db.cascade.event.RemoveEvent;
+
+import java.util.List;
+
+/**
+ * Published once before the workspaces are removed at once with {@link WorkspaceDao#removeAll}.
+ * Unlike {@link BeforeWorkspaceRemovedEvent} the workspaces configurations are not loaded.
+ */
+public class BeforeWorkspacesRemovedEvent extends RemoveEvent {
+
+    private final List<WorkspaceSummaryImpl> workspaces;
+
+    public BeforeWorkspacesRemovedEvent(List<WorkspaceSummaryImpl> workspaces) {
+        this.workspaces = workspaces;
+    }
+
+    public List<WorkspaceSummaryImpl> getWorkspaces() {
+        return workspaces;
+    }
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+
+import java.util.List;
+
+/**
+ * Informs that workspaces were removed at once with {@link WorkspaceDao#removeAll},
+ * published instead of {@link WorkspaceRemovedEvent} for each of them.
+ */
+public class WorkspacesRemovedEvent {
+
+    private final List<WorkspaceSummaryImpl> workspaces;
+
+    public WorkspacesRemovedEvent(List<WorkspaceSummaryImpl> workspaces) {
+        this.workspaces = workspaces;
+    }
+
+    public List<WorkspaceSummaryImpl> getWorkspaces() {
+        return workspaces;
+    }
+}
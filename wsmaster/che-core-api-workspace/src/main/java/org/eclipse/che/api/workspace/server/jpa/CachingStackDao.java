@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.core.db.cache.EntityCache;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-through cache of stacks loaded by id, other operations are delegated to {@link JpaStackDao}.
+ * Cached stack is invalidated when it is updated or removed.
+ *
+ * <p>Statistics of the cache are registered in the platform MBean server under the name 'stacks'.
+ *
+ * @see EntityCache
+ */
+@Singleton
+public class CachingStackDao implements StackDao {
+
+    private final StackDao               delegate;
+    private final EntityCache<StackImpl> cache;
+
+    @Inject
+    public CachingStackDao(JpaStackDao delegate,
+                           @Named("che.db.cache.max_size") long maxSize,
+                           @Named("che.db.cache.expire_after_write_s") long expireAfterWriteSec) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(maxSize, expireAfterWriteSec, StackImpl::new);
+    }
+
+    @PostConstruct
+    public void registerMBean() {
+        cache.registerMBean("stacks");
+    }
+
+    @PreDestroy
+    public void unregisterMBean() {
+        cache.unregisterMBean();
+    }
+
+    @Override
+    public void create(StackImpl stack) throws ConflictException, ServerException {
+        requireNonNull(stack, "Required non-null stack");
+        try {
+            delegate.create(stack);
+        } finally {
+            cache.invalidate(stack.getId());
+        }
+    }
+
+    @Override
+    public StackImpl getById(String id) throws NotFoundException, ServerException {
+        requireNonNull(id, "Required non-null id");
+        final StackImpl cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final long stamp = cache.getStamp();
+        final StackImpl stack = delegate.getById(id);
+        cache.put(id, stack, stamp);
+        return stack;
+    }
+
+    @Override
+    public void remove(String id) throws ServerException {
+        requireNonNull(id, "Required non-null id");
+        try {
+            delegate.remove(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public StackImpl update(StackImpl update) throws NotFoundException, ConflictException, ServerException {
+        requireNonNull(update, "Required non-null update");
+        try {
+            return delegate.update(update);
+        } finally {
+            cache.invalidate(update.getId());
+        }
+    }
+
+    @Override
+    public List<StackImpl> searchStacks(@Nullable String user,
+                                        @Nullable List<String> tags,
+                                        int skipCount,
+                                        int maxItems) throws ServerException {
+        return delegate.searchStacks(user, tags, skipCount, maxItems);
+    }
+}
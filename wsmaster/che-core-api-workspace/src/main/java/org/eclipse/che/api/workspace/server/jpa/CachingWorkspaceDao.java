@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.core.db.cache.EntityCache;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-through cache of workspaces loaded by id, other operations are delegated to {@link JpaWorkspaceDao}.
+ * Cached workspace is invalidated when it is updated or removed and when its account is removed.
+ *
+ * <p>Removal may be a part of an outer transaction, e.g. cascade removal of an account, then
+ * invalidation made while the workspace is removed happens before the commit and the old row may be
+ * loaded into the cache again till the transaction is committed. So the workspace is invalidated once
+ * more on {@link WorkspaceRemovedEvent} and {@link WorkspacesRemovedEvent} which are published after
+ * the removal is done.
+ *
+ * <p>Statistics of the cache are registered in the platform MBean server under the name 'workspaces'.
+ *
+ * @see EntityCache
+ */
+@Singleton
+public class CachingWorkspaceDao implements WorkspaceDao {
+
+    private final WorkspaceDao                                 delegate;
+    private final EventService                                 eventService;
+    private final EntityCache<WorkspaceImpl>                   cache;
+    private final EventSubscriber<BeforeWorkspaceRemovedEvent> beforeWorkspaceRemovedSubscriber;
+    private final EventSubscriber<WorkspaceRemovedEvent>       workspaceRemovedSubscriber;
+    private final EventSubscriber<WorkspacesRemovedEvent>      workspacesRemovedSubscriber;
+    private final EventSubscriber<BeforeAccountRemovedEvent>   accountRemovedSubscriber;
+
+    @Inject
+    public CachingWorkspaceDao(JpaWorkspaceDao delegate,
+                               EventService eventService,
+                               @Named("che.db.cache.max_size") long maxSize,
+                               @Named("che.db.cache.expire_after_write_s") long expireAfterWriteSec) {
+        this.delegate = delegate;
+        this.eventService = eventService;
+        this.cache = new EntityCache<>(maxSize, expireAfterWriteSec, WorkspaceImpl::new);
+        this.beforeWorkspaceRemovedSubscriber = event -> cache.invalidate(event.getWorkspace().getId());
+        this.workspaceRemovedSubscriber = event -> cache.invalidate(event.getWorkspace().getId());
+        this.workspacesRemovedSubscriber = event -> event.getWorkspaces().forEach(ws -> cache.invalidate(ws.getId()));
+        this.accountRemovedSubscriber = event -> {
+            final String namespace = event.getAccount().getName();
+            cache.invalidateIf(workspace -> Objects.equals(workspace.getNamespace(), namespace));
+        };
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(beforeWorkspaceRemovedSubscriber, BeforeWorkspaceRemovedEvent.class);
+        eventService.subscribe(workspaceRemovedSubscriber, WorkspaceRemovedEvent.class);
+        eventService.subscribe(workspacesRemovedSubscriber, WorkspacesRemovedEvent.class);
+        eventService.subscribe(accountRemovedSubscriber, BeforeAccountRemovedEvent.class);
+        cache.registerMBean("workspaces");
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        cache.unregisterMBean();
+        eventService.unsubscribe(beforeWorkspaceRemovedSubscriber, BeforeWorkspaceRemovedEvent.class);
+        eventService.unsubscribe(workspaceRemovedSubscriber, WorkspaceRemovedEvent.class);
+        eventService.unsubscribe(workspacesRemovedSubscriber, WorkspacesRemovedEvent.class);
+        eventService.unsubscribe(accountRemovedSubscriber, BeforeAccountRemovedEvent.class);
+    }
+
+    @Override
+    public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+        requireNonNull(workspace, "Required non-null workspace");
+        try {
+            return delegate.create(workspace);
+        } finally {
+            cache.invalidate(workspace.getId());
+        }
+    }
+
+    @Override
+    public WorkspaceImpl update(WorkspaceImpl update) throws NotFoundException, ConflictException, ServerException {
+        requireNonNull(update, "Required non-null update");
+        try {
+            return delegate.update(update);
+        } finally {
+            cache.invalidate(update.getId());
+        }
+    }
+
+    @Override
+    public void remove(String id) throws ServerException {
+        requireNonNull(id, "Required non-null id");
+        try {
+            delegate.remove(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<WorkspaceSummaryImpl> removeAll(Collection<String> ids) throws ServerException {
+        requireNonNull(ids, "Required non-null ids");
+        try {
+            return delegate.removeAll(ids);
+        } finally {
+            ids.forEach(cache::invalidate);
+        }
+    }
+
+    @Override
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+        requireNonNull(id, "Required non-null id");
+        final WorkspaceImpl cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final long stamp = cache.getStamp();
+        final WorkspaceImpl workspace = delegate.get(id);
+        cache.put(id, workspace, stamp);
+        return workspace;
+    }
+
+    @Override
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+        return delegate.get(name, namespace);
+    }
+
+    @Override
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+        return delegate.getByNamespace(namespace);
+    }
+
+    @Override
+    public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
+        return delegate.getWorkspaces(userId);
+    }
+
+    @Override
+    public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException {
+        return delegate.getWorkspaces(isTemporary, skipCount, maxItems);
+    }
+
+    @Override
+    public List<String> getWorkspaceIds(boolean isTemporary) throws ServerException {
+        return delegate.getWorkspaceIds(isTemporary);
+    }
+
+    @Override
+    public Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace,
+                                                              int maxItems,
+                                                              long skipCount) throws ServerException {
+        return delegate.getSummariesByNamespace(namespace, maxItems, skipCount);
+    }
+
+    @Override
+    public Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException {
+        return delegate.getSummaries(userId, maxItems, skipCount);
+    }
+}
@@ -15,13 +15,17 @@ import com.google.inject.persist.Transactional;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -31,16 +35,27 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -50,6 +65,42 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class JpaWorkspaceDao implements WorkspaceDao {
 
+    private static final String SELECT_CONFIG_IDS = "SELECT config_id FROM workspace WHERE id IN (%s) AND config_id IS NOT NULL";
+    private static final String SELECT_SOURCE_IDS = "SELECT source_id FROM projectconfig " +
+                                                    "WHERE projects_id IN (%s) AND source_id IS NOT NULL";
+
+    /**
+     * Statements which remove data of workspace configurations in the order of foreign keys,
+     * parameters of each statement are identifiers of configurations.
+     */
+    private static final List<String> REMOVE_CONFIGS_DATA = asList(
+            "DELETE FROM serverconf_properties WHERE serverconf_id IN (" +
+            "SELECT s.id FROM serverconf s " +
+            "JOIN externalmachine m ON s.servers_id = m.id " +
+            "JOIN environment e ON m.machines_id = e.id " +
+            "WHERE e.environments_id IN (%s))",
+            "DELETE FROM serverconf WHERE servers_id IN (" +
+            "SELECT m.id FROM externalmachine m JOIN environment e ON m.machines_id = e.id WHERE e.environments_id IN (%s))",
+            "DELETE FROM externalmachine_agents WHERE externalmachine_id IN (" +
+            "SELECT m.id FROM externalmachine m JOIN environment e ON m.machines_id = e.id WHERE e.environments_id IN (%s))",
+            "DELETE FROM externalmachine_attributes WHERE externalmachine_id IN (" +
+            "SELECT m.id FROM externalmachine m JOIN environment e ON m.machines_id = e.id WHERE e.environments_id IN (%s))",
+            "DELETE FROM externalmachine WHERE machines_id IN (SELECT id FROM environment WHERE environments_id IN (%s))",
+            "DELETE FROM environment WHERE environments_id IN (%s)",
+            "DELETE FROM command_attributes WHERE command_id IN (SELECT id FROM command WHERE commands_id IN (%s))",
+            "DELETE FROM command WHERE commands_id IN (%s)",
+            "DELETE FROM projectattribute_values WHERE projectattribute_id IN (" +
+            "SELECT a.id FROM projectattribute a JOIN projectconfig p ON a.dbattributes_id = p.id WHERE p.projects_id IN (%s))",
+            "DELETE FROM projectattribute WHERE dbattributes_id IN (SELECT id FROM projectconfig WHERE projects_id IN (%s))",
+            "DELETE FROM projectconfig_mixins WHERE projectconfig_id IN (SELECT id FROM projectconfig WHERE projects_id IN (%s))",
+            "DELETE FROM projectconfig WHERE projects_id IN (%s)");
+
+    private static final String REMOVE_SOURCES_PARAMETERS = "DELETE FROM sourcestorage_parameters WHERE sourcestorage_id IN (%s)";
+    private static final String REMOVE_SOURCES            = "DELETE FROM sourcestorage WHERE id IN (%s)";
+    private static final String REMOVE_ATTRIBUTES         = "DELETE FROM workspace_attributes WHERE workspace_id IN (%s)";
+    private static final String REMOVE_WORKSPACES         = "DELETE FROM workspace WHERE id IN (%s)";
+    private static final String REMOVE_CONFIGS            = "DELETE FROM workspaceconfig WHERE id IN (%s)";
+
     @Inject
     private EventService            eventService;
     @Inject
@@ -96,6 +147,28 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    public List<WorkspaceSummaryImpl> removeAll(Collection<String> ids) throws ServerException {
+        requireNonNull(ids, "Required non-null ids");
+        if (ids.isEmpty()) {
+            return emptyList();
+        }
+        try {
+            final List<WorkspaceSummaryImpl> removed = doRemoveAll(new ArrayList<>(ids));
+            if (!removed.isEmpty()) {
+                // workspaces were removed bypassing the persistence context
+                final Cache cache = managerProvider.get().getEntityManagerFactory().getCache();
+                for (WorkspaceSummaryImpl workspace : removed) {
+                    cache.evict(WorkspaceImpl.class, workspace.getId());
+                }
+                eventService.publish(new WorkspacesRemovedEvent(removed));
+            }
+            return removed;
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
@@ -183,6 +256,95 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<String> getWorkspaceIds(boolean isTemporary) throws ServerException {
+        try {
+            return managerProvider.get()
+                                  .createNamedQuery("Workspace.getIdsByTemporary", String.class)
+                                  .setParameter("temporary", isTemporary)
+                                  .getResultList();
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace,
+                                                              int maxItems,
+                                                              long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            final List<WorkspaceSummaryImpl> summaries =
+                    manager.createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummaryImpl.class)
+                           .setParameter("namespace", namespace)
+                           .setMaxResults(maxItems)
+                           .setFirstResult((int)skipCount)
+                           .getResultList();
+            final long count = manager.createNamedQuery("Workspace.getNamespaceCount", Long.class)
+                                      .setParameter("namespace", namespace)
+                                      .getSingleResult();
+            return new Page<>(withUpdateTime(summaries), skipCount, maxItems, count);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException {
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            final List<WorkspaceSummaryImpl> summaries =
+                    manager.createNamedQuery("Workspace.getAllSummaries", WorkspaceSummaryImpl.class)
+                           .setMaxResults(maxItems)
+                           .setFirstResult((int)skipCount)
+                           .getResultList();
+            final long count = manager.createNamedQuery("Workspace.getTotalCount", Long.class).getSingleResult();
+            return new Page<>(withUpdateTime(summaries), skipCount, maxItems, count);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    /** Fetches update time of all the given workspaces with a single query. */
+    private List<WorkspaceSummaryImpl> withUpdateTime(List<WorkspaceSummaryImpl> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        final TypedQuery<Object[]> query = managerProvider.get()
+                                                          .createNamedQuery("Workspace.getAttributeValues", Object[].class)
+                                                          .setParameter("ids", summaries.stream()
+                                                                                        .map(WorkspaceSummaryImpl::getId)
+                                                                                        .collect(toList()))
+                                                          .setParameter("key", UPDATED_ATTRIBUTE_NAME);
+        final Map<String, String> updated = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            updated.put((String)row[0], (String)row[1]);
+        }
+        for (WorkspaceSummaryImpl summary : summaries) {
+            final String value = updated.get(summary.getId());
+            if (value != null) {
+                try {
+                    summary.setUpdated(Long.parseLong(value));
+                } catch (NumberFormatException ignored) {
+                    // attribute is not a timestamp, leave it unset
+                }
+            }
+        }
+        return summaries;
+    }
+
+    private static void checkPagingArguments(int maxItems, long skipCount) {
+        checkArgument(maxItems > 0, "The number of items to return must be positive.");
+        checkArgument(skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+                      "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -206,6 +368,58 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         return Optional.of(workspace);
     }
 
+    @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
+    protected List<WorkspaceSummaryImpl> doRemoveAll(List<String> ids) throws ServerException {
+        final EntityManager manager = managerProvider.get();
+        final List<WorkspaceSummaryImpl> workspaces = manager.createNamedQuery("Workspace.getSummariesByIds",
+                                                                               WorkspaceSummaryImpl.class)
+                                                             .setParameter("ids", ids)
+                                                             .getResultList();
+        if (workspaces.isEmpty()) {
+            return workspaces;
+        }
+        eventService.publish(new BeforeWorkspacesRemovedEvent(workspaces)).propagateException();
+        // apply changes made by cascade subscribers before rows are removed
+        manager.flush();
+
+        final List<String> workspaceIds = workspaces.stream()
+                                                    .map(WorkspaceSummaryImpl::getId)
+                                                    .collect(toList());
+        final List<?> configIds = executeSelect(manager, SELECT_CONFIG_IDS, workspaceIds);
+        final List<?> sourceIds = executeSelect(manager, SELECT_SOURCE_IDS, configIds);
+        for (String statement : REMOVE_CONFIGS_DATA) {
+            executeUpdate(manager, statement, configIds);
+        }
+        executeUpdate(manager, REMOVE_SOURCES_PARAMETERS, sourceIds);
+        executeUpdate(manager, REMOVE_SOURCES, sourceIds);
+        executeUpdate(manager, REMOVE_ATTRIBUTES, workspaceIds);
+        executeUpdate(manager, REMOVE_WORKSPACES, workspaceIds);
+        executeUpdate(manager, REMOVE_CONFIGS, configIds);
+        return workspaces;
+    }
+
+    private static List<?> executeSelect(EntityManager manager, String statement, List<?> parameters) {
+        if (parameters.isEmpty()) {
+            return emptyList();
+        }
+        return createNativeQuery(manager, statement, parameters).getResultList();
+    }
+
+    private static void executeUpdate(EntityManager manager, String statement, List<?> parameters) {
+        if (!parameters.isEmpty()) {
+            createNativeQuery(manager, statement, parameters).executeUpdate();
+        }
+    }
+
+    /** Creates native query replacing '%s' in the statement with positional parameters. */
+    private static Query createNativeQuery(EntityManager manager, String statement, List<?> parameters) {
+        final Query query = manager.createNativeQuery(format(statement, String.join(", ", nCopies(parameters.size(), "?"))));
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+
     @Transactional
     protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
         EntityManager manager = managerProvider.get();
@@ -270,4 +484,31 @@ public class JpaWorkspaceDao implements WorkspaceDao {
             workspaceManager.removeSnapshots(event.getWorkspace().getId());
         }
     }
+
+    @Singleton
+    public static class RemoveSnapshotsBeforeWorkspacesRemovedEventSubscriber
+            extends CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> {
+        @Inject
+        private EventService     eventService;
+        @Inject
+        private WorkspaceManager workspaceManager;
+
+        @PostConstruct
+        public void subscribe() {
+            eventService.subscribe(this, BeforeWorkspacesRemovedEvent.class);
+        }
+
+        @PreDestroy
+        public void unsubscribe() {
+            eventService.unsubscribe(this, BeforeWorkspacesRemovedEvent.class);
+        }
+
+        @Override
+        public void onCascadeEvent(BeforeWorkspacesRemovedEvent event) throws Exception {
+            workspaceManager.removeSnapshots(event.getWorkspaces()
+                                                  .stream()
+                                                  .map(WorkspaceSummaryImpl::getId)
+                                                  .collect(toList()));
+        }
+    }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.workspace.server.jpa;
 import com.google.inject.AbstractModule;
 
 import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveSnapshotsBeforeWorkspaceRemovedEventSubscriber;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveSnapshotsBeforeWorkspacesRemovedEventSubscriber;
 import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveWorkspaceBeforeAccountRemovedEventSubscriber;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
@@ -24,9 +25,10 @@ public class WorkspaceJpaModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        bind(StackDao.class).to(JpaStackDao.class);
-        bind(WorkspaceDao.class).to(JpaWorkspaceDao.class);
+        bind(StackDao.class).to(CachingStackDao.class);
+        bind(WorkspaceDao.class).to(CachingWorkspaceDao.class);
         bind(RemoveWorkspaceBeforeAccountRemovedEventSubscriber.class).asEagerSingleton();
         bind(RemoveSnapshotsBeforeWorkspaceRemovedEventSubscriber.class).asEagerSingleton();
+        bind(RemoveSnapshotsBeforeWorkspacesRemovedEventSubscriber.class).asEagerSingleton();
     }
 }
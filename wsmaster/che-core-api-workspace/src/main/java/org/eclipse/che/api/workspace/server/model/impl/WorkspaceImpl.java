@@ -61,7 +61,37 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getIdsByTemporary",
+                            query = "SELECT w.id FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getSummariesByNamespace",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, a.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.account a " +
+                                    "WHERE a.name = :namespace " +
+                                    "ORDER BY w.name, w.id"),
+                @NamedQuery(name = "Workspace.getNamespaceCount",
+                            query = "SELECT COUNT(w) FROM Workspace w WHERE w.account.name = :namespace"),
+                @NamedQuery(name = "Workspace.getAllSummaries",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, a.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.account a " +
+                                    "ORDER BY a.name, w.name, w.id"),
+                @NamedQuery(name = "Workspace.getSummariesByIds",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, a.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.account a " +
+                                    "WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.getTotalCount",
+                            query = "SELECT COUNT(w) FROM Workspace w"),
+                @NamedQuery(name = "Workspace.getAttributeValues",
+                            query = "SELECT w.id, VALUE(attr) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.attributes attr " +
+                                    "WHERE w.id IN :ids AND KEY(attr) = :key")
 
         }
 )
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+import java.util.Objects;
+
+/**
+ * Lightweight view of {@link WorkspaceImpl} which contains only data needed to list workspaces.
+ * Instances are created by JPA constructor projection, so configuration, attributes and other
+ * eagerly fetched parts of workspace are not loaded.
+ */
+public class WorkspaceSummaryImpl {
+
+    private String          id;
+    private String          name;
+    private String          namespace;
+    private boolean         isTemporary;
+    private Long            updated;
+    private WorkspaceStatus status;
+
+    public WorkspaceSummaryImpl(String id, String name, String namespace, boolean isTemporary) {
+        this.id = id;
+        this.name = name;
+        this.namespace = namespace;
+        this.isTemporary = isTemporary;
+    }
+
+    public WorkspaceSummaryImpl(WorkspaceSummaryImpl summary) {
+        this(summary.id, summary.name, summary.namespace, summary.isTemporary);
+        this.updated = summary.updated;
+        this.status = summary.status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public boolean isTemporary() {
+        return isTemporary;
+    }
+
+    /** Returns time of the last workspace update in milliseconds or null if workspace was never updated. */
+    public Long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Long updated) {
+        this.updated = updated;
+    }
+
+    public WorkspaceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WorkspaceStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof WorkspaceSummaryImpl)) return false;
+        final WorkspaceSummaryImpl other = (WorkspaceSummaryImpl)obj;
+        return Objects.equals(id, other.id)
+               && Objects.equals(name, other.name)
+               && Objects.equals(namespace, other.namespace)
+               && isTemporary == other.isTemporary
+               && Objects.equals(updated, other.updated)
+               && Objects.equals(status, other.status);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(id);
+        hash = 31 * hash + Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(namespace);
+        hash = 31 * hash + Boolean.hashCode(isTemporary);
+        hash = 31 * hash + Objects.hashCode(updated);
+        hash = 31 * hash + Objects.hashCode(status);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceSummaryImpl{" +
+               "id='" + id + '\'' +
+               ", name='" + name + '\'' +
+               ", namespace='" + namespace + '\'' +
+               ", isTemporary=" + isTemporary +
+               ", updated=" + updated +
+               ", status=" + status +
+               '}';
+    }
+}
@@ -12,9 +12,12 @@ package org.eclipse.che.api.workspace.server.spi;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -159,4 +162,73 @@ public interface WorkspaceDao {
      *         when {@code maxItems} or {@code skipCount} is negative
      */
     List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Gets page of summaries of workspaces in given namespace ordered by workspace name.
+     * Unlike {@link #getByNamespace(String)} doesn't fetch workspace configurations.
+     *
+     * @param namespace
+     *         workspace namespace
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspace summaries, never null
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace, int maxItems, long skipCount) throws ServerException;
+
+    /**
+     * Gets page of summaries of workspaces which user can read.
+     * Unlike {@link #getWorkspaces(String)} doesn't fetch workspace configurations.
+     *
+     * @param userId
+     *         id of user
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspace summaries, never null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException;
+
+    /**
+     * Gets identifiers of temporary or non-temporary workspaces.
+     *
+     * @param isTemporary
+     *         when {@code true} identifiers of temporary workspaces are returned,
+     *         otherwise identifiers of non-temporary workspaces are returned
+     * @return list of workspace identifiers or empty list if no workspaces were found
+     * @throws ServerException
+     *         when any error occurs during identifiers fetching
+     */
+    List<String> getWorkspaceIds(boolean isTemporary) throws ServerException;
+
+    /**
+     * Removes workspaces with given identifiers at once.
+     *
+     * <p>Unlike {@link #remove(String)} workspaces are not loaded, their data is removed
+     * with bulk operations and a single event is published for all the removed workspaces.
+     * Either all the workspaces are removed or none of them.
+     *
+     * <p>Doesn't throw an exception when workspaces with some of given identifiers do not exist
+     *
+     * @param ids
+     *         identifiers of workspaces to remove
+     * @return summaries of removed workspaces
+     * @throws NullPointerException
+     *         when {@code ids} is null
+     * @throws ServerException
+     *         when any other error occurs during workspaces removing
+     */
+    List<WorkspaceSummaryImpl> removeAll(Collection<String> ids) throws ServerException;
 }
@@ -67,10 +67,14 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -158,7 +162,8 @@ public class CheEnvironmentEngineTest {
                                               recipeDownloader,
                                               containerNameGenerator,
                                               agentRegistry,
-                                              sharedPool));
+                                              sharedPool,
+                                              1));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -1472,6 +1477,163 @@ public class CheEnvironmentEngineTest {
                      startedHandler);
     }
 
+    @Test
+    public void shouldStartIndependentMachinesConcurrently() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch bothStarting = new CountDownLatch(2);
+        List<String> startedConcurrently = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    bothStarting.countDown();
+                    if (bothStarting.await(5, TimeUnit.SECONDS)) {
+                        startedConcurrently.add(machineName);
+                    }
+                    return new NoOpMachineInstance(createMachine(workspaceId,
+                                                                 envName,
+                                                                 (CheServiceImpl)arguments[6],
+                                                                 machineName,
+                                                                 (boolean)arguments[4]));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines = createEngine(2).start(workspaceId,
+                                                        envName,
+                                                        env,
+                                                        false,
+                                                        messageConsumer,
+                                                        startedHandler);
+
+        // then
+        assertEquals(machines.size(), 2);
+        assertEquals(new HashSet<>(startedConcurrently), new HashSet<>(asList("dev-machine", "machine2")));
+    }
+
+    @Test
+    public void shouldNotStartMachineConcurrentlyWithItsDependency() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().get("machine2").withDependsOn(singletonList("dev-machine"));
+        List<String> startOrder = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    startOrder.add("start " + machineName);
+                    Thread.sleep(100);
+                    startOrder.add("running " + machineName);
+                    return new NoOpMachineInstance(createMachine(workspaceId,
+                                                                 envName,
+                                                                 (CheServiceImpl)arguments[6],
+                                                                 machineName,
+                                                                 (boolean)arguments[4]));
+                });
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        createEngine(2).start(workspaceId,
+                              envName,
+                              env,
+                              false,
+                              messageConsumer,
+                              startedHandler);
+
+        // then
+        assertEquals(startOrder, asList("start dev-machine",
+                                        "running dev-machine",
+                                        "start machine2",
+                                        "running machine2"));
+    }
+
+    @Test
+    public void shouldNotStartDependentMachinesWhenMachineStartFails() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().get("machine2").withDependsOn(singletonList("dev-machine"));
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          eq("dev-machine"),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenThrow(new ServerException("test exception"));
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+        CheEnvironmentEngine engine = createEngine(2);
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer,
+                         startedHandler);
+            fail("environment must not be started");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "test exception");
+        }
+
+        // then
+        verify(machineProvider, never()).startService(anyString(),
+                                                      eq(workspaceId),
+                                                      eq(envName),
+                                                      eq("machine2"),
+                                                      anyBoolean(),
+                                                      anyString(),
+                                                      any(CheServiceImpl.class),
+                                                      any(LineConsumer.class));
+        try {
+            engine.getMachines(workspaceId);
+            fail("environment must not be running");
+        } catch (EnvironmentNotRunningException ignored) {
+        }
+    }
+
+    private CheEnvironmentEngine createEngine(int machineStartParallelism) {
+        return new CheEnvironmentEngine(snapshotDao,
+                                        machineInstanceProviders,
+                                        System.getProperty("java.io.tmpdir"),
+                                        DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                        eventService,
+                                        environmentParser,
+                                        new DefaultServicesStartStrategy(),
+                                        machineProvider,
+                                        infrastructureProvisioner,
+                                        API_ENDPOINT,
+                                        recipeDownloader,
+                                        containerNameGenerator,
+                                        agentRegistry,
+                                        sharedPool,
+                                        machineStartParallelism);
+    }
+
     private List<Instance> startEnv() throws Exception {
         EnvironmentImpl env = createEnv();
         CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -83,7 +83,11 @@ public class MachineProcessManagerTest {
                                                 eventService,
                                                 environmentEngine,
                                                 transmitter,
-                                                endpointIdsHolder));
+                                                endpointIdsHolder,
+                                                200,
+                                                500,
+                                                10_000,
+                                                20));
 
         EnvironmentContext envCont = new EnvironmentContext();
         envCont.setSubject(CREATOR);
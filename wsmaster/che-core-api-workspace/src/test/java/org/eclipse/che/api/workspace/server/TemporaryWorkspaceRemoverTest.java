@@ -10,27 +10,30 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server;
 
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
-import org.mockito.ArgumentMatcher;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
-import static org.mockito.Matchers.anyInt;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
-import static org.mockito.Matchers.intThat;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
@@ -39,48 +42,80 @@ import static org.mockito.Mockito.verify;
 public class TemporaryWorkspaceRemoverTest {
 
     static final int COUNT_OF_WORKSPACES = 250;
+    static final int BATCH_SIZE          = 100;
 
     @Mock
-    private WorkspaceDao workspaceDao;
+    private WorkspaceDao      workspaceDao;
+    @Mock
+    private WorkspaceRuntimes runtimes;
 
-    @InjectMocks
     private TemporaryWorkspaceRemover remover;
 
+    @BeforeMethod
+    public void setUp() throws Exception {
+        remover = new TemporaryWorkspaceRemover(workspaceDao, runtimes, BATCH_SIZE);
+        doAnswer(inv -> summaries((Collection<String>)inv.getArguments()[0])).when(workspaceDao)
+                                                                           .removeAll(anyCollectionOf(String.class));
+    }
+
+    @Test
+    public void shouldRemoveTemporaryWorkspacesInBatches() throws Exception {
+        final List<String> ids = createIds(COUNT_OF_WORKSPACES);
+
+        remover.removeTemporaryWs(ids);
+
+        verify(workspaceDao).removeAll(ids.subList(0, 100));
+        verify(workspaceDao).removeAll(ids.subList(100, 200));
+        verify(workspaceDao).removeAll(ids.subList(200, 250));
+        verify(workspaceDao, never()).remove(anyString());
+        assertEquals(remover.getTotal(), COUNT_OF_WORKSPACES);
+        assertEquals(remover.getProcessed(), COUNT_OF_WORKSPACES);
+    }
+
     @Test
-    public void shouldRemoveTemporaryWorkspaces() throws Exception {
-        doNothing().when(workspaceDao).remove(anyString());
-        // As we want to check pagination, we return items 100 when skip count is 0 or 100,
-        // return 50 items when skip count is 200, and return empty list when skip count is 300.
-        doReturn(createEntities(100)).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) < 200;
-            }
-        }), anyInt());
-        doReturn(createEntities(50)).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) == 200;
-            }
-        }), anyInt());
-        doReturn(Collections.emptyList()).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) > COUNT_OF_WORKSPACES;
-            }
-        }), anyInt());
-
-        remover.removeTemporaryWs();
-
-        verify(workspaceDao, times(COUNT_OF_WORKSPACES)).remove(anyString());
+    public void shouldNotRemoveWorkspacesWhichHaveRuntime() throws Exception {
+        final List<String> ids = createIds(3);
+        when(runtimes.hasRuntime("id1")).thenReturn(true);
+
+        remover.removeTemporaryWs(ids);
+
+        verify(workspaceDao).removeAll(asList("id0", "id2"));
     }
 
-    private List<WorkspaceImpl> createEntities(int number) {
-        List<WorkspaceImpl> wsList = new ArrayList<>();
+    @Test
+    public void shouldRemoveWorkspacesOneByOneWhenBatchRemovalFails() throws Exception {
+        final List<String> ids = createIds(COUNT_OF_WORKSPACES);
+        doThrow(new ServerException("error")).when(workspaceDao).removeAll(ids.subList(100, 200));
+
+        remover.removeTemporaryWs(ids);
+
+        verify(workspaceDao, times(3)).removeAll(anyCollectionOf(String.class));
+        verify(workspaceDao, times(BATCH_SIZE)).remove(anyString());
+        verify(workspaceDao).remove("id100");
+        verify(workspaceDao).remove("id199");
+    }
+
+    @Test
+    public void shouldRemoveTemporaryWorkspacesOnShutdown() throws Exception {
+        final List<String> ids = createIds(10);
+        when(workspaceDao.getWorkspaceIds(true)).thenReturn(ids);
+
+        remover.shutdown();
+
+        verify(workspaceDao).removeAll(ids);
+    }
+
+    private static List<WorkspaceSummaryImpl> summaries(Collection<String> ids) {
+        return ids.stream()
+                  .map(id -> new WorkspaceSummaryImpl(id, "name", "namespace", true))
+                  .collect(toList());
+    }
+
+    private static List<String> createIds(int number) {
+        final List<String> ids = new ArrayList<>();
         for (int i = 0; i < number; i++) {
-            wsList.add(new WorkspaceImpl("id" + i, null, null));
+            ids.add("id" + i);
         }
-        return  wsList;
+        return ids;
     }
-
 }
@@ -16,6 +16,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
@@ -37,6 +38,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -943,6 +945,18 @@ public class WorkspaceManagerTest {
         assertEquals(workspaces.get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesWithStatusesByNamespace() throws Exception {
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("workspace123", "name", NAMESPACE, false);
+        when(workspaceDao.getSummariesByNamespace(NAMESPACE, 30, 0)).thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+        when(runtimes.getStatus(summary.getId())).thenReturn(RUNNING);
+
+        final Page<WorkspaceSummaryImpl> page = workspaceManager.getSummariesByNamespace(NAMESPACE, 30, 0);
+
+        assertEquals(page.getItems().get(0).getStatus(), RUNNING);
+        verify(workspaceDao, never()).getByNamespace(anyString());
+    }
+
     @Test
     public void snapshottedAtAttributeIncludedToWorkspaceWhenStartingById() throws Exception {
         WorkspaceImpl workspace = createAndMockWorkspace();
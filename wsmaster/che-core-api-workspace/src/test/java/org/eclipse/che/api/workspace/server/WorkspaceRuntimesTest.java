@@ -16,7 +16,12 @@ import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentImpl;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -64,6 +69,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +78,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
@@ -81,12 +88,16 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -146,6 +157,7 @@ public class WorkspaceRuntimesTest {
                                          agentRegistry,
                                          snapshotDao,
                                          sharedPool,
+                                         false,
                                          runtimeStates = new ConcurrentHashMap<>());
     }
 
@@ -617,6 +629,60 @@ public class WorkspaceRuntimesTest {
         verify(envEngine).startMachine(eq("workspace"), eq(config), any());
     }
 
+    @Test
+    public void launchesAgentsOneByOneInTheCurrentThreadByDefault() throws Exception {
+        Instance instance = prepareAgents(new AgentImpl("a", "a", null, null, emptyList(), emptyMap(), null, emptyMap()),
+                                          new AgentImpl("b", "b", null, null, emptyList(), emptyMap(), null, emptyMap()));
+        List<String> launched = new CopyOnWriteArrayList<>();
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(inv -> launched.add(((Agent)inv.getArguments()[1]).getId() + '@' + Thread.currentThread().getName()))
+                .when(launcher).launch(any(), any());
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+
+        runtimes.launchAgents(instance, asList("a", "b"));
+
+        String thread = Thread.currentThread().getName();
+        assertEquals(launched, asList("a@" + thread, "b@" + thread));
+    }
+
+    @Test
+    public void launchesIndependentAgentsConcurrentlyWhenEnabled() throws Exception {
+        runtimes = new WorkspaceRuntimes(eventService,
+                                         envEngine,
+                                         agentSorter,
+                                         launcherFactory,
+                                         agentRegistry,
+                                         snapshotDao,
+                                         sharedPool,
+                                         true,
+                                         runtimeStates);
+        Instance instance = prepareAgents(new AgentImpl("a", "a", null, null, emptyList(), emptyMap(), null, emptyMap()),
+                                          new AgentImpl("b", "b", null, null, emptyList(), emptyMap(), null, emptyMap()),
+                                          new AgentImpl("c", "c", null, null, singletonList("a"), emptyMap(), null, emptyMap()));
+        // both independent agents must be launching at the same time to pass the barrier
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<String> launched = new CopyOnWriteArrayList<>();
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(inv -> {
+            Agent agent = (Agent)inv.getArguments()[1];
+            if (agent.getDependencies().isEmpty()) {
+                barrier.await(10, TimeUnit.SECONDS);
+            }
+            return launched.add(agent.getId());
+        }).when(launcher).launch(any(), any());
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+
+        try {
+            runtimes.launchAgents(instance, asList("a", "b", "c"));
+        } finally {
+            runtimes.shutdown();
+        }
+
+        assertEquals(launched.size(), 3);
+        assertEquals(new HashSet<>(launched.subList(0, 2)), Sets.newHashSet("a", "b"));
+        assertEquals(launched.get(2), "c");
+    }
+
     @Test(expectedExceptions = NotFoundException.class,
           expectedExceptionsMessageRegExp = "Workspace with id '.*' is not running")
     public void shouldNotStartMachineIfEnvironmentIsNotRunning() throws Exception {
@@ -1020,6 +1086,22 @@ public class WorkspaceRuntimesTest {
                             .build();
     }
 
+    private Instance prepareAgents(Agent... agents) throws Exception {
+        List<AgentKey> keys = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (Agent agent : agents) {
+            AgentKey key = new AgentKeyImpl(agent);
+            keys.add(key);
+            ids.add(agent.getId());
+            when(agentRegistry.getAgent(key)).thenReturn(agent);
+        }
+        when(agentSorter.sort(ids)).thenReturn(keys);
+        Instance instance = mock(Instance.class);
+        when(instance.getWorkspaceId()).thenReturn("workspace");
+        when(instance.getConfig()).thenReturn(newMachine("workspace", "env-name", "dev", true).getConfig());
+        return instance;
+    }
+
     private void shutdownAndWaitPool(ExecutorService pool) throws InterruptedException {
         pool.shutdownNow();
         if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
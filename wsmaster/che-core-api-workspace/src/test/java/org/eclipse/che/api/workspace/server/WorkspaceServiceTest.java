@@ -20,6 +20,7 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -43,14 +44,18 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -85,6 +90,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
@@ -359,6 +365,60 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "name1", NAMESPACE, false);
+        summary1.setStatus(WorkspaceStatus.STOPPED);
+        summary1.setUpdated(123L);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "name2", NAMESPACE, true);
+        summary2.setStatus(RUNNING);
+        when(wsManager.getSummariesByNamespace(NAMESPACE, 2, 1)).thenReturn(new Page<>(asList(summary1, summary2), 1, 2, 5));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?summary=true&maxItems=2&skipCount=1");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertNotNull(response.getHeader("Link"));
+        final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+        assertEquals(summaries.stream().map(WorkspaceSummaryDto::getId).collect(toList()), asList("ws1", "ws2"));
+        assertEquals(summaries.get(0).getUpdated(), Long.valueOf(123L));
+        assertEquals(summaries.get(1).getStatus(), RUNNING);
+        assertTrue(summaries.get(1).isTemporary());
+        verify(wsManager, never()).getByNamespace(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummariesByStatus() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("ws1", "name1", NAMESPACE, false);
+        summary1.setStatus(WorkspaceStatus.STOPPED);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("ws2", "name2", NAMESPACE, false);
+        summary2.setStatus(STARTING);
+        when(wsManager.getWorkspaceSummaries(USER_ID, 30, 0)).thenReturn(new Page<>(asList(summary1, summary2), 0, 30, 2));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace?summary=true&status=starting");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class).stream()
+                                                                       .map(WorkspaceSummaryDto::getId)
+                                                                       .collect(toList()),
+                     singletonList("ws2"));
+    }
+
+    @Test
+    public void shouldNotGetWorkspaceSummariesWhenMaxItemsIsNotPositive() throws Exception {
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace?summary=true&maxItems=0");
+
+        assertEquals(response.getStatusCode(), 400);
+    }
+
     @Test
     public void shouldGetWorkspacesByStatus() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -805,6 +865,55 @@ public class WorkspaceServiceTest {
         verify(wsManager).updateWorkspace(any(), any());
     }
 
+    @Test
+    public void shouldAddUpdateAndRemoveProjectsAtOnce() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        workspace.getConfig().getProjects().add(new ProjectConfigImpl(createProjectDto().withPath("/removed")));
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class)
+                .withAdded(singletonList(createProjectDto().withPath("/added")))
+                .withUpdated(singletonList(createProjectDto().withDescription("updated")))
+                .withRemoved(singletonList("removed"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(update)
+                                         .when()
+                                         .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+        assertEquals(response.getStatusCode(), 200);
+        final Map<String, String> descriptions = new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class), TEST_ACCOUNT)
+                .getConfig()
+                .getProjects()
+                .stream()
+                .collect(toMap(ProjectConfigImpl::getPath, ProjectConfigImpl::getDescription));
+        assertEquals(descriptions, ImmutableMap.of("/project/path", "updated", "/added", "Test project"));
+        verify(validator).validateConfig(workspace.getConfig());
+        verify(wsManager).updateWorkspace(any(), any());
+    }
+
+    @Test
+    public void shouldRespond404WhenUpdatingProjectsAndAnyOfThemDoesNotExist() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class)
+                .withAdded(singletonList(createProjectDto().withPath("/added")))
+                .withUpdated(singletonList(createProjectDto().withPath("/fake")));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(update)
+                                         .when()
+                                         .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+        assertEquals(response.getStatusCode(), 404);
+        assertEquals(unwrapError(response), "Workspace '" + workspace.getId() + "' doesn't contain project with path '/fake'");
+        verify(wsManager, never()).updateWorkspace(any(), any());
+    }
+
     @Test
     public void testWorkspaceLinks() throws Exception {
         // given
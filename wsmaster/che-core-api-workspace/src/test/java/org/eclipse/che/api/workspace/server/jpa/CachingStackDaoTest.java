@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+/**
+ * Tests {@link CachingStackDao}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CachingStackDaoTest {
+
+    private static final String ID = "stack123";
+
+    @Mock
+    private JpaStackDao delegate;
+
+    private CachingStackDao stackDao;
+    private StackImpl       stack;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        stackDao = new CachingStackDao(delegate, 100, 60);
+        stack = StackImpl.builder()
+                         .setId(ID)
+                         .setName("stack")
+                         .setCreator("user123")
+                         .build();
+        when(delegate.getById(ID)).thenReturn(stack);
+    }
+
+    @Test
+    public void returnsCopyOfCachedStack() throws Exception {
+        final StackImpl first = stackDao.getById(ID);
+        final StackImpl second = stackDao.getById(ID);
+
+        verify(delegate).getById(ID);
+        assertEquals(second, stack);
+        assertNotSame(second, first);
+    }
+
+    @Test
+    public void invalidatesStackOnUpdate() throws Exception {
+        stackDao.getById(ID);
+
+        stackDao.update(stack);
+        stackDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+
+    @Test
+    public void invalidatesStackOnRemove() throws Exception {
+        stackDao.getById(ID);
+
+        stackDao.remove(ID);
+        stackDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+
+    @Test
+    public void invalidatesStackWhenUpdateFails() throws Exception {
+        stackDao.getById(ID);
+        when(delegate.update(stack)).thenThrow(new RuntimeException("error"));
+
+        try {
+            stackDao.update(stack);
+        } catch (RuntimeException ignored) {
+        }
+        stackDao.getById(ID);
+
+        verify(delegate, times(2)).getById(ID);
+    }
+}
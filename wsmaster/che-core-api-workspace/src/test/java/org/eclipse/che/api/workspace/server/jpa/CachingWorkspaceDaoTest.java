@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+/**
+ * Tests {@link CachingWorkspaceDao}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CachingWorkspaceDaoTest {
+
+    private static final String ID = "workspace123";
+
+    @Mock
+    private JpaWorkspaceDao delegate;
+
+    private EventService        eventService;
+    private CachingWorkspaceDao workspaceDao;
+    private WorkspaceImpl       workspace;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        eventService = new EventService();
+        workspaceDao = new CachingWorkspaceDao(delegate, eventService, 100, 60);
+        workspaceDao.subscribe();
+        workspace = createWorkspace(ID, "namespace");
+        when(delegate.get(ID)).thenReturn(workspace);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        workspaceDao.unsubscribe();
+    }
+
+    @Test
+    public void returnsCopyOfCachedWorkspace() throws Exception {
+        final WorkspaceImpl first = workspaceDao.get(ID);
+        final WorkspaceImpl second = workspaceDao.get(ID);
+
+        verify(delegate).get(ID);
+        assertEquals(second, workspace);
+        assertNotSame(second, first);
+    }
+
+    @Test
+    public void invalidatesWorkspaceOnUpdate() throws Exception {
+        workspaceDao.get(ID);
+
+        workspaceDao.update(workspace);
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    @Test
+    public void invalidatesWorkspaceOnRemove() throws Exception {
+        workspaceDao.get(ID);
+
+        workspaceDao.remove(ID);
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    @Test
+    public void invalidatesWorkspacesOnRemoveAll() throws Exception {
+        workspaceDao.get(ID);
+
+        workspaceDao.removeAll(singletonList(ID));
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    @Test
+    public void invalidatesWorkspaceOnBeforeWorkspaceRemovedEvent() throws Exception {
+        workspaceDao.get(ID);
+
+        eventService.publish(new BeforeWorkspaceRemovedEvent(workspace));
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    @Test
+    public void invalidatesWorkspacesOfAccountOnBeforeAccountRemovedEvent() throws Exception {
+        final WorkspaceImpl other = createWorkspace("other123", "other");
+        when(delegate.get("other123")).thenReturn(other);
+        workspaceDao.get(ID);
+        workspaceDao.get("other123");
+
+        eventService.publish(new BeforeAccountRemovedEvent(new AccountImpl("account123", "namespace", "test")));
+        workspaceDao.get(ID);
+        workspaceDao.get("other123");
+
+        verify(delegate, times(2)).get(ID);
+        verify(delegate).get("other123");
+    }
+
+    @Test
+    public void invalidatesWorkspaceLoadedBeforeRemovalIsCommitted() throws Exception {
+        // removal is a part of outer transaction, the row is still visible after the dao call
+        workspaceDao.remove(ID);
+        workspaceDao.get(ID);
+
+        eventService.publish(new WorkspaceRemovedEvent(workspace));
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    @Test
+    public void invalidatesWorkspacesOnWorkspacesRemovedEvent() throws Exception {
+        workspaceDao.get(ID);
+
+        eventService.publish(new WorkspacesRemovedEvent(asList(new WorkspaceSummaryImpl(ID, "name", "namespace", false))));
+        workspaceDao.get(ID);
+
+        verify(delegate, times(2)).get(ID);
+    }
+
+    private static WorkspaceImpl createWorkspace(String id, String namespace) {
+        return WorkspaceImpl.builder()
+                            .setId(id)
+                            .setAccount(new AccountImpl("account-" + id, namespace, "test"))
+                            .build();
+    }
+}
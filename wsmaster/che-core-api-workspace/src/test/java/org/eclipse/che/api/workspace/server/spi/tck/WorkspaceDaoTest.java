@@ -16,11 +16,15 @@ import com.google.common.collect.ImmutableMap;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -29,6 +33,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -54,11 +59,14 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -247,6 +255,114 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[1];
+        workspace2.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "12345");
+        workspace2.setTemporary(true);
+        workspaceDao.update(workspace2);
+
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummariesByNamespace(workspace1.getNamespace(), 30, 0);
+
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl(workspace1.getId(),
+                                                                       workspace1.getConfig().getName(),
+                                                                       workspace1.getNamespace(),
+                                                                       false);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl(workspace2.getId(),
+                                                                       workspace2.getConfig().getName(),
+                                                                       workspace2.getNamespace(),
+                                                                       true);
+        summary2.setUpdated(12345L);
+        assertEquals(page.getItems(), asList(summary1, summary2));
+        assertEquals(page.getTotalItemsCount(), 2);
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace = workspaces[1];
+
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummariesByNamespace(workspace.getNamespace(), 1, 1);
+
+        assertEquals(page.getItems().size(), 1);
+        assertEquals(page.getItems().get(0).getId(), workspace.getId());
+        assertEquals(page.getTotalItemsCount(), 2);
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspaceSummaries() throws Exception {
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("userId", 2, 0);
+
+        assertEquals(page.getItems().size(), 2);
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+        assertTrue(page.hasNextPage());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNonPositiveLimit() throws Exception {
+        workspaceDao.getSummariesByNamespace(workspaces[0].getNamespace(), 0, 0);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingSummariesByNullNamespace() throws Exception {
+        workspaceDao.getSummariesByNamespace(null, 30, 0);
+    }
+
+    @Test
+    public void shouldGetIdsOfTemporaryWorkspaces() throws Exception {
+        final WorkspaceImpl workspace = workspaces[0];
+        workspace.setTemporary(true);
+        workspaceDao.update(workspace);
+
+        assertEquals(workspaceDao.getWorkspaceIds(true), singletonList(workspace.getId()));
+        assertEquals(new HashSet<>(workspaceDao.getWorkspaceIds(false)),
+                     Stream.of(workspaces).skip(1).map(WorkspaceImpl::getId).collect(toSet()));
+    }
+
+    @Test(dependsOnMethods = "shouldGetWorkspaceById")
+    public void shouldRemoveWorkspacesAtOnce() throws Exception {
+        final List<WorkspaceSummaryImpl> removed = workspaceDao.removeAll(asList(workspaces[0].getId(),
+                                                                                 workspaces[1].getId(),
+                                                                                 "non-existing-id"));
+
+        assertEquals(removed.stream().map(WorkspaceSummaryImpl::getId).collect(toSet()),
+                     new HashSet<>(asList(workspaces[0].getId(), workspaces[1].getId())));
+        assertEquals(new HashSet<>(workspaceDao.getWorkspaceIds(false)),
+                     Stream.of(workspaces).skip(2).map(WorkspaceImpl::getId).collect(toSet()));
+        assertEquals(workspaceDao.get(workspaces[2].getId()), workspaces[2]);
+    }
+
+    @Test(dependsOnMethods = "shouldGetWorkspaceById")
+    public void shouldNotRemoveWorkspacesWhenSubscriberThrowsExceptionOnWorkspacesRemoving() throws Exception {
+        CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> subscriber = mockCascadeEventSubscriber();
+        doThrow(new ServerException("error")).when(subscriber).onCascadeEvent(any());
+        eventService.subscribe(subscriber, BeforeWorkspacesRemovedEvent.class);
+
+        try {
+            workspaceDao.removeAll(asList(workspaces[0].getId(), workspaces[1].getId()));
+            fail("WorkspaceDao#removeAll had to throw server exception");
+        } catch (ServerException ignored) {
+        }
+
+        assertEquals(workspaceDao.get(workspaces[0].getId()), workspaces[0]);
+        assertEquals(workspaceDao.get(workspaces[1].getId()), workspaces[1]);
+        eventService.unsubscribe(subscriber, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @Test
+    public void shouldPublishSingleEventAfterRemovingWorkspacesAtOnce() throws Exception {
+        final List<WorkspacesRemovedEvent> events = new ArrayList<>();
+        final EventSubscriber<WorkspacesRemovedEvent> subscriber = events::add;
+        eventService.subscribe(subscriber, WorkspacesRemovedEvent.class);
+
+        workspaceDao.removeAll(asList(workspaces[0].getId(), workspaces[1].getId()));
+
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getWorkspaces().size(), 2);
+        eventService.unsubscribe(subscriber, WorkspacesRemovedEvent.class);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
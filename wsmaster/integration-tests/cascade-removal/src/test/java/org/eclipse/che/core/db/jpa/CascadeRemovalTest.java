@@ -47,7 +47,9 @@ import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveSnapshotsBeforeWorkspaceRemovedEventSubscriber;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveSnapshotsBeforeWorkspacesRemovedEventSubscriber;
 import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveWorkspaceBeforeAccountRemovedEventSubscriber;
 import org.eclipse.che.api.workspace.server.jpa.WorkspaceJpaModule;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -81,6 +83,7 @@ import javax.persistence.EntityManagerFactory;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createAccount;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createPreferences;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createProfile;
@@ -177,6 +180,8 @@ public class CascadeRemovalTest {
                 bind(DBInitializer.class).asEagerSingleton();
 
                 bind(String[].class).annotatedWith(Names.named("che.auth.reserved_user_names")).toInstance(new String[0]);
+                bindConstant().annotatedWith(Names.named("che.db.cache.max_size")).to(100L);
+                bindConstant().annotatedWith(Names.named("che.db.cache.expire_after_write_s")).to(60L);
                 bind(UserManager.class);
                 bind(AccountManager.class);
 
@@ -232,6 +237,36 @@ public class CascadeRemovalTest {
         assertTrue(snapshotDao.findSnapshots(workspace2.getId()).isEmpty());
     }
 
+    @Test
+    public void shouldDeleteWorkspacesWithRelatedEntitiesAtOnce() throws Exception {
+        createTestData();
+
+        workspaceDao.removeAll(asList(workspace1.getId(), workspace2.getId()));
+
+        assertNull(notFoundToNull(() -> workspaceDao.get(workspace1.getId())));
+        assertNull(notFoundToNull(() -> workspaceDao.get(workspace2.getId())));
+        assertTrue(snapshotDao.findSnapshots(workspace1.getId()).isEmpty());
+        assertTrue(snapshotDao.findSnapshots(workspace2.getId()).isEmpty());
+    }
+
+    @Test
+    public void shouldRollbackTransactionWhenFailedToRemoveAnyOfEntriesDuringWorkspacesRemoving() throws Exception {
+        createTestData();
+        eventService.unsubscribe(injector.getInstance(RemoveSnapshotsBeforeWorkspacesRemovedEventSubscriber.class),
+                                 BeforeWorkspacesRemovedEvent.class);
+
+        try {
+            workspaceDao.removeAll(asList(workspace1.getId(), workspace2.getId()));
+            fail("WorkspaceDao#removeAll had to throw exception");
+        } catch (Exception ignored) {
+        }
+
+        assertNotNull(workspaceDao.get(workspace1.getId()));
+        assertNotNull(workspaceDao.get(workspace2.getId()));
+        assertFalse(snapshotDao.findSnapshots(workspace1.getId()).isEmpty());
+        wipeTestData();
+    }
+
     @Test(dataProvider = "beforeUserRemoveRollbackActions")
     public void shouldRollbackTransactionWhenFailedToRemoveAnyOfEntriesDuringUserRemoving(
             Class<CascadeEventSubscriber<CascadeEvent>> subscriberClass,